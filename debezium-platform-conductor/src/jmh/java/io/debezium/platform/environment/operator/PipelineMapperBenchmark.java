@@ -0,0 +1,194 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.debezium.operator.api.model.DebeziumServer;
+import io.debezium.operator.api.model.runtime.metrics.MetricsBuilder;
+import io.debezium.platform.config.OffsetConfigGroup;
+import io.debezium.platform.config.OffsetStorageConfigGroup;
+import io.debezium.platform.config.PipelineConfigGroup;
+import io.debezium.platform.config.SchemaHistoryConfigGroup;
+import io.debezium.platform.config.ServerConfigGroup;
+import io.debezium.platform.data.model.ConnectionEntity;
+import io.debezium.platform.domain.views.Connection;
+import io.debezium.platform.domain.views.Predicate;
+import io.debezium.platform.domain.views.Transform;
+import io.debezium.platform.domain.views.flat.DestinationFlat;
+import io.debezium.platform.domain.views.flat.PipelineFlat;
+import io.debezium.platform.domain.views.flat.SourceFlat;
+import io.debezium.platform.environment.operator.configuration.TableNameResolver;
+
+/**
+ * Measures the throughput of {@link PipelineMapper#map(PipelineFlat)} as the number of transforms grows.
+ * <br>
+ *
+ * Pipelines and configuration are backed by plain dynamic proxies, so the measured allocations are those of the mapper
+ * (reported by the {@code gc} profiler, see the {@code benchmark} profile). Every invocation maps a different pipeline,
+ * mirroring bulk deployments and reconciliation of many pipelines sharing the same configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PipelineMapperBenchmark {
+
+    private static final int PIPELINES = 64;
+
+    @Param({ "0", "10", "50" })
+    int transforms;
+
+    private PipelineMapper mapper;
+    private PipelineFlat[] pipelines;
+    private int next;
+
+    @Setup
+    public void setup() {
+        var offsetStorage = view(OffsetStorageConfigGroup.class, Map.of(
+                "type", "io.debezium.storage.jdbc.offset.JdbcOffsetBackingStore",
+                "config", Map.of(
+                        "jdbc.connection.url", "jdbc:postgresql://postgresql:5432/debezium",
+                        "jdbc.connection.user", "debezium",
+                        "jdbc.connection.password", "debezium",
+                        "jdbc.offset.table.name", "@{pipeline_name}_offsets")));
+        var schemaHistory = view(SchemaHistoryConfigGroup.class, Map.of(
+                "internal", "io.debezium.storage.jdbc.history.JdbcSchemaHistory",
+                "config", Map.of(
+                        "jdbc.connection.url", "jdbc:postgresql://postgresql:5432/debezium",
+                        "jdbc.connection.user", "debezium",
+                        "jdbc.connection.password", "debezium",
+                        "jdbc.schema.history.table.name", "@{pipeline_name}_schema_history")));
+        var config = view(PipelineConfigGroup.class, Map.of(
+                "offset", view(OffsetConfigGroup.class, Map.of("storage", offsetStorage)),
+                "schema", schemaHistory,
+                "server", view(ServerConfigGroup.class, Map.of()),
+                "labels", Map.of("app.kubernetes.io/part-of", "debezium-platform")));
+
+        mapper = new PipelineMapper(config, new TableNameResolver(), new MetricsBuilder().build());
+        pipelines = IntStream.range(0, PIPELINES)
+                .mapToObj(this::pipeline)
+                .toArray(PipelineFlat[]::new);
+    }
+
+    @Benchmark
+    public DebeziumServer map() {
+        var pipeline = pipelines[next];
+        next = (next + 1) % pipelines.length;
+        return mapper.map(pipeline);
+    }
+
+    private PipelineFlat pipeline(int id) {
+        var sourceConnection = view(Connection.class, Map.of(
+                "type", ConnectionEntity.Type.POSTGRESQL,
+                "config", Map.<String, Object> of(
+                        "hostname", "postgresql",
+                        "port", 5432,
+                        "username", "debezium",
+                        "password", "debezium",
+                        "database", "inventory")));
+        var source = view(SourceFlat.class, Map.of(
+                "type", "io.debezium.connector.postgresql.PostgresConnector",
+                "config", Map.<String, Object> of(
+                        "topic.prefix", "inventory",
+                        "schema.include.list", "inventory"),
+                "connection", sourceConnection));
+        var destinationConnection = view(Connection.class, Map.of(
+                "type", ConnectionEntity.Type.KAFKA,
+                "config", Map.<String, Object> of("bootstrap.servers", "kafka:9092")));
+        var destination = view(DestinationFlat.class, Map.of(
+                "type", "io.debezium.server.kafka.KafkaChangeConsumer",
+                "config", Map.<String, Object> of("producer.key.serializer", "org.apache.kafka.common.serialization.StringSerializer"),
+                "connection", destinationConnection));
+
+        var pipelineTransforms = new ArrayList<Transform>(transforms);
+        for (int i = 0; i < transforms; i++) {
+            var predicate = i % 2 == 0
+                    ? view(Predicate.class, Map.of(
+                            "type", "org.apache.kafka.connect.transforms.predicates.TopicNameMatches",
+                            "config", Map.<String, Object> of("pattern", "inventory.*")))
+                    : null;
+            pipelineTransforms.add(view(Transform.class, predicate == null
+                    ? Map.of(
+                            "id", (long) i,
+                            "type", "io.debezium.transforms.ExtractNewRecordState",
+                            "config", Map.<String, Object> of("delete.handling.mode", "rewrite"))
+                    : Map.of(
+                            "id", (long) i,
+                            "type", "org.apache.kafka.connect.transforms.ReplaceField$Value",
+                            "config", Map.<String, Object> of("exclude", "internal_id"),
+                            "predicate", predicate)));
+        }
+
+        return view(PipelineFlat.class, Map.of(
+                "id", (long) id,
+                "name", "pipeline-" + id,
+                "source", source,
+                "destination", destination,
+                "transforms", List.copyOf(pipelineTransforms),
+                "defaultLogLevel", "INFO",
+                "logLevels", Map.of("io.debezium.connector.postgresql", "DEBUG", "io.debezium.server", "INFO")));
+    }
+
+    /**
+     * Creates a read-only view returning the given values from its accessors (e.g. {@code getName()} or {@code name()}
+     * for the {@code name} value). Values are resolved upfront so invoking the accessors doesn't allocate.
+     */
+    private static <T> T view(Class<T> type, Map<String, Object> values) {
+        Map<Method, Object> results = new HashMap<>();
+        for (var method : type.getMethods()) {
+            var value = values.get(propertyName(method.getName()));
+            if (value == null && method.getReturnType() == Optional.class) {
+                value = Optional.empty();
+            }
+            else if (value == null && method.getReturnType() == boolean.class) {
+                value = false;
+            }
+            results.put(method, value);
+        }
+
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> type.getSimpleName() + values;
+            default -> results.get(method);
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{ type }, handler));
+    }
+
+    private static String propertyName(String accessor) {
+        if (accessor.startsWith("get") && accessor.length() > 3) {
+            return Character.toLowerCase(accessor.charAt(3)) + accessor.substring(4);
+        }
+        if (accessor.startsWith("is") && accessor.length() > 2) {
+            return Character.toLowerCase(accessor.charAt(2)) + accessor.substring(3);
+        }
+        return accessor;
+    }
+}
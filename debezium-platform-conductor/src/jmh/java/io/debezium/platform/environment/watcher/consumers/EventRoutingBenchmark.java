@@ -0,0 +1,148 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.consumers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.debezium.platform.environment.watcher.events.EventType;
+
+/**
+ * Measures the cost of delivering a single outbox event to its consumers as the number of consumed aggregate types grows.
+ * <br>
+ *
+ * {@code linearScan} mirrors the original dispatch which asked every consumer whether it consumes the event
+ * and let each of them convert the payload, {@code routingTable} uses {@link EventRoutingTable} and {@link EventPayloads}.
+ * Every aggregate type has one specific consumer, in addition there is a single wildcard consumer (e.g. an audit log)
+ * sharing the payload type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EventRoutingBenchmark {
+
+    private static final List<String> AGGREGATE_TYPES = List.of(
+            "pipeline", "vault", "connection", "source", "destination", "transform", "host", "host_deployment");
+
+    private static final String PAYLOAD = """
+            {"id": 42, "name": "inventory-pipeline", "description": "Inventory pipeline", "logLevel": "INFO",
+             "source": {"id": 1, "name": "postgres", "type": "io.debezium.connector.postgresql.PostgresConnector"},
+             "destination": {"id": 2, "name": "kafka", "type": "kafka"},
+             "transforms": [{"id": 3, "name": "route", "type": "io.debezium.transforms.ByLogicalTableRouter"}]}
+            """;
+
+    @Param({ "2", "4", "8" })
+    int aggregateTypes;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<EnvironmentEventConsumer<?>> consumers = new ArrayList<>();
+    private EventRoutingTable routingTable;
+    private String[] events;
+    private int next;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        for (var aggregateType : AGGREGATE_TYPES.subList(0, aggregateTypes)) {
+            consumers.add(new JsonConsumer(List.of(aggregateType), List.of(EventType.UPDATE.name(), EventType.DELETE.name()), blackhole));
+        }
+        consumers.add(new JsonConsumer(List.of(), List.of(), blackhole));
+
+        routingTable = new EventRoutingTable(consumers);
+        events = AGGREGATE_TYPES.subList(0, aggregateTypes).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public void linearScan() {
+        var aggregateType = nextAggregateType();
+        for (var consumer : consumers) {
+            consumer.consume(aggregateType, EventType.UPDATE.name(), 42L, PAYLOAD);
+        }
+    }
+
+    @Benchmark
+    public void routingTable() {
+        var aggregateType = nextAggregateType();
+        var payloads = new EventPayloads(PAYLOAD);
+        for (var consumer : routingTable.route(aggregateType, EventType.UPDATE.name())) {
+            payloads.deliver(consumer, 42L);
+        }
+    }
+
+    private String nextAggregateType() {
+        var aggregateType = events[next];
+        next = (next + 1) % events.length;
+        return aggregateType;
+    }
+
+    /**
+     * Consumer returning freshly built collections on each call, as the consumers did before routing was introduced
+     */
+    private final class JsonConsumer implements EnvironmentEventConsumer<JsonNode> {
+
+        private final String[] aggregates;
+        private final String[] types;
+        private final Blackhole blackhole;
+
+        JsonConsumer(List<String> aggregates, List<String> types, Blackhole blackhole) {
+            this.aggregates = aggregates.toArray(String[]::new);
+            this.types = types.toArray(String[]::new);
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public Collection<String> consumedAggregates() {
+            return List.of(aggregates);
+        }
+
+        @Override
+        public Collection<String> consumedTypes() {
+            return List.of(types);
+        }
+
+        @Override
+        public Class<JsonNode> consumedPayloadType() {
+            return JsonNode.class;
+        }
+
+        @Override
+        public JsonNode convert(String payload) {
+            try {
+                return objectMapper.readTree(payload);
+            }
+            catch (JsonProcessingException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void accept(Long id, Optional<JsonNode> payload) {
+            blackhole.consume(payload);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.api;
+
+import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
+
+import java.util.List;
+
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.core.Response;
+
+import org.eclipse.microprofile.openapi.annotations.OpenAPIDefinition;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.info.Contact;
+import org.eclipse.microprofile.openapi.annotations.info.Info;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.logging.Logger;
+
+import io.debezium.platform.api.dto.DeadLetterReplayRequest;
+import io.debezium.platform.api.dto.DeadLetterReplayResponse;
+import io.debezium.platform.api.dto.DeadLetterResponse;
+import io.debezium.platform.api.mapper.DeadLetterMapper;
+import io.debezium.platform.domain.DeadLetterService;
+
+@Tag(name = "dead-letters")
+@OpenAPIDefinition(info = @Info(title = "Dead Letter API", description = "Inspection and replay of outbox events which failed to be processed", version = "0.1.0", contact = @Contact(name = "Debezium", url = "https://github.com/debezium/debezium")))
+@Path("/dead-letters")
+public class DeadLetterResource {
+
+    Logger logger;
+    DeadLetterService deadLetterService;
+    DeadLetterMapper mapper;
+
+    public DeadLetterResource(Logger logger, DeadLetterService deadLetterService, DeadLetterMapper mapper) {
+        this.logger = logger;
+        this.deadLetterService = deadLetterService;
+        this.mapper = mapper;
+    }
+
+    @Operation(summary = "Returns all dead letters")
+    @APIResponse(responseCode = "200", content = @Content(mediaType = APPLICATION_JSON, schema = @Schema(implementation = DeadLetterResponse.class, required = true, type = SchemaType.ARRAY)))
+    @GET
+    public Response get() {
+        var deadLetters = deadLetterService.list();
+        return Response.ok(mapper.toResponseList(deadLetters)).build();
+    }
+
+    @Operation(summary = "Returns a dead letter with given id")
+    @APIResponse(responseCode = "200", content = @Content(mediaType = APPLICATION_JSON, schema = @Schema(implementation = DeadLetterResponse.class, required = true)))
+    @GET
+    @Path("/{id}")
+    public Response getById(@PathParam("id") Long id) {
+        return deadLetterService.findById(id)
+                .map(mapper::toResponse)
+                .map(dto -> Response.ok(dto).build())
+                .orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build());
+    }
+
+    @Operation(summary = "Replays dead letters with given ids or all dead letters when no ids are given")
+    @APIResponse(responseCode = "200", content = @Content(mediaType = APPLICATION_JSON, schema = @Schema(implementation = DeadLetterReplayResponse.class, required = true)))
+    @POST
+    @Path("/replay")
+    public Response replay(DeadLetterReplayRequest request) {
+        var ids = request == null || request.ids() == null ? List.<Long> of() : request.ids();
+        var result = deadLetterService.replay(ids);
+        return Response.ok(mapper.toResponse(result)).build();
+    }
+
+    @Operation(summary = "Discards a dead letter")
+    @APIResponse(responseCode = "204")
+    @DELETE
+    @Path("/{id}")
+    public Response delete(@PathParam("id") Long id) {
+        deadLetterService.delete(id);
+        return Response.status(Response.Status.NO_CONTENT).build();
+    }
+}
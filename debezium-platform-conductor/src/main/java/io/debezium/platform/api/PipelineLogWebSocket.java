@@ -5,6 +5,9 @@
  */
 package io.debezium.platform.api;
 
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -13,6 +16,8 @@ import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.debezium.platform.domain.LogFilter;
+import io.debezium.platform.domain.LogPosition;
 import io.debezium.platform.domain.LogStreamingService;
 import io.debezium.platform.domain.PipelineService;
 import io.debezium.platform.error.NotFoundException;
@@ -24,7 +29,17 @@ import io.quarkus.websockets.next.PathParam;
 import io.quarkus.websockets.next.WebSocket;
 import io.quarkus.websockets.next.WebSocketConnection;
 import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.subscription.Cancellable;
 
+/**
+ * Pushes live logs of a pipeline in frames of newline separated lines, see {@link LogStreamingService}.
+ * Lines can be selected by the {@code level}, {@code category}, {@code regex}, {@code since} and {@code until}
+ * query parameters (e.g. {@code ?level=WARN&category=io.debezium.connector}), see {@link LogFilter}.
+ * <br>
+ *
+ * With the {@code from} query parameter the stream resumes from the position sent at the start of each frame,
+ * or backfills all buffered lines with {@code from=0}, see {@link LogPosition}.
+ */
 @WebSocket(path = "/api/pipelines/{id}/logs/stream", inboundProcessingMode = InboundProcessingMode.CONCURRENT)
 public class PipelineLogWebSocket {
 
@@ -38,7 +53,7 @@ public class PipelineLogWebSocket {
     @Inject
     LogStreamingService logStreamer;
 
-    private final Map<String, LogStreamingService.LogStreamingTask> streamingTasks = new ConcurrentHashMap<>();
+    private final Map<String, Cancellable> streams = new ConcurrentHashMap<>();
 
     @OnOpen
     @RunOnVirtualThread
@@ -46,13 +61,22 @@ public class PipelineLogWebSocket {
         logger.infof("Connection '%s' requesting logs for pipeline '%s',", connection.id(), idString);
         var id = Long.parseLong(idString);
 
-        pipelineService
-                .streamLogs(id, connection::sendTextAndAwait)
-                .ifPresentOrElse(
-                        task -> streamingTasks.put(connection.id(), task),
-                        () -> {
-                            throw new NotFoundException(id);
-                        });
+        var parameters = parseQuery(connection.handshakeRequest().query());
+        var filter = LogFilter.of(parameters.get("level"), parameters.get("category"), parameters.get("regex"), parameters.get("since"), parameters.get("until"));
+        var from = parameters.containsKey("from") ? LogPosition.parse(parameters.get("from")) : null;
+        var frames = pipelineService.streamLogs(id, filter, from).orElseThrow(() -> new NotFoundException(id));
+        // the next frame is requested only once the previous one was sent, so slow clients hold back their stream
+        var stream = frames
+                .onItem().call(frame -> connection.sendText(frame))
+                .subscribe().with(
+                        frame -> {
+                        },
+                        failure -> logger.debugf(failure, "Streaming logs to connection '%s' failed", connection.id()));
+
+        streams.put(connection.id(), stream);
+        if (connection.isClosed()) {
+            cancel(connection);
+        }
     }
 
     @OnError
@@ -63,6 +87,14 @@ public class PipelineLogWebSocket {
         connection.closeAndAwait();
     }
 
+    @OnError
+    public void onError(WebSocketConnection connection, IllegalArgumentException e) {
+        logger.warnf("Invalid log stream request: %s", e.getMessage());
+
+        connection.sendTextAndAwait("Invalid log stream request");
+        connection.closeAndAwait();
+    }
+
     @OnError
     public void onError(WebSocketConnection connection, NotFoundException e) {
         logger.warnf("Pipeline not found: %s", e.getId());
@@ -75,9 +107,29 @@ public class PipelineLogWebSocket {
     public void onClose(WebSocketConnection connection) {
         logger.debugf("Connection: %s closed", connection.id());
 
-        var task = streamingTasks.remove(connection.id());
-        if (task != null) {
-            task.stop();
+        cancel(connection);
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        var parameters = new HashMap<String, String>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+
+        for (var parameter : query.split("&")) {
+            var separator = parameter.indexOf('=');
+            if (separator < 0) {
+                continue;
+            }
+            parameters.put(parameter.substring(0, separator), URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private void cancel(WebSocketConnection connection) {
+        var stream = streams.remove(connection.id());
+        if (stream != null) {
+            stream.cancel();
         }
     }
 
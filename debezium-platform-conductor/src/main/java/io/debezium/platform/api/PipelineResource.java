@@ -6,19 +6,26 @@
 package io.debezium.platform.api;
 
 import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
+import static jakarta.ws.rs.core.MediaType.SERVER_SENT_EVENTS;
 import static jakarta.ws.rs.core.MediaType.TEXT_PLAIN;
 
 import java.net.URI;
+import java.util.List;
+import java.util.Set;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
@@ -30,22 +37,33 @@ import org.eclipse.microprofile.openapi.annotations.info.Contact;
 import org.eclipse.microprofile.openapi.annotations.info.Info;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.logging.Logger;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 
+import io.debezium.platform.api.dto.PipelineDeployRequest;
+import io.debezium.platform.api.dto.PipelineDeployResponse;
 import io.debezium.platform.api.dto.PipelineRequest;
 import io.debezium.platform.api.dto.PipelineResponse;
+import io.debezium.platform.api.dto.PipelineStatusResponse;
 import io.debezium.platform.api.dto.PipelineUpdateRequest;
 import io.debezium.platform.api.mapper.PipelineMapper;
 import io.debezium.platform.data.dto.SignalRequest;
 import io.debezium.platform.data.dto.SignalResponse;
+import io.debezium.platform.domain.LogFilter;
+import io.debezium.platform.domain.PipelineDeploymentService;
+import io.debezium.platform.domain.PipelineSelector;
 import io.debezium.platform.domain.PipelineService;
 import io.debezium.platform.domain.Signal;
 import io.debezium.platform.environment.EnvironmentController;
+import io.debezium.platform.environment.PipelineStatus;
 import io.debezium.platform.environment.logs.LogReader;
 import io.debezium.platform.error.NotFoundException;
+import io.smallrye.common.annotation.Blocking;
 import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Multi;
 
 @Tag(name = "pipelines")
 @OpenAPIDefinition(info = @Info(title = "Pipeline API", description = "CRUD operations over Pipeline resource", version = "0.1.0", contact = @Contact(name = "Debezium", url = "https://github.com/debezium/debezium")))
@@ -54,11 +72,13 @@ public class PipelineResource {
 
     Logger logger;
     PipelineService pipelineService;
+    PipelineDeploymentService deploymentService;
     PipelineMapper mapper;
 
-    public PipelineResource(Logger logger, PipelineService pipelineService, PipelineMapper mapper) {
+    public PipelineResource(Logger logger, PipelineService pipelineService, PipelineDeploymentService deploymentService, PipelineMapper mapper) {
         this.logger = logger;
         this.pipelineService = pipelineService;
+        this.deploymentService = deploymentService;
         this.mapper = mapper;
     }
 
@@ -70,6 +90,18 @@ public class PipelineResource {
         return Response.ok(mapper.toResponseList(pipelines)).build();
     }
 
+    @Operation(summary = "Returns the runtime status of all pipelines")
+    @APIResponse(responseCode = "200", content = @Content(mediaType = APPLICATION_JSON, schema = @Schema(implementation = PipelineStatusResponse.class, required = true)))
+    @GET
+    @Path("/status")
+    public Response getStatus(@Parameter(description = "States to include, all states when not given") @QueryParam("state") List<PipelineStatus.State> states,
+                              @Parameter(description = "Pipeline name, * matches any sequence of characters") @QueryParam("name") String name,
+                              @Parameter(description = "Page number starting with 0") @QueryParam("page") @DefaultValue("0") @Min(0) int page,
+                              @Parameter(description = "Page size") @QueryParam("size") @DefaultValue("100") @Min(1) @Max(1000) int size) {
+        var statuses = pipelineService.status(states == null ? Set.of() : Set.copyOf(states), name, page, size);
+        return Response.ok(PipelineStatusResponse.from(statuses)).build();
+    }
+
     @Operation(summary = "Returns a pipeline with given id")
     @APIResponse(responseCode = "200", content = @Content(mediaType = APPLICATION_JSON, schema = @Schema(implementation = PipelineResponse.class, required = true)))
     @GET
@@ -106,6 +138,19 @@ public class PipelineResource {
         return Response.ok(mapper.toResponse(updated)).build();
     }
 
+    @Operation(summary = "Deploys all pipelines with given ids or matching given criteria, all pipelines are deployed when no criteria are given")
+    @APIResponse(responseCode = "200", description = "Stream of deployment results, one per pipeline in order of completion", content = @Content(mediaType = SERVER_SENT_EVENTS, schema = @Schema(implementation = PipelineDeployResponse.class, required = true)))
+    @POST
+    @Path("/deploy")
+    @Produces(SERVER_SENT_EVENTS)
+    @RestStreamElementType(APPLICATION_JSON)
+    @Blocking
+    public Multi<PipelineDeployResponse> deploy(PipelineDeployRequest request) {
+        var selector = request == null ? PipelineSelector.all() : request.toSelector();
+        return deploymentService.deploy(selector)
+                .map(PipelineDeployResponse::from);
+    }
+
     @Operation(summary = "Deletes an existing pipeline")
     @APIResponse(responseCode = "204")
     @DELETE
@@ -115,17 +160,24 @@ public class PipelineResource {
         return Response.status(Response.Status.NO_CONTENT).build();
     }
 
-    @Operation(summary = "Returns logs for pipeline with given id")
+    @Operation(summary = "Returns logs for pipeline with given id, optionally only the lines selected by the query parameters")
     @APIResponse(responseCode = "200", content = @Content(mediaType = TEXT_PLAIN, schema = @Schema(implementation = String.class, required = true)))
     @GET
     @Path("/{id}/logs")
     @Produces(TEXT_PLAIN)
     @RunOnVirtualThread
-    public Response getLogById(@PathParam("id") Long id) {
+    public Response getLogById(@PathParam("id") Long id,
+                               @Parameter(description = "Minimal level, e.g. WARN") @QueryParam("level") String level,
+                               @Parameter(description = "Logger category prefix, e.g. io.debezium.connector") @QueryParam("category") String category,
+                               @Parameter(description = "Regular expression found in the line") @QueryParam("regex") String regex,
+                               @Parameter(description = "Earliest timestamp of the lines, e.g. 2025-01-01T10:00:00Z") @QueryParam("since") String since,
+                               @Parameter(description = "Timestamp the lines were written before") @QueryParam("until") String until) {
+        var filter = LogFilter.of(level, category, regex, since, until);
         return pipelineService.environmentController(id)
                 .map(EnvironmentController::pipelines)
                 .map(pipelines -> pipelines.logReader(id))
                 .map(LogReader::readAll)
+                .map(filter::apply)
                 .map(log -> Response.ok(log)
                         .header("Content-Disposition", "attachment; filename=pipeline.log")
                         .build())
@@ -0,0 +1,100 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.api;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+
+import io.debezium.platform.api.dto.PipelineStatusFrame;
+import io.debezium.platform.domain.PipelineStatusStream;
+import io.debezium.platform.environment.PipelineStatus;
+import io.quarkus.websockets.next.OnClose;
+import io.quarkus.websockets.next.OnError;
+import io.quarkus.websockets.next.OnOpen;
+import io.quarkus.websockets.next.WebSocket;
+import io.quarkus.websockets.next.WebSocketConnection;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+
+/**
+ * Pushes status changes of all pipelines, or of the pipelines selected by the {@code id} and {@code state}
+ * query parameters (e.g. {@code ?id=1&id=2&state=FAILED}), see {@link PipelineStatusStream}.
+ */
+@WebSocket(path = "/api/pipelines/status/stream")
+public class PipelineStatusWebSocket {
+
+    @Inject
+    Logger logger;
+
+    @Inject
+    PipelineStatusStream statusStream;
+
+    private final Map<String, PipelineStatusStream.Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    @OnOpen
+    @RunOnVirtualThread
+    public void onOpen(WebSocketConnection connection) {
+        var ids = new HashSet<Long>();
+        var states = new HashSet<PipelineStatus.State>();
+        parseQuery(connection.handshakeRequest().query(), ids, states);
+        logger.infof("Connection '%s' requesting status of pipelines %s in states %s", connection.id(), ids, states);
+
+        var snapshot = new AtomicBoolean(true);
+        var subscription = statusStream.subscribe(ids, states, statuses -> connection
+                .sendText(PipelineStatusFrame.from(snapshot.getAndSet(false), statuses))
+                .subscribe().with(
+                        ignored -> {
+                        },
+                        error -> logger.debugf(error, "Unable to send status frame to connection '%s'", connection.id())));
+        subscriptions.put(connection.id(), subscription);
+    }
+
+    @OnError
+    public void onError(WebSocketConnection connection, IllegalArgumentException e) {
+        logger.warnf("Invalid status stream request: %s", e.getMessage());
+
+        connection.sendTextAndAwait("Invalid status stream request");
+        connection.closeAndAwait();
+    }
+
+    @OnClose
+    public void onClose(WebSocketConnection connection) {
+        logger.debugf("Connection: %s closed", connection.id());
+
+        var subscription = subscriptions.remove(connection.id());
+        if (subscription != null) {
+            subscription.close();
+        }
+    }
+
+    private static void parseQuery(String query, Set<Long> ids, Set<PipelineStatus.State> states) {
+        if (query == null || query.isEmpty()) {
+            return;
+        }
+        for (var parameter : query.split("&")) {
+            var separator = parameter.indexOf('=');
+            if (separator < 0) {
+                continue;
+            }
+            var name = parameter.substring(0, separator);
+            var value = URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+            switch (name) {
+                case "id" -> ids.add(Long.valueOf(value));
+                case "state" -> states.add(PipelineStatus.State.valueOf(value));
+                default -> {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.api.dto;
+
+public record DeadLetterReplayResponse(int replayed, int failed) {
+}
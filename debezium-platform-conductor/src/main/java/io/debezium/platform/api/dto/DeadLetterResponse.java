@@ -0,0 +1,19 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.api.dto;
+
+import java.time.Instant;
+
+public record DeadLetterResponse(
+        Long id,
+        String aggregateType,
+        String aggregateId,
+        String eventType,
+        String payload,
+        String error,
+        int attempts,
+        Instant failedAt) {
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.api.dto;
+
+import java.util.List;
+
+import io.debezium.platform.domain.PipelineSelector;
+
+public record PipelineDeployRequest(List<Long> ids, String name, String sourceType, String destinationType) {
+
+    public PipelineSelector toSelector() {
+        return new PipelineSelector(ids, name, sourceType, destinationType);
+    }
+}
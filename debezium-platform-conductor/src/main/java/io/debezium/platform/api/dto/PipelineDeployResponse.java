@@ -0,0 +1,15 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.api.dto;
+
+import io.debezium.platform.domain.PipelineDeploymentService.DeploymentResult;
+
+public record PipelineDeployResponse(Long id, String name, String status, String error) {
+
+    public static PipelineDeployResponse from(DeploymentResult result) {
+        return new PipelineDeployResponse(result.id(), result.name(), result.status().name(), result.error());
+    }
+}
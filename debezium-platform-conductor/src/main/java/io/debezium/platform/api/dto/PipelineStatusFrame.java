@@ -0,0 +1,24 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.api.dto;
+
+import java.util.List;
+
+import io.debezium.platform.environment.PipelineStatus;
+
+/**
+ * Frame of the pipeline status stream
+ *
+ * @param snapshot {@code true} for the first frame holding the current status of all matching pipelines,
+ *                 {@code false} for frames holding changed statuses only
+ * @param statuses pipeline statuses
+ */
+public record PipelineStatusFrame(boolean snapshot, List<PipelineStatusResponse.Item> statuses) {
+
+    public static PipelineStatusFrame from(boolean snapshot, List<PipelineStatus> statuses) {
+        return new PipelineStatusFrame(snapshot, statuses.stream().map(PipelineStatusResponse.Item::from).toList());
+    }
+}
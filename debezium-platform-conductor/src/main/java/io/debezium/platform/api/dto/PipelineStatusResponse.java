@@ -0,0 +1,36 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import io.debezium.platform.domain.PipelineStatusPage;
+import io.debezium.platform.environment.PipelineStatus;
+
+public record PipelineStatusResponse(List<Item> items, int page, int size, long total) {
+
+    public record Item(Long id,
+                       String name,
+                       PipelineStatus.State state,
+                       Integer replicas,
+                       Integer readyReplicas,
+                       Instant lastTransition,
+                       String message) {
+
+        public static Item from(PipelineStatus status) {
+            return new Item(status.id(), status.name(), status.state(), status.replicas(), status.readyReplicas(),
+                    status.lastTransition(), status.message());
+        }
+    }
+
+    public static PipelineStatusResponse from(PipelineStatusPage page) {
+        var items = page.items().stream()
+                .map(Item::from)
+                .toList();
+        return new PipelineStatusResponse(items, page.page(), page.size(), page.total());
+    }
+}
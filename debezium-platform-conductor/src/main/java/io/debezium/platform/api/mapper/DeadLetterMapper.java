@@ -0,0 +1,24 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.api.mapper;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+
+import io.debezium.platform.api.dto.DeadLetterReplayResponse;
+import io.debezium.platform.api.dto.DeadLetterResponse;
+import io.debezium.platform.domain.DeadLetterService.ReplayResult;
+import io.debezium.platform.domain.views.DeadLetter;
+
+@Mapper(componentModel = "cdi")
+public interface DeadLetterMapper {
+    DeadLetterResponse toResponse(DeadLetter view);
+
+    List<DeadLetterResponse> toResponseList(List<DeadLetter> views);
+
+    DeadLetterReplayResponse toResponse(ReplayResult result);
+}
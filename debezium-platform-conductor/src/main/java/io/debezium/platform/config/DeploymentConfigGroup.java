@@ -0,0 +1,95 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.config;
+
+import java.time.Duration;
+
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+/**
+ * Configuration of pipeline deployments requested directly through the API, e.g. bulk re-deployments,
+ * and of the periodic reconciliation of deployed pipelines with the database.
+ */
+@ConfigMapping(prefix = "conductor.deployment")
+@ConfigRoot(phase = ConfigPhase.RUN_TIME)
+public interface DeploymentConfigGroup {
+
+    BulkConfig bulk();
+
+    ReconcileConfig reconcile();
+
+    interface BulkConfig {
+
+        /**
+         * @return maximal number of pipelines deployed at the same time
+         */
+        @WithDefault("4")
+        @WithName("max-concurrency")
+        int maxConcurrency();
+
+        @WithName("rate-limit")
+        RateLimitConfig rateLimit();
+
+    }
+
+    interface ReconcileConfig {
+
+        /**
+         * @return whether deployed pipelines are periodically reconciled with the database
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * @return whether all pipelines are resynced after startup, the conductor is not ready until the resync completes
+         */
+        @WithDefault("true")
+        @WithName("on-startup")
+        boolean onStartup();
+
+        /**
+         * @return delay between the end of a reconciliation and the start of the next one
+         */
+        @WithDefault("10m")
+        Duration interval();
+
+        /**
+         * @return number of pipelines loaded from the database at once
+         */
+        @WithDefault("500")
+        @WithName("page-size")
+        int pageSize();
+
+        /**
+         * @return maximal number of pipelines reconciled at the same time
+         */
+        @WithDefault("4")
+        @WithName("max-concurrency")
+        int maxConcurrency();
+
+    }
+
+    interface RateLimitConfig {
+
+        /**
+         * @return number of deployments started per second
+         */
+        @WithDefault("10")
+        @WithName("permits-per-second")
+        double permitsPerSecond();
+
+        /**
+         * @return number of deployments which can be started at once after a period of inactivity
+         */
+        @WithDefault("20")
+        int burst();
+
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.config;
+
+import java.time.Duration;
+
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+/**
+ * Configuration of live pipeline logs streamed through {@code /api/pipelines/{id}/logs/stream}.
+ */
+@ConfigMapping(prefix = "conductor.logs")
+@ConfigRoot(phase = ConfigPhase.RUN_TIME)
+public interface LogsConfigGroup {
+
+    StreamConfig stream();
+
+    interface StreamConfig {
+
+        /**
+         * @return maximal number of recent lines buffered per streamed log, subscribers falling further behind
+         *         drop the oldest lines and are told how many lines were dropped
+         */
+        @WithDefault("8192")
+        @WithName("buffer-lines")
+        int bufferLines();
+
+        /**
+         * @return maximal size in bytes of the recent lines buffered per streamed log
+         */
+        @WithDefault("1048576")
+        @WithName("buffer-size")
+        long bufferSize();
+
+        /**
+         * @return time a log keeps being streamed after its last subscriber left, so reconnecting subscribers
+         *         resume from the buffer without reopening the log
+         */
+        @WithDefault("30s")
+        Duration linger();
+
+        FrameConfig frame();
+
+    }
+
+    interface FrameConfig {
+
+        /**
+         * @return number of characters after which a frame of log lines is sent right away
+         */
+        @WithDefault("65536")
+        @WithName("max-size")
+        int maxSize();
+
+        /**
+         * @return maximal time the first line of a frame waits for more lines before the frame is sent
+         */
+        @WithDefault("50ms")
+        @WithName("max-delay")
+        Duration maxDelay();
+
+    }
+}
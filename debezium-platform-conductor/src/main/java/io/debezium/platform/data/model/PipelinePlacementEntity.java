@@ -0,0 +1,55 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.data.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Cluster a pipeline is deployed to when the conductor manages several Kubernetes clusters.
+ *
+ * <p>Rows are created when a pipeline is deployed for the first time and removed when it is undeployed,
+ * so redeployments stay in the same cluster.</p>
+ */
+@Entity(name = "pipeline_placement")
+public class PipelinePlacementEntity {
+
+    @Id
+    private Long pipelineId;
+
+    @Column(nullable = false)
+    private String cluster;
+
+    @Column(nullable = false)
+    private Instant assignedAt;
+
+    public Long getPipelineId() {
+        return pipelineId;
+    }
+
+    public void setPipelineId(Long pipelineId) {
+        this.pipelineId = pipelineId;
+    }
+
+    public String getCluster() {
+        return cluster;
+    }
+
+    public void setCluster(String cluster) {
+        this.cluster = cluster;
+    }
+
+    public Instant getAssignedAt() {
+        return assignedAt;
+    }
+
+    public void setAssignedAt(Instant assignedAt) {
+        this.assignedAt = assignedAt;
+    }
+}
@@ -39,19 +39,17 @@ public class ConnectionService extends AbstractService<ConnectionEntity, Connect
     private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionService.class);
     public static final String CONNECTION_REFERENCE_ATTRIBUTE = "connection";
 
-    private final SourceService sourceService;
-    private final DestinationService destinationService;
+    private final PipelineService pipelineService;
     private final ConnectionValidatorFactory connectionValidatorFactory;
     private final SourceInspectorFactory sourceInspectorFactory;
 
     public ConnectionService(EntityManager em, CriteriaBuilderFactory cbf, EntityViewManager evm,
-                             SourceService sourceService, DestinationService destinationService,
+                             PipelineService pipelineService,
                              ConnectionValidatorFactory connectionValidatorFactory,
                              SourceInspectorFactory sourceInspectorFactory) {
         super(ConnectionEntity.class, Connection.class, ConnectionReference.class, em, cbf, evm);
 
-        this.sourceService = sourceService;
-        this.destinationService = destinationService;
+        this.pipelineService = pipelineService;
         this.connectionValidatorFactory = connectionValidatorFactory;
         this.sourceInspectorFactory = sourceInspectorFactory;
     }
@@ -65,10 +63,9 @@ public class ConnectionService extends AbstractService<ConnectionEntity, Connect
     @Override
     @Transactional(Transactional.TxType.REQUIRED)
     public void onChange(Connection connection) {
-        sourceService.findViewByReference(CONNECTION_REFERENCE_ATTRIBUTE, connection.getId())
-                .forEach(sourceService::onChange);
-        destinationService.findViewByReference(CONNECTION_REFERENCE_ATTRIBUTE, connection.getId())
-                .forEach(destinationService::onChange);
+        pipelineService.onReferenceChange(connection.getId(),
+                SourceService.SOURCE_REFERENCE_ATTRIBUTE + "." + CONNECTION_REFERENCE_ATTRIBUTE,
+                DestinationService.DESTINATION_REFERENCE_ATTRIBUTE + "." + CONNECTION_REFERENCE_ATTRIBUTE);
     }
 
     public ConnectionValidationResult validateConnection(@NotNull @Valid Connection connection) {
@@ -0,0 +1,183 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+import org.jboss.logging.Logger;
+
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.debezium.platform.data.model.OutboxDeadLetterEntity;
+import io.debezium.platform.domain.views.DeadLetter;
+import io.debezium.platform.domain.views.Vault;
+import io.debezium.platform.domain.views.flat.PipelineFlat;
+import io.debezium.platform.environment.watcher.consumers.EventContext;
+import io.debezium.platform.environment.watcher.consumers.OutboxEventDispatcher;
+import io.debezium.platform.environment.watcher.consumers.OutboxEventDispatcher.DeliveryFailure;
+import io.debezium.platform.environment.watcher.events.AbstractEvent;
+import io.debezium.platform.environment.watcher.events.PipelineEvent;
+import io.debezium.platform.environment.watcher.events.VaultEvent;
+
+/**
+ * Keeps outbox events which could not be delivered by the environment watcher and replays them on demand.
+ * <br>
+ *
+ * Replayed events go through {@link OutboxEventDispatcher}, so they are processed in parallel while events
+ * of the same aggregate are replayed in the order they originally failed.
+ * <br>
+ *
+ * Dead letters keep the payload of the failed event, which may have been superseded by a later change
+ * delivered meanwhile. Pipelines and vaults are therefore replayed with their current state, or as deleted
+ * when they no longer exist, and each aggregate is replayed once regardless of the number of its dead letters.
+ */
+@ApplicationScoped
+public class DeadLetterService extends AbstractService<OutboxDeadLetterEntity, DeadLetter, DeadLetter> {
+
+    private static final String ID = "id";
+
+    Logger logger;
+    OutboxEventDispatcher dispatcher;
+    ObjectMapper objectMapper;
+
+    public DeadLetterService(EntityManager em, CriteriaBuilderFactory cbf, EntityViewManager evm, Logger logger, OutboxEventDispatcher dispatcher,
+                             ObjectMapper objectMapper) {
+        super(OutboxDeadLetterEntity.class, DeadLetter.class, DeadLetter.class, em, cbf, evm);
+        this.logger = logger;
+        this.dispatcher = dispatcher;
+        this.objectMapper = objectMapper;
+    }
+
+    public record ReplayResult(int replayed, int failed) {
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public List<DeadLetter> list() {
+        return list(List.of());
+    }
+
+    /**
+     * @param ids dead letters to return, all dead letters are returned when empty
+     * @return dead letters in the order they were stored
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public List<DeadLetter> list(List<Long> ids) {
+        var cb = cb();
+        if (!ids.isEmpty()) {
+            cb.where(ID).in(ids);
+        }
+        return evm.applySetting(EntityViewSetting.create(DeadLetter.class), cb.orderByAsc(ID)).getResultList();
+    }
+
+    /**
+     * Stores an event which exhausted its delivery attempts
+     */
+    public DeadLetter store(EventContext context, DeliveryFailure failure) {
+        var deadLetter = createEmpty();
+        deadLetter.setAggregateType(context.aggregateType());
+        deadLetter.setAggregateId(context.aggregateId());
+        deadLetter.setEventType(context.eventType());
+        deadLetter.setPayload(context.payload());
+        deadLetter.setAttempts(failure.attempts());
+        deadLetter.setError(String.valueOf(failure.error()));
+        deadLetter.setFailedAt(Instant.now());
+
+        logger.infof("Storing %s event for aggregate %s (#%s) as dead letter after %d attempts",
+                context.eventType(), context.aggregateType(), context.aggregateId(), failure.attempts());
+        return create(deadLetter);
+    }
+
+    /**
+     * Replays dead letters and waits for the result. Successfully delivered dead letters are removed,
+     * the failed ones are kept with the updated error and attempt count.
+     *
+     * @param ids dead letters to replay, all dead letters are replayed when empty
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ReplayResult replay(List<Long> ids) {
+        var aggregates = list(ids).stream()
+                .collect(Collectors.groupingBy(d -> new EventContext.AggregateKey(d.getAggregateType(), d.getAggregateId()),
+                        LinkedHashMap::new, Collectors.toList()));
+        var replays = aggregates.values().stream()
+                .map(this::replay)
+                .toList();
+
+        CompletableFuture.allOf(replays.toArray(CompletableFuture[]::new)).join();
+
+        var total = aggregates.values().stream().mapToInt(List::size).sum();
+        var replayed = replays.stream().mapToInt(CompletableFuture::join).sum();
+        logger.infof("Replayed %d of %d dead letters", replayed, total);
+        return new ReplayResult(replayed, total - replayed);
+    }
+
+    /**
+     * Replays the dead letters of a single aggregate
+     *
+     * @return number of replayed dead letters
+     */
+    private CompletableFuture<Integer> replay(List<DeadLetter> deadLetters) {
+        var context = currentEvent(deadLetters.getLast());
+
+        return dispatcher.dispatch(context).thenApply(failure -> (int) deadLetters.stream()
+                .filter(deadLetter -> onReplayed(deadLetter, failure))
+                .count());
+    }
+
+    /**
+     * @return event carrying the current state of the aggregate, or the stored event if the aggregate type is unknown
+     */
+    private EventContext currentEvent(DeadLetter deadLetter) {
+        AbstractEvent event = switch (deadLetter.getAggregateType()) {
+            case PipelineEvent.AGGREGATE_TYPE -> {
+                var id = Long.valueOf(deadLetter.getAggregateId());
+                yield findByIdAs(PipelineFlat.class, id)
+                        .map(pipeline -> PipelineEvent.update(pipeline, objectMapper))
+                        .orElseGet(() -> PipelineEvent.delete(id));
+            }
+            case VaultEvent.AGGREGATE_TYPE -> {
+                var id = Long.valueOf(deadLetter.getAggregateId());
+                yield findByIdAs(Vault.class, id)
+                        .map(vault -> VaultEvent.update(vault, objectMapper))
+                        .orElseGet(() -> VaultEvent.delete(id));
+            }
+            default -> null;
+        };
+
+        if (event == null) {
+            return new EventContext(deadLetter.getAggregateType(), deadLetter.getAggregateId(),
+                    deadLetter.getEventType(), deadLetter.getPayload());
+        }
+        var payload = event.getPayload();
+        return new EventContext(event.getAggregateType(), event.getAggregateId(), event.getType(),
+                payload != null ? payload.toString() : null);
+    }
+
+    private boolean onReplayed(DeadLetter deadLetter, Optional<DeliveryFailure> failure) {
+        if (failure.isEmpty()) {
+            delete(deadLetter.getId());
+            return true;
+        }
+
+        deadLetter.setAttempts(deadLetter.getAttempts() + failure.get().attempts());
+        deadLetter.setError(String.valueOf(failure.get().error()));
+        deadLetter.setFailedAt(Instant.now());
+        update(deadLetter);
+        return false;
+    }
+}
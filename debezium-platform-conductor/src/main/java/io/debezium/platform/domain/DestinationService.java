@@ -35,8 +35,7 @@ public class DestinationService extends AbstractService<DestinationEntity, Desti
     @Override
     @Transactional(Transactional.TxType.REQUIRED)
     public void onChange(Destination destination) {
-        pipelineService.findViewByReference(DESTINATION_REFERENCE_ATTRIBUTE, destination.getId())
-                .forEach(pipelineService::onChange);
+        pipelineService.onReferenceChange(destination.getId(), DESTINATION_REFERENCE_ATTRIBUTE);
     }
 
     @Transactional(SUPPORTS)
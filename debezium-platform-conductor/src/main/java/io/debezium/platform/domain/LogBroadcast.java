@@ -0,0 +1,150 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free broadcast of log lines from a single publisher to any number of readers.
+ * <p>
+ * Lines are stored in a ring together with their sequence number, bounded both by the number of lines and by their
+ * size. Each reader keeps its own position, so readers never block the publisher nor each other. The oldest lines
+ * are evicted once either bound is reached, a reader which falls behind skips the evicted lines. Readers are notified
+ * through their listener whenever a line is published or the broadcast is closed; listeners are called on
+ * the publishing thread and must not block.
+ * </p>
+ */
+final class LogBroadcast {
+
+    // approximate size of the entry and the string holding the line
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final AtomicReferenceArray<Entry> ring;
+    private final int mask;
+    private final long maxBytes;
+    private final Set<Runnable> listeners = ConcurrentHashMap.newKeySet();
+
+    // written only by the publisher
+    private volatile long published;
+    private volatile long oldest;
+    private volatile boolean closed;
+    private long bytes;
+
+    /**
+     * @param capacity maximal number of lines kept, rounded up to a power of two
+     * @param maxBytes maximal size of the lines kept, the most recent line is kept regardless of its size
+     */
+    LogBroadcast(int capacity, long maxBytes) {
+        var size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Publishes a line to all readers, must be called by a single thread
+     *
+     * @param line the log line
+     */
+    void publish(String line) {
+        var sequence = published;
+        var size = sizeOf(line);
+
+        var first = oldest;
+        while (first < sequence && (sequence - first >= ring.length() || bytes + size > maxBytes)) {
+            bytes -= sizeOf(ring.get((int) (first & mask)).line());
+            first++;
+        }
+        // readers move past evicted lines before their slots are reused
+        oldest = first;
+
+        ring.set((int) (sequence & mask), new Entry(sequence, line));
+        bytes += size;
+        published = sequence + 1;
+        listeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Marks the end of the log, readers receive the remaining lines and then {@link Read#END}
+     */
+    void close() {
+        closed = true;
+        listeners.forEach(Runnable::run);
+    }
+
+    /**
+     * @param listener notified about published lines, see {@link #poll(long)}
+     */
+    void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @param lines number of lines to replay
+     * @return sequence number of the line a new reader should start with
+     */
+    long start(int lines) {
+        var current = published;
+        return Math.max(oldest, current - lines);
+    }
+
+    /**
+     * @return sequence number of the next published line
+     */
+    long published() {
+        return published;
+    }
+
+    /**
+     * Returns the line with given sequence number, or the oldest available line if it was already evicted
+     *
+     * @param sequence sequence number of the requested line
+     * @return the line, {@link Read#END} once the broadcast was closed and all lines were read,
+     *         or {@code null} if the line was not published yet
+     */
+    Read poll(long sequence) {
+        // read before the published lines, so the lines published before closing are not missed
+        var ended = closed;
+        while (true) {
+            sequence = Math.max(sequence, oldest);
+            if (sequence >= published) {
+                return ended ? Read.END : null;
+            }
+
+            var entry = ring.get((int) (sequence & mask));
+            if (entry.sequence() == sequence) {
+                return new Read(sequence, entry.line());
+            }
+            // evicted and overwritten meanwhile, continue with the oldest line still available
+            sequence++;
+        }
+    }
+
+    private static long sizeOf(String line) {
+        // log lines are mostly Latin-1, which strings keep as one byte per character
+        return line.length() + ENTRY_OVERHEAD;
+    }
+
+    private record Entry(long sequence, String line) {
+    }
+
+    /**
+     * Line read from the broadcast
+     *
+     * @param sequence sequence number of the line, the next line has the following number
+     * @param line the log line
+     */
+    record Read(long sequence, String line) {
+
+        static final Read END = new Read(-1, null);
+    }
+}
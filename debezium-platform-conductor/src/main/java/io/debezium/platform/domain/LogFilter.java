@@ -0,0 +1,160 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Selects lines of a pipeline log by any combination of the criteria, criteria which are not set match all lines.
+ * <br>
+ *
+ * Lines are parsed as written by the default Quarkus console format, see {@link QuarkusLogLine}. Lines which
+ * can't be parsed, e.g. stack traces, belong to the preceding line and are selected together with it.
+ *
+ * @param level minimal level
+ * @param category category prefix made of whole segments, e.g. {@code io.debezium.connector}
+ * @param regex regular expression found in the line
+ * @param since earliest timestamp of selected lines, timestamps of the log are read as UTC
+ * @param until timestamp selected lines were written before
+ */
+public record LogFilter(Level level, String category, Pattern regex, Instant since, Instant until) {
+
+    public enum Level {
+        TRACE,
+        DEBUG,
+        INFO,
+        WARN,
+        ERROR,
+        FATAL
+    }
+
+    public static LogFilter none() {
+        return new LogFilter(null, null, null, null, null);
+    }
+
+    /**
+     * Creates the filter from request parameters, blank parameters are not set
+     *
+     * @throws IllegalArgumentException if a parameter is invalid
+     */
+    public static LogFilter of(String level, String category, String regex, String since, String until) {
+        try {
+            return new LogFilter(
+                    isBlank(level) ? null : Level.valueOf(level.trim().toUpperCase()),
+                    isBlank(category) ? null : category.trim(),
+                    isBlank(regex) ? null : Pattern.compile(regex),
+                    isBlank(since) ? null : Instant.parse(since.trim()),
+                    isBlank(until) ? null : Instant.parse(until.trim()));
+        }
+        catch (PatternSyntaxException | DateTimeParseException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return whether all lines are selected
+     */
+    public boolean isEmpty() {
+        return regex == null && !hasRecordCriteria();
+    }
+
+    /**
+     * Selects lines of the whole log
+     *
+     * @param log newline separated lines
+     * @return selected lines
+     */
+    public String apply(String log) {
+        if (isEmpty()) {
+            return log;
+        }
+
+        var matcher = matcher();
+        var selected = new StringBuilder();
+        var start = 0;
+        while (start < log.length()) {
+            var end = log.indexOf('\n', start);
+            if (end < 0) {
+                end = log.length();
+            }
+            if (matcher.matches(log, start, end)) {
+                selected.append(log, start, Math.min(end + 1, log.length()));
+            }
+            start = end + 1;
+        }
+        return selected.toString();
+    }
+
+    /**
+     * @return new matcher of the lines of a single log
+     */
+    public LineMatcher matcher() {
+        return new LineMatcher();
+    }
+
+    private boolean hasRecordCriteria() {
+        return level != null || category != null || since != null || until != null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Matches lines of a single log in the order they were written, it keeps the parsing state between lines
+     * and is not thread safe
+     */
+    public final class LineMatcher {
+
+        private final QuarkusLogLine line = new QuarkusLogLine();
+        private final Matcher regexMatcher = regex == null ? null : regex.matcher("");
+        private final long sinceMillis = since == null ? Long.MIN_VALUE : since.toEpochMilli();
+        private final long untilMillis = until == null ? Long.MAX_VALUE : until.toEpochMilli();
+        private boolean parsed;
+        private boolean selected;
+
+        private LineMatcher() {
+        }
+
+        public boolean matches(CharSequence text) {
+            return matches(text, 0, text.length());
+        }
+
+        /**
+         * @param text text containing the line
+         * @param start position of the first character of the line
+         * @param end position after the last character of the line
+         * @return whether the line is selected
+         */
+        public boolean matches(CharSequence text, int start, int end) {
+            if (line.parse(text, start, end)) {
+                parsed = true;
+                selected = matchesRecord() && find(text, start, end);
+                return selected;
+            }
+            if (parsed) {
+                return selected;
+            }
+            // no line was parsed so far, the log is likely not written in the expected format
+            return !hasRecordCriteria() && find(text, start, end);
+        }
+
+        private boolean matchesRecord() {
+            return (level == null || line.level().compareTo(level) >= 0)
+                    && (category == null || line.categoryStartsWith(category))
+                    && line.timestamp() >= sinceMillis
+                    && line.timestamp() < untilMillis;
+        }
+
+        private boolean find(CharSequence text, int start, int end) {
+            return regexMatcher == null || regexMatcher.reset(text).region(start, end).find();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+/**
+ * Position within a streamed log, written as {@code <epoch>:<sequence>}
+ *
+ * @param epoch identifies the stream of the log, sequence numbers of another stream of the same log don't match
+ * @param sequence sequence number of the next line
+ */
+public record LogPosition(long epoch, long sequence) {
+
+    /**
+     * Position of the oldest line buffered by any stream
+     */
+    public static final LogPosition OLDEST = new LogPosition(0, 0);
+
+    /**
+     * @param value position written as {@code <epoch>:<sequence>}, or {@code 0} for {@link #OLDEST}
+     * @throws IllegalArgumentException if the position is invalid
+     */
+    public static LogPosition parse(String value) {
+        var trimmed = value.trim();
+        if (trimmed.equals("0")) {
+            return OLDEST;
+        }
+
+        var separator = trimmed.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid log position '" + value + "', expected <epoch>:<sequence>");
+        }
+        var position = new LogPosition(Long.parseLong(trimmed.substring(0, separator)), Long.parseLong(trimmed.substring(separator + 1)));
+        if (position.epoch() <= 0 || position.sequence() < 0) {
+            throw new IllegalArgumentException("Invalid log position '" + value + "'");
+        }
+        return position;
+    }
+
+    @Override
+    public String toString() {
+        return epoch + ":" + sequence;
+    }
+}
@@ -5,112 +5,437 @@
  */
 package io.debezium.platform.domain;
 
-import java.io.Closeable;
-import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 
 import org.jboss.logging.Logger;
 
+import io.debezium.platform.config.LogsConfigGroup;
 import io.debezium.platform.environment.logs.LogReader;
 import io.quarkus.virtual.threads.VirtualThreads;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.Cancellable;
 
+/**
+ * Streams live logs to any number of subscribers.
+ * <br>
+ *
+ * Subscribers of the same log share a single upstream {@link LogReader#stream()}, which publishes the lines
+ * through a {@link LogBroadcast} as soon as they are written. Each subscriber is pushed the lines it requested,
+ * so no thread is held while it waits for more lines or for the downstream to catch up. Subscribers joining
+ * a log which is already streamed receive up to {@value #REPLAYED_LINES} recent lines first. The upstream is
+ * reference counted, it's opened by the first subscriber and cancelled once the last subscriber left and no other
+ * subscriber joined for {@code conductor.logs.stream.linger}, so reconnecting subscribers don't reopen it.
+ * <br>
+ *
+ * Lines are pushed in frames of newline separated lines. A frame is sent once it reaches
+ * {@code conductor.logs.stream.frame.max-size} characters, or once no more lines are available and its first line
+ * waited for {@code conductor.logs.stream.frame.max-delay}. Up to {@code conductor.logs.stream.buffer-lines} lines
+ * and {@code conductor.logs.stream.buffer-size} bytes are buffered per log, a subscriber falling further behind drops
+ * the oldest lines, which is reported in its stream by a {@value #DROPPED_LINES_MARKER} line.
+ * <br>
+ *
+ * Subscribers streaming from a {@link LogPosition} receive the buffered lines following that position and each frame
+ * starts with a {@value #POSITION_PREFIX}{@code <epoch>:<sequence>} line, the position to resume from after the frame.
+ * Resuming within the same stream of the log has no gaps nor duplicates, as long as the lines were not evicted from
+ * the buffer. Once the upstream was reopened, possibly by another replica, the sequence numbers don't match anymore,
+ * which is reported by a {@value #RESTARTED_MARKER} line.
+ */
 @ApplicationScoped
 public class LogStreamingService {
 
-    public static final int NO_DATA_SLEEP_MS = 1000;
+    public static final int REPLAYED_LINES = 100;
+    public static final String DROPPED_LINES_MARKER = "... %d lines dropped ...";
+    public static final String RESTARTED_MARKER = "... log stream restarted, lines may be missing or repeated ...";
+    public static final String POSITION_PREFIX = "#";
 
     private final Logger logger;
     private final ExecutorService executorService;
+    private final int bufferLines;
+    private final long bufferSize;
+    private final long lingerMillis;
+    private final int maxFrameSize;
+    private final long maxFrameDelayNanos;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, SharedLog> logs = new ConcurrentHashMap<>();
+    // epochs of different streams of a log differ also across restarts and replicas, as they start at a random value
+    private final AtomicLong epochs = new AtomicLong(new SecureRandom().nextLong());
 
-    public static class LogStreamingTask implements Runnable, Closeable {
-        private final Logger logger;
+    /**
+     * Upstream of a log shared by all its subscribers
+     */
+    private final class SharedLog {
 
         private final String name;
-        private final AtomicBoolean running;
         private final Supplier<LogReader> supplier;
-        private final Consumer<String> consumer;
+        private final long epoch = nextEpoch();
+        private final LogBroadcast broadcast = new LogBroadcast(bufferLines, bufferSize);
+        // number of subscribers, -1 once the log was stopped and can't be joined anymore
+        private final AtomicInteger references = new AtomicInteger(1);
+        // incremented whenever the last subscriber leaves, only the latest scheduled stop applies
+        private final AtomicLong releases = new AtomicLong();
+        private volatile Cancellable upstream;
 
-        public LogStreamingTask(String name, Supplier<LogReader> supplier, Consumer<String> consumer, Logger logger) {
+        private SharedLog(String name, Supplier<LogReader> supplier) {
             this.name = name;
             this.supplier = supplier;
-            this.consumer = consumer;
-            this.logger = logger;
-            this.running = new AtomicBoolean(false);
         }
 
-        public String getName() {
-            return name;
+        private void start() {
+            logger.infof("Starting log streamer for '%s'", name);
+
+            try {
+                // reads of the upstream block, the lines are published from a virtual thread
+                upstream = supplier.get()
+                        .stream()
+                        .runSubscriptionOn(executorService)
+                        .subscribe()
+                        .with(broadcast::publish, this::failed, this::completed);
+            }
+            catch (RuntimeException e) {
+                failed(e);
+            }
         }
 
-        public boolean isRunning() {
-            return running.get();
+        private boolean retain() {
+            int current;
+            do {
+                current = references.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(current, current + 1));
+            return true;
         }
 
-        public void stop() {
-            if (!running.compareAndSet(true, false)) {
-                logger.infof("Stopping log streamer for '%s'", name);
+        private void release() {
+            if (references.decrementAndGet() > 0) {
+                return;
+            }
+
+            var release = releases.incrementAndGet();
+            if (lingerMillis > 0) {
+                scheduler.schedule(() -> stop(release), lingerMillis, TimeUnit.MILLISECONDS);
+            }
+            else {
+                stop(release);
             }
         }
 
-        @Override
-        public void run() {
-            if (!running.compareAndSet(false, true)) {
+        private void stop(long release) {
+            // not stopped if a subscriber joined meanwhile
+            if (release != releases.get() || !references.compareAndSet(0, -1)) {
                 return;
             }
-            logger.infof("Starting log streamer for '%s'", name);
 
-            try (var reader = supplier.get()) {
-                doStream(reader);
+            logger.infof("Stopping log streamer for '%s'", name);
+            logs.remove(name, this);
+            var current = upstream;
+            if (current != null) {
+                // the reader is closed on cancellation, which may block until a pending read of the upstream returns,
+                // so the cancellation must not hold up the scheduler thread shared by all logs
+                executorService.execute(current::cancel);
+            }
+        }
+
+        private void completed() {
+            logger.infof("Finished streaming from log %s", name);
+            finish();
+        }
+
+        private void failed(Throwable failure) {
+            if (references.get() < 0) {
                 logger.infof("Finished streaming from log %s", name);
             }
-            catch (IOException e) {
-                logger.errorf("Error streaming from log %s", name);
+            else {
+                logger.errorf(failure, "Error streaming from log %s", name);
             }
-            catch (InterruptedException e) {
-                logger.errorf("Interrupted while waiting for more logs from log %s", name);
-                Thread.currentThread().interrupt();
+            finish();
+        }
+
+        private void finish() {
+            logs.remove(name, this);
+            broadcast.close();
+        }
+    }
+
+    /**
+     * Subscription to a shared log, pushing frames of lines from the broadcast up to the requested amount
+     */
+    private final class LogSubscription implements Flow.Subscription, Runnable {
+
+        private final SharedLog log;
+        private final Flow.Subscriber<? super String> subscriber;
+        private final LogFilter.LineMatcher matcher;
+        private final AtomicLong requested = new AtomicLong();
+        // serializes draining between the publisher, the requesting and the flushing threads
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private final StringBuilder frame = new StringBuilder();
+        private final boolean positioned;
+        private long frameStarted;
+        private long sequence;
+
+        private LogSubscription(SharedLog log, LogFilter filter, LogPosition from, Flow.Subscriber<? super String> subscriber) {
+            this.log = log;
+            this.subscriber = subscriber;
+            this.matcher = filter.isEmpty() ? null : filter.matcher();
+            this.positioned = from != null;
+            if (from == null) {
+                sequence = log.broadcast.start(REPLAYED_LINES);
             }
-            finally {
-                stop();
+            else if (from.epoch() == log.epoch) {
+                sequence = Math.min(from.sequence(), log.broadcast.published());
+            }
+            else {
+                sequence = log.broadcast.start(Integer.MAX_VALUE);
+                if (!from.equals(LogPosition.OLDEST)) {
+                    append(RESTARTED_MARKER);
+                }
             }
         }
 
-        private void doStream(LogReader reader) throws InterruptedException, IOException {
-            while (isRunning()) {
-                var line = reader.readLine();
-                if (line == null) {
-                    Thread.sleep(NO_DATA_SLEEP_MS);
-                    continue;
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (terminate()) {
+                    subscriber.onError(new IllegalArgumentException("Number of requested frames must be positive, was " + n));
                 }
-                consumer.accept(line);
+                return;
             }
+            requested.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            terminate();
         }
 
         @Override
-        public void close() {
-            stop();
+        public void run() {
+            try {
+                drain();
+            }
+            catch (RuntimeException e) {
+                // must not fail the publisher shared with other subscribers
+                if (terminate()) {
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        private void drain() {
+            if (pending.getAndIncrement() != 0) {
+                return;
+            }
+
+            var missed = 1;
+            do {
+                var demand = requested.get();
+                var emitted = 0L;
+                while (!done.get()) {
+                    var read = log.broadcast.poll(sequence);
+                    if (read == LogBroadcast.Read.END && frame.isEmpty()) {
+                        if (terminate()) {
+                            subscriber.onComplete();
+                        }
+                        return;
+                    }
+                    if (emitted == demand) {
+                        break;
+                    }
+                    if (read == LogBroadcast.Read.END) {
+                        flush();
+                        emitted++;
+                        continue;
+                    }
+                    if (read == null) {
+                        // no more lines for now, the frame is sent once it waited long enough
+                        if (!frame.isEmpty()) {
+                            var remaining = maxFrameDelayNanos - (System.nanoTime() - frameStarted);
+                            if (remaining <= 0) {
+                                flush();
+                                emitted++;
+                            }
+                            else {
+                                scheduleFlush(remaining);
+                            }
+                        }
+                        break;
+                    }
+
+                    if (read.sequence() > sequence) {
+                        // lagged behind the broadcast, the oldest lines were dropped
+                        append(String.format(DROPPED_LINES_MARKER, read.sequence() - sequence));
+                    }
+                    if (matcher == null || matcher.matches(read.line())) {
+                        append(read.line());
+                    }
+                    sequence = read.sequence() + 1;
+                    if (frame.length() >= maxFrameSize) {
+                        flush();
+                        emitted++;
+                    }
+                }
+                if (emitted > 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void append(String line) {
+            if (frame.isEmpty()) {
+                frameStarted = System.nanoTime();
+            }
+            else {
+                frame.append('\n');
+            }
+            frame.append(line);
+        }
+
+        private void flush() {
+            var text = positioned
+                    ? POSITION_PREFIX + new LogPosition(log.epoch, sequence) + "\n" + frame
+                    : frame.toString();
+            frame.setLength(0);
+            subscriber.onNext(text);
+        }
+
+        private void scheduleFlush(long delayNanos) {
+            if (flushScheduled.compareAndSet(false, true)) {
+                scheduler.schedule(() -> {
+                    flushScheduled.set(false);
+                    run();
+                }, delayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private boolean terminate() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            log.broadcast.removeListener(this);
+            log.release();
+            return true;
         }
     }
 
-    public LogStreamingService(Logger logger, @VirtualThreads ExecutorService executorService) {
+    /**
+     * @return positive epoch of a new stream, see {@link LogPosition#parse(String)}
+     */
+    private long nextEpoch() {
+        long epoch;
+        do {
+            epoch = epochs.incrementAndGet() & Long.MAX_VALUE;
+        } while (epoch == 0);
+        return epoch;
+    }
+
+    public LogStreamingService(Logger logger, @VirtualThreads ExecutorService executorService, LogsConfigGroup config) {
         this.logger = logger;
         this.executorService = executorService;
+        this.bufferLines = config.stream().bufferLines();
+        this.bufferSize = config.stream().bufferSize();
+        this.lingerMillis = config.stream().linger().toMillis();
+        this.maxFrameSize = config.stream().frame().maxSize();
+        this.maxFrameDelayNanos = config.stream().frame().maxDelay().toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("log-streaming").daemon().factory());
+    }
+
+    @PreDestroy
+    void close() {
+        scheduler.shutdownNow();
     }
 
     /**
-     * Starts streaming the log, passing each line to given consumer.
+     * Streams the log, the log is read only once regardless of the number of subscribers streaming it at the same time.
+     * The upstream is opened upon subscription.
      *
-     * @param consumer log consumer
+     * @param name name of the log, subscribers of the same log share the upstream
+     * @param logSupplier supplier of the log reader, invoked only if the log is not streamed yet
+     * @return stream of frames of newline separated log lines, to be cancelled once no longer needed
+     */
+    public Multi<String> stream(String name, Supplier<LogReader> logSupplier) {
+        return stream(name, logSupplier, LogFilter.none());
+    }
+
+    /**
+     * Streams lines of the log selected by given filter, see {@link #stream(String, Supplier)}. Lines are filtered
+     * separately for each subscriber, so subscribers with different filters still share the upstream.
+     *
+     * @param name name of the log, subscribers of the same log share the upstream
+     * @param logSupplier supplier of the log reader, invoked only if the log is not streamed yet
+     * @param filter selects the streamed lines
+     * @return stream of frames of newline separated log lines, to be cancelled once no longer needed
+     */
+    public Multi<String> stream(String name, Supplier<LogReader> logSupplier, LogFilter filter) {
+        return stream(name, logSupplier, filter, null);
+    }
+
+    /**
+     * Streams lines of the log following given position, see {@link #stream(String, Supplier, LogFilter)}.
+     * Each frame starts with the position to resume from after the frame.
+     *
+     * @param name name of the log, subscribers of the same log share the upstream
+     * @param logSupplier supplier of the log reader, invoked only if the log is not streamed yet
+     * @param filter selects the streamed lines
+     * @param from position to resume from, {@link LogPosition#OLDEST} for all buffered lines,
+     *        or {@code null} for recent lines and frames without positions
+     * @return stream of frames of newline separated log lines, to be cancelled once no longer needed
+     */
+    public Multi<String> stream(String name, Supplier<LogReader> logSupplier, LogFilter filter, LogPosition from) {
+        return Multi.createFrom().<String> publisher(subscriber -> subscribe(name, logSupplier, filter, from, subscriber));
+    }
+
+    private void subscribe(String name, Supplier<LogReader> logSupplier, LogFilter filter, LogPosition from, Flow.Subscriber<? super String> subscriber) {
+        var created = new SharedLog[1];
+        var log = logs.compute(name, (key, current) -> {
+            if (current != null && current.retain()) {
+                return current;
+            }
+            created[0] = new SharedLog(key, logSupplier);
+            return created[0];
+        });
+
+        if (log == created[0]) {
+            log.start();
+        }
+        else {
+            logger.infof("Joining log streamer for log %s", name);
+        }
+
+        var subscription = new LogSubscription(log, filter, from, subscriber);
+        subscriber.onSubscribe(subscription);
+        log.broadcast.addListener(subscription);
+        if (subscription.done.get()) {
+            // cancelled right away
+            log.broadcast.removeListener(subscription);
+        }
+        else {
+            subscription.run();
+        }
+    }
+
+    /**
+     * @return number of logs currently streamed
      */
-    public LogStreamingTask stream(String name, Supplier<LogReader> logSupplier, Consumer<String> consumer) {
-        logger.infof("Starting log streamer for log %s", name);
-        var task = new LogStreamingTask(name, logSupplier, consumer, logger);
-        executorService.submit(task);
-        return task;
+    public int activeLogs() {
+        return logs.size();
     }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.debezium.platform.config.DeploymentConfigGroup;
+import io.debezium.platform.domain.views.flat.PipelineFlat;
+import io.debezium.platform.environment.EnvironmentController;
+import io.debezium.platform.environment.OperationPriority;
+import io.debezium.platform.environment.PipelineController;
+import io.debezium.platform.environment.PipelineController.SyncResult;
+import io.debezium.platform.environment.TokenBucket;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Deploys many pipelines at once, e.g. when the pipelines are migrated to a new cluster.
+ * <br>
+ *
+ * Pipelines are loaded with a single query and then mapped and applied in parallel on virtual threads.
+ * The number of concurrent deployments is limited by {@code conductor.deployment.bulk.max-concurrency} and
+ * the rate at which they are started by a {@link TokenBucket} ({@code conductor.deployment.bulk.rate-limit}),
+ * so the target environment is not flooded. Deployments run with {@link OperationPriority#RECONCILE} priority,
+ * so they don't delay interactive actions. Results are emitted per pipeline as soon as its deployment completes.
+ * <br>
+ *
+ * Unlike regular deployments this bypasses the outbox. This is safe since pipelines are synced through
+ * {@link PipelineController#sync(PipelineFlat, java.util.function.Function)}, which reloads each pipeline once
+ * its deployment is granted, so a state loaded before an outbox deploy never overwrites it. Pipelines which are
+ * up to date or stopped are left untouched, pipelines deleted meanwhile are reported as {@link Status#SKIPPED}.
+ */
+@ApplicationScoped
+public class PipelineDeploymentService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipelineDeploymentService.class);
+
+    private final PipelineService pipelineService;
+    private final Instance<EnvironmentController> environmentController;
+    private final int maxConcurrency;
+    private final TokenBucket rateLimiter;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PipelineDeploymentService(PipelineService pipelineService,
+                                     Instance<EnvironmentController> environmentController,
+                                     DeploymentConfigGroup deploymentConfig) {
+        this.pipelineService = pipelineService;
+        this.environmentController = environmentController;
+        this.maxConcurrency = deploymentConfig.bulk().maxConcurrency();
+        this.rateLimiter = new TokenBucket(deploymentConfig.bulk().rateLimit().permitsPerSecond(),
+                deploymentConfig.bulk().rateLimit().burst());
+    }
+
+    public enum Status {
+        DEPLOYED,
+        SKIPPED,
+        FAILED,
+        NOT_FOUND
+    }
+
+    /**
+     * Result of a single pipeline deployment
+     *
+     * @param id pipeline id
+     * @param name pipeline name, {@code null} if the pipeline was not found
+     * @param status deployment outcome
+     * @param error error message if the deployment failed
+     */
+    public record DeploymentResult(Long id, String name, Status status, String error) {
+    }
+
+    /**
+     * Deploys all pipelines matching the selector. Requested ids which don't exist are reported as {@link Status#NOT_FOUND}.
+     *
+     * @param selector pipeline selection criteria
+     * @return stream of per-pipeline results in order of completion
+     */
+    public Multi<DeploymentResult> deploy(PipelineSelector selector) {
+        var pipelines = pipelineService.findFlat(selector);
+        var controller = environmentController.get().pipelines();
+        LOGGER.info("Deploying {} pipelines", pipelines.size());
+
+        var found = new HashSet<Long>();
+        pipelines.forEach(pipeline -> found.add(pipeline.getId()));
+        var missing = selector.ids() == null ? List.<DeploymentResult> of()
+                : selector.ids().stream()
+                        .distinct()
+                        .filter(id -> !found.contains(id))
+                        .map(id -> new DeploymentResult(id, null, Status.NOT_FOUND, null))
+                        .toList();
+
+        var deployments = Multi.createFrom().iterable(pipelines)
+                .onItem().transformToUni(pipeline -> Uni.createFrom().item(() -> deploy(controller, pipeline))
+                        .runSubscriptionOn(executor))
+                .merge(maxConcurrency);
+
+        return Multi.createBy().concatenating().streams(
+                Multi.createFrom().iterable(missing),
+                deployments);
+    }
+
+    private DeploymentResult deploy(PipelineController controller, PipelineFlat pipeline) {
+        try {
+            rateLimiter.acquire();
+            var deleted = new AtomicBoolean();
+            var result = controller.sync(pipeline, id -> {
+                var current = reload(id);
+                deleted.set(current.isEmpty());
+                return current;
+            });
+            if (result == SyncResult.FAILED) {
+                return new DeploymentResult(pipeline.getId(), pipeline.getName(), Status.FAILED, null);
+            }
+            return new DeploymentResult(pipeline.getId(), pipeline.getName(), deleted.get() ? Status.SKIPPED : Status.DEPLOYED, null);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new DeploymentResult(pipeline.getId(), pipeline.getName(), Status.FAILED, "Deployment interrupted");
+        }
+        catch (RuntimeException e) {
+            LOGGER.error("Failed to deploy pipeline {} (#{})", pipeline.getName(), pipeline.getId(), e);
+            return new DeploymentResult(pipeline.getId(), pipeline.getName(), Status.FAILED, e.getMessage());
+        }
+    }
+
+    private Optional<PipelineFlat> reload(Long id) {
+        return pipelineService.findFlat(new PipelineSelector(List.of(id), null, null, null)).stream().findFirst();
+    }
+
+    @PreDestroy
+    void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+        catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.RollbackException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.debezium.DebeziumException;
+import io.debezium.outbox.quarkus.ExportedEvent;
+import io.debezium.platform.data.model.PipelineEntity;
+import io.debezium.platform.domain.views.flat.PipelineFlat;
+import io.debezium.platform.environment.watcher.events.EventType;
+import io.debezium.platform.environment.watcher.events.PipelineEvent;
+
+/**
+ * Collects pipeline changes made within a transaction and publishes them as {@link PipelineEvent} right before commit.
+ * <br>
+ *
+ * Changes are deduplicated per pipeline with the last change winning, so a single edit fanning out
+ * to many pipelines (e.g. through a shared connection) or touching the same pipeline several times
+ * results in exactly one outbox event per pipeline. All updated pipelines are loaded with a single query
+ * and the outbox rows are persisted together, so they are written as a batched insert.
+ * <br>
+ *
+ * Events are published from a regular (non-interposed) synchronization, which runs before the interposed
+ * synchronization of the persistence context, so the outbox rows are written by its flush together with
+ * the other changes. If the events can't be published, the transaction is rolled back rather than committed
+ * without them.
+ * <br>
+ *
+ * Changes collected outside an active transaction are published immediately.
+ */
+@ApplicationScoped
+public class PipelineEventCollector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipelineEventCollector.class);
+
+    private static final Object PENDING_CHANGES = PipelineEventCollector.class.getName() + ".pendingChanges";
+
+    private final TransactionSynchronizationRegistry registry;
+    private final TransactionManager transactionManager;
+    private final EntityManager em;
+    private final CriteriaBuilderFactory cbf;
+    private final EntityViewManager evm;
+    private final Event<ExportedEvent<?, ?>> event;
+    private final ObjectMapper objectMapper;
+
+    public PipelineEventCollector(TransactionSynchronizationRegistry registry,
+                                  TransactionManager transactionManager,
+                                  EntityManager em,
+                                  CriteriaBuilderFactory cbf,
+                                  EntityViewManager evm,
+                                  Event<ExportedEvent<?, ?>> event,
+                                  ObjectMapper objectMapper) {
+        this.registry = registry;
+        this.transactionManager = transactionManager;
+        this.em = em;
+        this.cbf = cbf;
+        this.evm = evm;
+        this.event = event;
+        this.objectMapper = objectMapper;
+    }
+
+    public void update(Long id) {
+        collect(id, EventType.UPDATE);
+    }
+
+    public void updateAll(Collection<Long> ids) {
+        ids.forEach(this::update);
+    }
+
+    public void delete(Long id) {
+        collect(id, EventType.DELETE);
+    }
+
+    private void collect(Long id, EventType type) {
+        if (registry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            publish(Map.of(id, type));
+            return;
+        }
+        pendingChanges().put(id, type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, EventType> pendingChanges() {
+        var changes = (Map<Long, EventType>) registry.getResource(PENDING_CHANGES);
+        if (changes == null) {
+            var pending = new LinkedHashMap<Long, EventType>();
+            registerSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                    publishBeforeCommit(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    // nothing to clean up, the map is bound to the transaction
+                }
+            });
+            registry.putResource(PENDING_CHANGES, pending);
+            changes = pending;
+        }
+        return changes;
+    }
+
+    private void registerSynchronization(Synchronization synchronization) {
+        try {
+            transactionManager.getTransaction().registerSynchronization(synchronization);
+        }
+        catch (RollbackException | SystemException e) {
+            throw new DebeziumException("Unable to publish pipeline events with the current transaction", e);
+        }
+    }
+
+    private void publishBeforeCommit(Map<Long, EventType> changes) {
+        var status = registry.getTransactionStatus();
+        try {
+            if (status != Status.STATUS_ACTIVE) {
+                throw new IllegalStateException("Pipeline events can't be published in transaction with status " + status);
+            }
+            publish(changes);
+        }
+        catch (RuntimeException e) {
+            LOGGER.error("Failed to publish {} pipeline events, rolling back the transaction", changes.size(), e);
+            registry.setRollbackOnly();
+            throw e;
+        }
+    }
+
+    private void publish(Map<Long, EventType> changes) {
+        var updated = new ArrayList<Long>();
+        var deleted = new ArrayList<Long>();
+        changes.forEach((id, type) -> (type == EventType.DELETE ? deleted : updated).add(id));
+
+        if (!updated.isEmpty()) {
+            evm.applySetting(EntityViewSetting.create(PipelineFlat.class),
+                    cbf.create(em, PipelineEntity.class).where("id").in(updated))
+                    .getResultList()
+                    .forEach(pipeline -> event.fire(PipelineEvent.update(pipeline, objectMapper)));
+        }
+        deleted.forEach(id -> event.fire(PipelineEvent.delete(id)));
+
+        LOGGER.debug("Published {} pipeline update and {} delete events", updated.size(), deleted.size());
+    }
+}
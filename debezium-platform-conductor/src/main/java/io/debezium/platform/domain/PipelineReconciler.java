@@ -0,0 +1,340 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.debezium.platform.config.DeploymentConfigGroup;
+import io.debezium.platform.config.DeploymentConfigGroup.ReconcileConfig;
+import io.debezium.platform.domain.views.flat.PipelineFlat;
+import io.debezium.platform.environment.EnvironmentController;
+import io.debezium.platform.environment.OperationPriority;
+import io.debezium.platform.environment.PipelineController;
+import io.debezium.platform.environment.PipelineController.SyncResult;
+import io.debezium.platform.environment.watcher.WatcherLeaderElection;
+import io.debezium.platform.environment.watcher.config.WatcherConfigGroup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.Startup;
+
+/**
+ * Reconciles pipelines deployed in the target environment with the database, so the environment
+ * doesn't silently drift when e.g. a resource is deleted by hand or an outbox event is skipped.
+ * <br>
+ *
+ * Right after startup all pipelines are resynced at once: they are loaded with a single query and synced
+ * through {@link PipelineController#sync(List, int, java.util.function.Function)}, which diffs them against
+ * the deployed resources listed at once. The resync is retried until it succeeds and the time it took is exposed
+ * through the {@code conductor.reconcile.startup} metric. With {@code conductor.watcher.leader-election.enabled}
+ * only the watcher leader resyncs, so pipelines are deployed by a single replica; the other replicas wait until
+ * they become the leader.
+ * <br>
+ *
+ * The conductor is not ready (see {@link PipelineResyncHealthCheck}) until the resync completed, or, on replicas
+ * which are not the leader, until the caches of the environment have synced (see {@link PipelineController#isSynced()}).
+ * Once ready, the replica stays ready even when it becomes the leader and resyncs later.
+ * <br>
+ *
+ * Afterwards pipelines are periodically reconciled in pages of {@code conductor.deployment.reconcile.page-size},
+ * so only the ids of the pipelines are kept for the whole pass. With {@code conductor.watcher.leader-election.enabled}
+ * only the watcher leader runs the periodic passes.
+ * <br>
+ *
+ * Only pipelines whose deployment differs from the database are applied, at most
+ * {@code conductor.deployment.reconcile.max-concurrency} at the same time and with {@link OperationPriority#RECONCILE}
+ * priority. Pipelines deployed before the pass started which no longer exist in the database are undeployed.
+ * The result of each pass is exposed through the {@code conductor.reconcile.*} metrics.
+ */
+@ApplicationScoped
+@Startup
+public class PipelineReconciler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipelineReconciler.class);
+
+    public static final String DURATION_TIMER = "conductor.reconcile.duration";
+    public static final String STARTUP_TIMER = "conductor.reconcile.startup";
+    public static final String CHANGES_COUNTER = "conductor.reconcile.changes";
+
+    private static final long RESYNC_RETRY_DELAY_MS = 10_000;
+
+    private final PipelineService pipelineService;
+    private final Instance<EnvironmentController> environmentController;
+    private final WatcherLeaderElection leaderElection;
+    private final ReconcileConfig config;
+    private final boolean leaderOnly;
+    private final Timer duration;
+    private final Timer startup;
+    private final Counter created;
+    private final Counter updated;
+    private final Counter deleted;
+    private final Counter failed;
+
+    private volatile boolean resynced;
+    private volatile boolean ready;
+    private ScheduledExecutorService scheduler;
+
+    public PipelineReconciler(PipelineService pipelineService,
+                              Instance<EnvironmentController> environmentController,
+                              WatcherLeaderElection leaderElection,
+                              DeploymentConfigGroup deploymentConfig,
+                              WatcherConfigGroup watcherConfig,
+                              MeterRegistry registry) {
+        this.pipelineService = pipelineService;
+        this.environmentController = environmentController;
+        this.leaderElection = leaderElection;
+        this.config = deploymentConfig.reconcile();
+        this.leaderOnly = watcherConfig.enabled() && watcherConfig.leaderElection().enabled();
+        this.duration = Timer.builder(DURATION_TIMER)
+                .description("Time spent reconciling deployed pipelines with the database")
+                .register(registry);
+        this.startup = Timer.builder(STARTUP_TIMER)
+                .description("Time spent resyncing all pipelines after startup")
+                .register(registry);
+        this.created = changesCounter(registry, "created");
+        this.updated = changesCounter(registry, "updated");
+        this.deleted = changesCounter(registry, "deleted");
+        this.failed = changesCounter(registry, "failed");
+    }
+
+    @PostConstruct
+    void start() {
+        if (!config.onStartup()) {
+            resynced = true;
+        }
+        if (!config.enabled() && resynced) {
+            LOGGER.info("Skipping pipeline reconciliation because it is not enabled");
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("pipeline-reconciler").daemon().factory());
+        if (!resynced) {
+            scheduler.execute(this::resyncOrRetry);
+        }
+        if (config.enabled()) {
+            var interval = config.interval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::reconcileIfLeader, interval, interval, TimeUnit.MILLISECONDS);
+            LOGGER.info("Pipelines will be reconciled every {}ms", interval);
+        }
+    }
+
+    /**
+     * @return whether all pipelines were resynced after startup
+     */
+    public boolean isResynced() {
+        return resynced;
+    }
+
+    /**
+     * @return whether all pipelines were resynced after startup, or the environment caches have synced on a replica
+     *         which is not the leader
+     */
+    public boolean isReady() {
+        if (!ready) {
+            ready = resynced || (leaderOnly && !leaderElection.isLeader() && environmentController.get().pipelines().isSynced());
+        }
+        return ready;
+    }
+
+    private void resyncOrRetry() {
+        if (leaderOnly && !leaderElection.isLeader()) {
+            LOGGER.debug("Postponing pipeline resync, this replica is not the watcher leader");
+            scheduler.schedule(this::resyncOrRetry, RESYNC_RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        if (!environmentController.get().supportsPipelines()) {
+            LOGGER.info("Skipping pipeline resync, the environment does not deploy pipelines");
+            resynced = true;
+            return;
+        }
+
+        try {
+            resync();
+        }
+        catch (RuntimeException e) {
+            LOGGER.error("Pipeline resync failed, retrying in {}ms", RESYNC_RETRY_DELAY_MS, e);
+            scheduler.schedule(this::resyncOrRetry, RESYNC_RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void reconcileIfLeader() {
+        if (!resynced) {
+            LOGGER.debug("Skipping pipeline reconciliation, pipelines were not resynced yet");
+            return;
+        }
+        if (leaderOnly && !leaderElection.isLeader()) {
+            LOGGER.debug("Skipping pipeline reconciliation, this replica is not the watcher leader");
+            return;
+        }
+
+        if (!environmentController.get().supportsPipelines()) {
+            LOGGER.info("Stopping pipeline reconciliation, the environment does not deploy pipelines");
+            scheduler.shutdown();
+            return;
+        }
+
+        try {
+            reconcile();
+        }
+        catch (RuntimeException e) {
+            LOGGER.error("Pipeline reconciliation failed", e);
+        }
+    }
+
+    /**
+     * Resyncs all pipelines at once
+     *
+     * @return number of pipelines changed by the resync
+     */
+    public Result resync() {
+        var sample = Timer.start();
+        var pass = new Pass(environmentController.get().pipelines());
+
+        var loadStart = System.nanoTime();
+        var pipelines = pipelineService.findFlat(PipelineSelector.all());
+        var loadNanos = System.nanoTime() - loadStart;
+        pass.sync(pipelines);
+        var result = pass.finish();
+
+        var nanos = sample.stop(startup);
+        resynced = true;
+        LOGGER.info("Resynced {} pipelines in {}ms (loaded in {}ms): {} created, {} updated, {} deleted, {} failed",
+                pipelines.size(), TimeUnit.NANOSECONDS.toMillis(nanos), TimeUnit.NANOSECONDS.toMillis(loadNanos),
+                result.created(), result.updated(), result.deleted(), result.failed());
+        return result;
+    }
+
+    /**
+     * Runs a single reconciliation pass
+     *
+     * @return number of pipelines changed by the pass
+     */
+    public Result reconcile() {
+        var sample = Timer.start();
+        var pass = new Pass(environmentController.get().pipelines());
+
+        Long afterId = null;
+        List<PipelineFlat> page;
+        do {
+            page = pipelineService.findFlatPage(afterId, config.pageSize());
+            pass.sync(page);
+            afterId = page.isEmpty() ? afterId : page.getLast().getId();
+        } while (page.size() == config.pageSize());
+        var result = pass.finish();
+
+        var nanos = sample.stop(duration);
+        LOGGER.info("Reconciled {} pipelines in {}ms: {} created, {} updated, {} deleted, {} failed",
+                pass.existing.size(), TimeUnit.NANOSECONDS.toMillis(nanos), result.created(), result.updated(), result.deleted(), result.failed());
+        return result;
+    }
+
+    /**
+     * State of a single reconciliation pass
+     */
+    private final class Pass {
+
+        private final PipelineController controller;
+        private final Set<Long> deployed;
+        private final Set<Long> existing = new HashSet<>();
+        private final Map<SyncResult, Integer> synced = new EnumMap<>(SyncResult.class);
+
+        private Pass(PipelineController controller) {
+            this.controller = controller;
+            // pipelines deployed later are not orphans, even if they are not found by the pass
+            this.deployed = Set.copyOf(controller.status().keySet());
+        }
+
+        private void sync(List<PipelineFlat> pipelines) {
+            if (pipelines.isEmpty()) {
+                return;
+            }
+
+            pipelines.forEach(pipeline -> existing.add(pipeline.getId()));
+            OperationPriority.RECONCILE.call(() -> controller.sync(pipelines, config.maxConcurrency(), this::reload))
+                    .forEach((id, result) -> {
+                        synced.merge(result, 1, Integer::sum);
+                        if (result == SyncResult.CREATED || result == SyncResult.UPDATED) {
+                            LOGGER.info("Pipeline {} drifted from the database, {}", id, result.name().toLowerCase());
+                        }
+                    });
+        }
+
+        /**
+         * @return current state of the pipeline, which may have changed since its page was loaded
+         */
+        private Optional<PipelineFlat> reload(Long id) {
+            return pipelineService.findFlat(new PipelineSelector(List.of(id), null, null, null)).stream().findFirst();
+        }
+
+        private Result finish() {
+            var undeployed = 0;
+            var failures = synced.getOrDefault(SyncResult.FAILED, 0);
+            for (var id : deployed) {
+                if (existing.contains(id)) {
+                    continue;
+                }
+                try {
+                    OperationPriority.RECONCILE.run(() -> controller.undeploy(id));
+                    LOGGER.info("Undeployed pipeline {} which no longer exists", id);
+                    undeployed++;
+                }
+                catch (RuntimeException e) {
+                    LOGGER.error("Failed to undeploy orphaned pipeline {}", id, e);
+                    failures++;
+                }
+            }
+
+            var result = new Result(synced.getOrDefault(SyncResult.CREATED, 0), synced.getOrDefault(SyncResult.UPDATED, 0), undeployed, failures);
+            created.increment(result.created());
+            updated.increment(result.updated());
+            deleted.increment(result.deleted());
+            failed.increment(result.failed());
+            return result;
+        }
+    }
+
+    private static Counter changesCounter(MeterRegistry registry, String change) {
+        return Counter.builder(CHANGES_COUNTER)
+                .description("Number of pipelines changed by reconciliation")
+                .tag("change", change)
+                .register(registry);
+    }
+
+    /**
+     * Number of pipelines changed by a reconciliation pass
+     *
+     * @param created pipelines which were not deployed
+     * @param updated pipelines whose deployment differed from the database
+     * @param deleted deployed pipelines which no longer exist in the database
+     * @param failed pipelines which could not be reconciled
+     */
+    public record Result(int created, int updated, int deleted, int failed) {
+    }
+
+    @PreDestroy
+    void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
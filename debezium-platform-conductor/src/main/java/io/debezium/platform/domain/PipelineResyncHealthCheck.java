@@ -0,0 +1,34 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the conductor as ready only once all pipelines were resynced after startup, or once the environment caches
+ * have synced on replicas which are not the watcher leader, see {@link PipelineReconciler#isReady()}
+ */
+@Readiness
+@ApplicationScoped
+public class PipelineResyncHealthCheck implements HealthCheck {
+
+    private final PipelineReconciler reconciler;
+
+    public PipelineResyncHealthCheck(PipelineReconciler reconciler) {
+        this.reconciler = reconciler;
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("pipeline-resync")
+                .status(reconciler.isReady())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import java.util.List;
+
+/**
+ * Selects pipelines by any combination of the criteria, criteria which are not set match all pipelines
+ *
+ * @param ids pipeline ids
+ * @param name pipeline name, {@code *} matches any sequence of characters
+ * @param sourceType source type, e.g. {@code io.debezium.connector.postgresql.PostgresConnector}
+ * @param destinationType destination type, e.g. {@code kafka}
+ */
+public record PipelineSelector(List<Long> ids, String name, String sourceType, String destinationType) {
+
+    public static PipelineSelector all() {
+        return new PipelineSelector(null, null, null, null);
+    }
+}
@@ -5,45 +5,46 @@
  */
 package io.debezium.platform.domain;
 
+import java.util.List;
 import java.util.Optional;
-import java.util.function.Consumer;
+import java.util.Set;
 
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.enterprise.event.Event;
 import jakarta.enterprise.inject.Instance;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 
+import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.CriteriaBuilderFactory;
 import com.blazebit.persistence.view.EntityViewManager;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.blazebit.persistence.view.EntityViewSetting;
 
-import io.debezium.outbox.quarkus.ExportedEvent;
 import io.debezium.platform.data.model.PipelineEntity;
 import io.debezium.platform.domain.views.Pipeline;
 import io.debezium.platform.domain.views.flat.PipelineFlat;
 import io.debezium.platform.domain.views.refs.PipelineReference;
 import io.debezium.platform.environment.EnvironmentController;
+import io.debezium.platform.environment.PipelineStatus;
 import io.debezium.platform.environment.watcher.events.PipelineEvent;
+import io.smallrye.mutiny.Multi;
 
 @ApplicationScoped
 public class PipelineService extends AbstractService<PipelineEntity, Pipeline, PipelineReference> {
 
-    private final Event<ExportedEvent<?, ?>> event;
-    private final ObjectMapper objectMapper;
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final PipelineEventCollector events;
     private final LogStreamingService logStreamer;
     private final Instance<EnvironmentController> environmentController;
 
     public PipelineService(EntityManager em,
                            CriteriaBuilderFactory cbf,
                            EntityViewManager evm,
-                           Event<ExportedEvent<?, ?>> event,
-                           ObjectMapper objectMapper,
+                           PipelineEventCollector events,
                            LogStreamingService logStreamer,
                            Instance<EnvironmentController> environmentController) {
         super(PipelineEntity.class, Pipeline.class, PipelineReference.class, em, cbf, evm);
-        this.event = event;
-        this.objectMapper = objectMapper;
+        this.events = events;
         this.logStreamer = logStreamer;
         this.environmentController = environmentController;
     }
@@ -51,14 +52,127 @@ public class PipelineService extends AbstractService<PipelineEntity, Pipeline, P
     @Override
     @Transactional(Transactional.TxType.REQUIRED)
     public void onChange(Pipeline view) {
-        var flat = findByIdAs(PipelineFlat.class, view.getId()).orElseThrow();
-        event.fire(PipelineEvent.update(flat, objectMapper));
+        events.update(view.getId());
     }
 
     @Override
     @Transactional(Transactional.TxType.REQUIRED)
     public void onChange(Long id) {
-        event.fire(PipelineEvent.delete(id));
+        events.delete(id);
+    }
+
+    /**
+     * Publishes {@link PipelineEvent} for all pipelines referencing given entity
+     *
+     * @param referenceId id of the referenced entity
+     * @param referenceAttributes pipeline attributes (paths) referencing the entity, e.g. {@code source.connection}
+     */
+    @Transactional(Transactional.TxType.REQUIRED)
+    public void onReferenceChange(Long referenceId, String... referenceAttributes) {
+        events.updateAll(findIdsByReference(referenceId, referenceAttributes));
+    }
+
+    /**
+     * Resolves ids of all pipelines referencing given entity through any of given attributes with a single query
+     *
+     * @param referenceId id of the referenced entity
+     * @param referenceAttributes pipeline attributes (paths) referencing the entity
+     * @return ids of referencing pipelines
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public List<Long> findIdsByReference(Long referenceId, String... referenceAttributes) {
+        var criteria = cbf.create(em, Long.class)
+                .from(PipelineEntity.class, "pipeline")
+                .select("pipeline.id")
+                .distinct()
+                .whereOr();
+        for (var attribute : referenceAttributes) {
+            criteria = criteria.where("pipeline." + attribute + ID_ATTRIBUTE).eq(referenceId);
+        }
+        return criteria.endOr().getResultList();
+    }
+
+    /**
+     * Loads all pipelines matching the selector with a single query
+     *
+     * @param selector pipeline selection criteria
+     * @return matching pipelines ordered by id
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public List<PipelineFlat> findFlat(PipelineSelector selector) {
+        var criteria = cb();
+        if (selector.ids() != null) {
+            if (selector.ids().isEmpty()) {
+                return List.of();
+            }
+            criteria.where("id").in(selector.ids());
+        }
+        if (selector.name() != null) {
+            whereNameMatches(criteria, selector.name());
+        }
+        if (selector.sourceType() != null) {
+            criteria.where("source.type").eq(selector.sourceType());
+        }
+        if (selector.destinationType() != null) {
+            criteria.where("destination.type").eq(selector.destinationType());
+        }
+        criteria.orderBy("id", true);
+
+        return evm.applySetting(EntityViewSetting.create(PipelineFlat.class), criteria).getResultList();
+    }
+
+    /**
+     * Loads a page of pipelines following the given id, so all pipelines can be iterated without
+     * holding them in memory at once
+     *
+     * @param afterId id of the last pipeline of the previous page, {@code null} for the first page
+     * @param size maximal number of pipelines on the page
+     * @return pipelines ordered by id, the last page has less than {@code size} pipelines
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public List<PipelineFlat> findFlatPage(Long afterId, int size) {
+        var criteria = cb();
+        if (afterId != null) {
+            criteria.where("id").gt(afterId);
+        }
+        criteria.orderBy("id", true);
+
+        return evm.applySetting(EntityViewSetting.create(PipelineFlat.class, 0, size), criteria)
+                .withCountQuery(false)
+                .getResultList();
+    }
+
+    /**
+     * Returns the runtime status of all pipelines, including the ones not deployed in the environment
+     *
+     * @param states states to include, all states when empty
+     * @param name pipeline name, {@code *} matches any sequence of characters, all pipelines when {@code null}
+     * @param page page number, starting with {@code 0}
+     * @param size maximal number of statuses on the page
+     * @return requested page of statuses ordered by pipeline id
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public PipelineStatusPage status(Set<PipelineStatus.State> states, String name, int page, int size) {
+        var deployed = environmentController.get().pipelines().status();
+
+        var criteria = cb();
+        if (name != null) {
+            whereNameMatches(criteria, name);
+        }
+        criteria.orderBy("id", true);
+
+        var matching = evm.applySetting(EntityViewSetting.create(PipelineReference.class), criteria)
+                .getResultList()
+                .stream()
+                .map(pipeline -> Optional.ofNullable(deployed.get(pipeline.getId()))
+                        .map(status -> status.withName(pipeline.getName()))
+                        .orElseGet(() -> PipelineStatus.notDeployed(pipeline.getId(), pipeline.getName())))
+                .filter(status -> states.isEmpty() || states.contains(status.state()))
+                .toList();
+
+        var from = (int) Math.min((long) page * size, matching.size());
+        var to = Math.min(from + size, matching.size());
+        return new PipelineStatusPage(matching.subList(from, to), page, size, matching.size());
     }
 
     /**
@@ -72,16 +186,17 @@ public class PipelineService extends AbstractService<PipelineEntity, Pipeline, P
     }
 
     /**
-     * Streams logs for the given pipeline, invoking given consumer for each log line
+     * Streams logs for the given pipeline
      *
-     * @param id       the pipeline id
-     * @param consumer the consumer to invoke for each log line
-     * @return log streaming task or empty optional if pipeline was not found
+     * @param id the pipeline id
+     * @param filter selects the streamed log lines
+     * @param from position to resume the stream from, or {@code null} to start with recent lines
+     * @return stream of frames of log lines or empty optional if pipeline was not found
      */
-    public Optional<LogStreamingService.LogStreamingTask> streamLogs(Long id, Consumer<String> consumer) {
+    public Optional<Multi<String>> streamLogs(Long id, LogFilter filter, LogPosition from) {
         return environmentController(id)
                 .map(EnvironmentController::pipelines)
-                .map(pipelines -> logStreamer.stream(String.valueOf(id), () -> pipelines.logReader(id), consumer));
+                .map(pipelines -> logStreamer.stream(String.valueOf(id), () -> pipelines.logReader(id), filter, from));
     }
 
     public Optional<String> send(Long pipelineId, Signal signal) {
@@ -93,4 +208,25 @@ public class PipelineService extends AbstractService<PipelineEntity, Pipeline, P
                     return signal.id();
                 });
     }
+
+    /**
+     * Restricts the pipelines by name, {@code *} matches any sequence of characters while any other character
+     * including the SQL wildcards {@code %} and {@code _} matches only itself
+     */
+    private static void whereNameMatches(CriteriaBuilder<PipelineEntity> criteria, String name) {
+        if (name.indexOf('*') < 0) {
+            criteria.where("name").eq(name);
+            return;
+        }
+
+        var pattern = new StringBuilder(name.length() + 8);
+        for (var c : name.toCharArray()) {
+            switch (c) {
+                case '*' -> pattern.append('%');
+                case '%', '_', LIKE_ESCAPE -> pattern.append(LIKE_ESCAPE).append(c);
+                default -> pattern.append(c);
+            }
+        }
+        criteria.where("name").like().value(pattern.toString()).escape(LIKE_ESCAPE);
+    }
 }
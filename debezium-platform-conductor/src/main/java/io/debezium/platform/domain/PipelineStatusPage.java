@@ -0,0 +1,21 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import java.util.List;
+
+import io.debezium.platform.environment.PipelineStatus;
+
+/**
+ * Page of pipeline statuses
+ *
+ * @param items statuses on the page ordered by pipeline id
+ * @param page page number, starting with {@code 0}
+ * @param size maximal number of statuses on the page
+ * @param total number of statuses matching the filter
+ */
+public record PipelineStatusPage(List<PipelineStatus> items, int page, int size, long total) {
+}
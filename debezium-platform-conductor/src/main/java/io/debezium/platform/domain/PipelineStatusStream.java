@@ -0,0 +1,186 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.debezium.platform.environment.EnvironmentController;
+import io.debezium.platform.environment.PipelineController;
+import io.debezium.platform.environment.PipelineStatus;
+
+/**
+ * Shared push channel of pipeline status changes.
+ * <br>
+ *
+ * A single listener is registered with the environment (e.g. fed by Kubernetes watch events), regardless of the number
+ * of subscribers. Pipelines reported as changed are collected and every {@code conductor.status.frame-interval}
+ * their status is resolved once, compared with the last known status and only the actual changes are delivered
+ * to the subscribers as a single frame. Each subscriber receives the current status of all matching pipelines
+ * when subscribing, followed by the frames of the changes it's interested in.
+ */
+@ApplicationScoped
+public class PipelineStatusStream {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipelineStatusStream.class);
+
+    private final Instance<EnvironmentController> environmentController;
+    private final Duration frameInterval;
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+    private final Map<Long, PipelineStatus> lastStatuses = new ConcurrentHashMap<>();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Object frameLock = new Object();
+
+    private PipelineController pipelines;
+    private ScheduledExecutorService scheduler;
+
+    public PipelineStatusStream(Instance<EnvironmentController> environmentController,
+                                @ConfigProperty(name = "conductor.status.frame-interval", defaultValue = "250ms") Duration frameInterval) {
+        this.environmentController = environmentController;
+        this.frameInterval = frameInterval;
+    }
+
+    /**
+     * Subscription to status changes of selected pipelines
+     */
+    public final class Subscription implements AutoCloseable {
+
+        private final Set<Long> ids;
+        private final Set<PipelineStatus.State> states;
+        private final Consumer<List<PipelineStatus>> sink;
+
+        private Subscription(Set<Long> ids, Set<PipelineStatus.State> states, Consumer<List<PipelineStatus>> sink) {
+            this.ids = ids;
+            this.states = states;
+            this.sink = sink;
+        }
+
+        /**
+         * A change is delivered when the pipeline is selected and either its previous or its current state is selected,
+         * so subscribers also learn about pipelines leaving the selected states
+         */
+        private boolean matches(PipelineStatus previous, PipelineStatus current) {
+            return (ids.isEmpty() || ids.contains(current.id()))
+                    && (states.isEmpty() || states.contains(current.state()) || (previous != null && states.contains(previous.state())));
+        }
+
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+        }
+    }
+
+    /**
+     * Subscribes to status changes of the selected pipelines
+     *
+     * @param ids ids of pipelines to follow, all pipelines when empty
+     * @param states states to follow, all states when empty
+     * @param sink consumer of status frames, the first one holds the current status of all deployed matching pipelines;
+     *             must not block as it's called by the thread delivering frames to all subscribers
+     * @return the subscription, to be closed once no longer needed
+     */
+    public Subscription subscribe(Set<Long> ids, Set<PipelineStatus.State> states, Consumer<List<PipelineStatus>> sink) {
+        start();
+
+        var subscription = new Subscription(ids, states, sink);
+        // no frame can be published between the snapshot and the registration
+        synchronized (frameLock) {
+            sink.accept(lastStatuses.values().stream()
+                    .filter(status -> subscription.matches(null, status))
+                    .sorted((first, second) -> Long.compare(first.id(), second.id()))
+                    .toList());
+            subscriptions.add(subscription);
+        }
+        return subscription;
+    }
+
+    private synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+
+        pipelines = environmentController.get().pipelines();
+        pipelines.addStatusListener(changed::add);
+        lastStatuses.putAll(pipelines.status());
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("pipeline-status-stream").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::publishFrame, frameInterval.toMillis(), frameInterval.toMillis(), TimeUnit.MILLISECONDS);
+        LOGGER.info("Started pipeline status stream with frame interval {}ms", frameInterval.toMillis());
+    }
+
+    private void publishFrame() {
+        try {
+            synchronized (frameLock) {
+                var changes = resolveChanges();
+                for (var subscription : subscriptions) {
+                    var frame = changes.stream()
+                            .filter(change -> subscription.matches(change.previous(), change.current()))
+                            .map(Change::current)
+                            .toList();
+                    if (!frame.isEmpty()) {
+                        subscription.sink.accept(frame);
+                    }
+                }
+            }
+        }
+        catch (RuntimeException e) {
+            LOGGER.warn("Unable to publish pipeline status frame", e);
+        }
+    }
+
+    /**
+     * Changes are resolved even without subscribers, so the last known statuses are always up to date
+     */
+    private List<Change> resolveChanges() {
+        var changes = new ArrayList<Change>();
+        for (var iterator = changed.iterator(); iterator.hasNext();) {
+            var id = iterator.next();
+            iterator.remove();
+
+            var current = pipelines.status(id);
+            if (current.isPresent()) {
+                var previous = lastStatuses.put(id, current.get());
+                if (!current.get().equals(previous)) {
+                    changes.add(new Change(previous, current.get()));
+                }
+            }
+            else {
+                var previous = lastStatuses.remove(id);
+                if (previous != null) {
+                    changes.add(new Change(previous, PipelineStatus.notDeployed(id, previous.name())));
+                }
+            }
+        }
+        return changes;
+    }
+
+    private record Change(PipelineStatus previous, PipelineStatus current) {
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+/**
+ * Parser of log lines written with the default Quarkus console format, e.g.
+ * {@code 2025-01-01 10:00:00,123 INFO  [io.deb.con.pos.PostgresConnectorTask] (thread) message}.
+ * <p>
+ * The parser is meant to be reused for all lines of a log and doesn't allocate, the parsed line is described
+ * by the timestamp, the level and the position of the category within the parsed text. It's not thread safe.
+ * </p>
+ */
+final class QuarkusLogLine {
+
+    private static final LogFilter.Level[] LEVELS = LogFilter.Level.values();
+    // yyyy-MM-dd HH:mm:ss,SSS
+    private static final int TIMESTAMP_LENGTH = 23;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private CharSequence text;
+    private long timestamp;
+    private LogFilter.Level level;
+    private int categoryStart;
+    private int categoryEnd;
+
+    /**
+     * Parses the line between given positions of the text
+     *
+     * @param text text containing the line
+     * @param start position of the first character of the line
+     * @param end position after the last character of the line
+     * @return whether the line starts with the timestamp, level and category, e.g. stack traces don't
+     */
+    boolean parse(CharSequence text, int start, int end) {
+        this.text = text;
+        if (end - start < TIMESTAMP_LENGTH || !parseTimestamp(text, start)) {
+            return false;
+        }
+
+        var position = skipSpaces(text, start + TIMESTAMP_LENGTH, end);
+        level = null;
+        for (var candidate : LEVELS) {
+            var name = candidate.name();
+            if (regionEquals(text, position, end, name) && position + name.length() < end && text.charAt(position + name.length()) == ' ') {
+                level = candidate;
+                position += name.length();
+                break;
+            }
+        }
+        if (level == null) {
+            return false;
+        }
+
+        position = skipSpaces(text, position, end);
+        if (position >= end || text.charAt(position) != '[') {
+            return false;
+        }
+        categoryStart = position + 1;
+        categoryEnd = categoryStart;
+        while (categoryEnd < end && text.charAt(categoryEnd) != ']') {
+            categoryEnd++;
+        }
+        return categoryEnd < end;
+    }
+
+    /**
+     * @return timestamp of the line in epoch milliseconds, the time is read as UTC
+     */
+    long timestamp() {
+        return timestamp;
+    }
+
+    LogFilter.Level level() {
+        return level;
+    }
+
+    /**
+     * Matches the category by its segments, a segment matches when one is a prefix of the other, so abbreviated
+     * categories like {@code io.deb.con.pos.PostgresConnectorTask} match {@code io.debezium.connector} and vice versa
+     *
+     * @param prefix category prefix made of whole segments
+     * @return whether the category of the line starts with given prefix
+     */
+    boolean categoryStartsWith(String prefix) {
+        var position = categoryStart;
+        var prefixPosition = 0;
+        while (prefixPosition < prefix.length()) {
+            if (position >= categoryEnd) {
+                return false;
+            }
+            var segmentEnd = indexOf(text, '.', position, categoryEnd);
+            var prefixSegmentEnd = prefix.indexOf('.', prefixPosition);
+            if (prefixSegmentEnd < 0) {
+                prefixSegmentEnd = prefix.length();
+            }
+
+            var length = Math.min(segmentEnd - position, prefixSegmentEnd - prefixPosition);
+            if (length == 0) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (text.charAt(position + i) != prefix.charAt(prefixPosition + i)) {
+                    return false;
+                }
+            }
+            position = segmentEnd + 1;
+            prefixPosition = prefixSegmentEnd + 1;
+        }
+        return true;
+    }
+
+    private boolean parseTimestamp(CharSequence text, int start) {
+        if (text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-' || text.charAt(start + 10) != ' '
+                || text.charAt(start + 13) != ':' || text.charAt(start + 16) != ':'
+                || (text.charAt(start + 19) != ',' && text.charAt(start + 19) != '.')) {
+            return false;
+        }
+        var year = digits(text, start, 4);
+        var month = digits(text, start + 5, 2);
+        var day = digits(text, start + 8, 2);
+        var hour = digits(text, start + 11, 2);
+        var minute = digits(text, start + 14, 2);
+        var second = digits(text, start + 17, 2);
+        var millis = digits(text, start + 20, 3);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || minute < 0 || second < 0 || millis < 0) {
+            return false;
+        }
+
+        timestamp = epochDay(year, month, day) * MILLIS_PER_DAY + ((hour * 60L + minute) * 60 + second) * 1000 + millis;
+        return true;
+    }
+
+    private static int digits(CharSequence text, int start, int count) {
+        var value = 0;
+        for (int i = start; i < start + count; i++) {
+            var c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Days since 1970-01-01 of the proleptic Gregorian date, see {@link java.time.LocalDate#toEpochDay()}
+     */
+    private static long epochDay(int year, int month, int day) {
+        var y = month <= 2 ? year - 1 : year;
+        var era = Math.floorDiv(y, 400);
+        var yearOfEra = y - era * 400;
+        var dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        var dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+
+    private static int skipSpaces(CharSequence text, int position, int end) {
+        while (position < end && text.charAt(position) == ' ') {
+            position++;
+        }
+        return position;
+    }
+
+    private static int indexOf(CharSequence text, char c, int position, int end) {
+        while (position < end && text.charAt(position) != c) {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean regionEquals(CharSequence text, int position, int end, String value) {
+        if (end - position < value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (text.charAt(position + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
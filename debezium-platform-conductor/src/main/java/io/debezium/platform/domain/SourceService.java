@@ -59,8 +59,7 @@ public class SourceService extends AbstractService<SourceEntity, Source, SourceR
     @Override
     @Transactional(Transactional.TxType.REQUIRED)
     public void onChange(Source source) {
-        pipelineService.findViewByReference(SOURCE_REFERENCE_ATTRIBUTE, source.getId())
-                .forEach(pipelineService::onChange);
+        pipelineService.onReferenceChange(source.getId(), SOURCE_REFERENCE_ATTRIBUTE);
     }
 
     public SignalDataCollectionVerifyResponse verifySignalDataCollection(SignalCollectionVerifyRequest signalCollectionVerifyRequest) {
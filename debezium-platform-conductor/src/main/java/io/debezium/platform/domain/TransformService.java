@@ -35,8 +35,7 @@ public class TransformService extends AbstractService<TransformEntity, Transform
     @Override
     @Transactional(Transactional.TxType.REQUIRED)
     public void onChange(Transform transform) {
-        pipelineService.findViewByReference(TRANSFORMS_REFERENCE_ATTRIBUTE, transform.getId())
-                .forEach(pipelineService::onChange);
+        pipelineService.onReferenceChange(transform.getId(), TRANSFORMS_REFERENCE_ATTRIBUTE);
     }
 
     @Transactional(SUPPORTS)
@@ -0,0 +1,48 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain.views;
+
+import java.time.Instant;
+
+import com.blazebit.persistence.view.CreatableEntityView;
+import com.blazebit.persistence.view.EntityView;
+import com.blazebit.persistence.view.UpdatableEntityView;
+
+import io.debezium.platform.data.model.OutboxDeadLetterEntity;
+import io.debezium.platform.domain.views.base.IdView;
+
+@EntityView(OutboxDeadLetterEntity.class)
+@CreatableEntityView
+@UpdatableEntityView
+public interface DeadLetter extends IdView {
+    String getAggregateType();
+
+    String getAggregateId();
+
+    String getEventType();
+
+    String getPayload();
+
+    String getError();
+
+    int getAttempts();
+
+    Instant getFailedAt();
+
+    void setAggregateType(String aggregateType);
+
+    void setAggregateId(String aggregateId);
+
+    void setEventType(String eventType);
+
+    void setPayload(String payload);
+
+    void setError(String error);
+
+    void setAttempts(int attempts);
+
+    void setFailedAt(Instant failedAt);
+}
@@ -9,6 +9,13 @@ public interface EnvironmentController {
 
     PipelineController pipelines();
 
+    /**
+     * Returns whether pipelines are deployed by this environment, otherwise {@link #pipelines()} must not be called
+     *
+     * @return {@code true} if the environment provides a {@link PipelineController}
+     */
+    boolean supportsPipelines();
+
     VaultController vaults();
 
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Priority of operations against the target environment, from the highest to the lowest.
+ * <p>
+ * Each {@link PipelineController} operation has a default priority (e.g. stopping a pipeline is a {@link #USER} operation
+ * while deploying it is driven by the outbox). Callers can override it for the operations they invoke on the current
+ * thread, e.g. bulk redeployments run as {@link #RECONCILE} so they don't delay interactive actions.
+ * </p>
+ */
+public enum OperationPriority {
+
+    /**
+     * Operations triggered directly by users, e.g. stopping a pipeline or sending a signal
+     */
+    USER,
+
+    /**
+     * Deployments driven by outbox events
+     */
+    OUTBOX,
+
+    /**
+     * Background reconciliation and bulk redeployments
+     */
+    RECONCILE;
+
+    private static final ThreadLocal<OperationPriority> CURRENT = new ThreadLocal<>();
+
+    /**
+     * @return priority set for the current thread, if any
+     */
+    public static Optional<OperationPriority> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Invokes the operations with this priority
+     *
+     * @param operations operations against the environment
+     * @return result of the operations
+     */
+    public <T> T call(Supplier<T> operations) {
+        var previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return operations.get();
+        }
+        finally {
+            if (previous == null) {
+                CURRENT.remove();
+            }
+            else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Invokes the operations with this priority
+     *
+     * @param operations operations against the environment
+     */
+    public void run(Runnable operations) {
+        call(() -> {
+            operations.run();
+            return null;
+        });
+    }
+}
@@ -5,6 +5,12 @@
  */
 package io.debezium.platform.environment;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 import io.debezium.platform.domain.Signal;
 import io.debezium.platform.domain.views.flat.PipelineFlat;
 import io.debezium.platform.environment.logs.LogReader;
@@ -25,6 +31,37 @@ public interface PipelineController {
      */
     void deploy(PipelineFlat pipeline);
 
+    /**
+     * Deploys the pipeline unless the target environment already runs its current state
+     * <p>
+     * Unlike {@link #deploy(PipelineFlat)} this is meant for reconciliation of the environment with the database,
+     * so it should be cheap for pipelines which are up to date.
+     * </p>
+     * <p>
+     * The pipeline may be changed and deployed through Outbox before the change is applied, so the applied state
+     * has to be reloaded right before the apply. Deploys of the same pipeline must not be applied concurrently.
+     * </p>
+     *
+     * @param pipeline the pipeline to deploy
+     * @param reload loads the current state of the pipeline with given id, empty if the pipeline no longer exists
+     * @return the change made to the target environment
+     */
+    SyncResult sync(PipelineFlat pipeline, Function<Long, Optional<PipelineFlat>> reload);
+
+    /**
+     * Syncs many pipelines at once, see {@link #sync(PipelineFlat, Function)}
+     * <p>
+     * The deployed state of all pipelines should be looked up at once, instead of one pipeline at a time.
+     * A failure to sync a single pipeline doesn't affect the others.
+     * </p>
+     *
+     * @param pipelines the pipelines to deploy
+     * @param maxConcurrency maximal number of pipelines deployed at the same time
+     * @param reload loads the current state of the pipeline with given id, empty if the pipeline no longer exists
+     * @return the change made to each pipeline by pipeline id, {@link SyncResult#FAILED} for pipelines which could not be synced
+     */
+    Map<Long, SyncResult> sync(List<PipelineFlat> pipelines, int maxConcurrency, Function<Long, Optional<PipelineFlat>> reload);
+
     /**
      * Undeploys the pipeline with given id from target environment
      * <p>
@@ -59,4 +96,47 @@ public interface PipelineController {
     LogReader logReader(Long id);
 
     void sendSignal(Long pipelineId, Signal signal);
+
+    /**
+     * Returns the runtime status of all pipelines deployed in the target environment.
+     * <p>
+     * The status should be served from memory where possible, as it's requested for the whole fleet at once.
+     * </p>
+     *
+     * @return status of deployed pipelines by pipeline id
+     */
+    Map<Long, PipelineStatus> status();
+
+    /**
+     * Returns the runtime status of the pipeline with given id
+     *
+     * @param id the pipeline id
+     * @return status of the pipeline, or empty if the pipeline is not deployed
+     */
+    Optional<PipelineStatus> status(Long id);
+
+    /**
+     * Returns whether the deployed state of pipelines is known, e.g. the caches of the target environment have synced
+     *
+     * @return {@code true} if the controller is ready to serve the deployed state of pipelines
+     */
+    boolean isSynced();
+
+    /**
+     * Registers a listener notified with the ids of pipelines whose status might have changed.
+     * The listener must not block.
+     *
+     * @param listener consumer of pipeline ids
+     */
+    void addStatusListener(Consumer<Long> listener);
+
+    /**
+     * Change made to the target environment by {@link #sync(PipelineFlat, Function)}
+     */
+    enum SyncResult {
+        CREATED,
+        UPDATED,
+        UNCHANGED,
+        FAILED
+    }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment;
+
+import java.time.Instant;
+
+/**
+ * Runtime status of a pipeline in the target environment
+ *
+ * @param id pipeline id
+ * @param name pipeline name
+ * @param state state of the pipeline
+ * @param replicas number of desired replicas, {@code null} if unknown
+ * @param readyReplicas number of ready replicas, {@code null} if unknown
+ * @param lastTransition time of the last state transition, {@code null} if unknown
+ * @param message description of the state, e.g. the reason of a failure
+ */
+public record PipelineStatus(Long id,
+                             String name,
+                             State state,
+                             Integer replicas,
+                             Integer readyReplicas,
+                             Instant lastTransition,
+                             String message) {
+
+    public enum State {
+        READY,
+        PENDING,
+        STOPPED,
+        FAILED,
+        NOT_DEPLOYED
+    }
+
+    public static PipelineStatus notDeployed(Long id, String name) {
+        return new PipelineStatus(id, name, State.NOT_DEPLOYED, null, null, null, null);
+    }
+
+    public PipelineStatus withName(String name) {
+        return new PipelineStatus(id, name, state, replicas, readyReplicas, lastTransition, message);
+    }
+}
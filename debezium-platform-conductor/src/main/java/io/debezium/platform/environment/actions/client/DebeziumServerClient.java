@@ -16,6 +16,10 @@ import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 import io.debezium.platform.domain.Signal;
 import io.quarkus.rest.client.reactive.Url;
 
+/**
+ * REST client of the Debezium Server API. The target instance is given by the {@link Url} of each call,
+ * connections are pooled and kept alive per instance (see {@code quarkus.rest-client.debezium-server-api}).
+ */
 @Path("/api")
 @RegisterRestClient(configKey = "debezium-server-api")
 public interface DebeziumServerClient {
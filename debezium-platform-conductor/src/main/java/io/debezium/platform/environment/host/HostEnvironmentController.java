@@ -53,6 +53,12 @@ public class HostEnvironmentController implements EnvironmentController {
                 "Host pipeline controller not yet implemented");
     }
 
+    @Override
+    public boolean supportsPipelines() {
+        // TODO: Return true once HostPipelineController is implemented
+        return false;
+    }
+
     @Override
     public VaultController vaults() {
         return vaultController;
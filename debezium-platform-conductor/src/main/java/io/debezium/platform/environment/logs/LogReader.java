@@ -9,6 +9,8 @@ import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.IOException;
 
+import io.smallrye.mutiny.Multi;
+
 public interface LogReader extends Closeable {
 
     /**
@@ -30,17 +32,16 @@ public interface LogReader extends Closeable {
     BufferedReader reader() throws IOException;
 
     /**
-     * Reads a single line from the log.
+     * Streams live logs, emitting each line as soon as it's written.
      * <p>
-     * This method is a shortcut for calling {@link #reader()} and then {@link BufferedReader#readLine()}.
-     * <br>
-     * Note that if this method is called, the reader must be closed by calling {@link #close()}.
+     * Lines are read only as requested by the subscriber. Reading the underlying stream blocks, the subscription
+     * should therefore be moved off the event loop, e.g. with {@link Multi#runSubscriptionOn(java.util.concurrent.Executor)}.
+     * The stream completes once the log ends and the reader is closed once the stream terminates or is cancelled.
      * </p>
      *
-     * @return the line read from the log, or {@code null} if the end of the stream has been reached
-     * @throws IOException if an I/O error occurs
+     * @return stream of log lines
      */
-    String readLine() throws IOException;
+    Multi<String> stream();
 
     /**
      * Closes the log reader and releases any resources associated
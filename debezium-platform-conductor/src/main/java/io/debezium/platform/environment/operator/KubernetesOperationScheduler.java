@@ -0,0 +1,279 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.debezium.DebeziumException;
+import io.debezium.platform.environment.OperationPriority;
+import io.debezium.platform.environment.TokenBucket;
+import io.debezium.platform.environment.operator.configuration.OperatorConfigGroup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Schedules operations against the Kubernetes API by their {@link OperationPriority}.
+ * <br>
+ *
+ * Each priority has its own lane. Operations are started one at a time by a single dispatcher thread, at most
+ * {@code conductor.operator.scheduler.rate-limit.permits-per-second} per second across all lanes
+ * (see {@link TokenBucket}). Whenever an operation can be started, the oldest operation of the highest priority
+ * lane is chosen, so user actions never wait behind a queue of background redeployments. The operation itself
+ * runs on the calling thread once it's its turn.
+ * <br>
+ *
+ * The priority is taken from {@link OperationPriority#current()} and falls back to the default priority of the operation.
+ * The following metrics are tagged by lane:
+ * <ul>
+ *     <li>{@code conductor.kubernetes.scheduler.queue.depth} - number of operations waiting to be started</li>
+ *     <li>{@code conductor.kubernetes.scheduler.wait} - time operations waited to be started</li>
+ *     <li>{@code conductor.kubernetes.scheduler.operations} - number of completed operations by outcome</li>
+ * </ul>
+ */
+@ApplicationScoped
+public class KubernetesOperationScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KubernetesOperationScheduler.class);
+
+    public static final String QUEUE_DEPTH_GAUGE = "conductor.kubernetes.scheduler.queue.depth";
+    public static final String WAIT_TIMER = "conductor.kubernetes.scheduler.wait";
+    public static final String OPERATIONS_COUNTER = "conductor.kubernetes.scheduler.operations";
+
+    private final boolean enabled;
+    private final TokenBucket rateLimiter;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition queued = lock.newCondition();
+    private final Map<OperationPriority, Lane> lanes = new EnumMap<>(OperationPriority.class);
+
+    private Thread dispatcher;
+    private boolean closed;
+
+    @Inject
+    public KubernetesOperationScheduler(OperatorConfigGroup operatorConfig, MeterRegistry registry) {
+        this(operatorConfig.scheduler().enabled(),
+                new TokenBucket(operatorConfig.scheduler().rateLimit().permitsPerSecond(), operatorConfig.scheduler().rateLimit().burst()),
+                registry);
+    }
+
+    KubernetesOperationScheduler(boolean enabled, TokenBucket rateLimiter, MeterRegistry registry) {
+        this.enabled = enabled;
+        this.rateLimiter = rateLimiter;
+        for (var priority : OperationPriority.values()) {
+            lanes.put(priority, new Lane(priority, registry));
+        }
+    }
+
+    /**
+     * Runs the operation once it's its turn
+     *
+     * @param defaultPriority priority used unless the caller set one, see {@link OperationPriority#current()}
+     * @param operation operation against the Kubernetes API
+     * @return result of the operation
+     * @throws DebeziumException if interrupted while waiting for the turn
+     */
+    public <T> T call(OperationPriority defaultPriority, Supplier<T> operation) {
+        if (!enabled) {
+            return operation.get();
+        }
+
+        var lane = lanes.get(OperationPriority.current().orElse(defaultPriority));
+        awaitTurn(lane);
+        try {
+            var result = operation.get();
+            lane.succeeded.increment();
+            return result;
+        }
+        catch (RuntimeException e) {
+            lane.failed.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the operation once it's its turn
+     *
+     * @param defaultPriority priority used unless the caller set one, see {@link OperationPriority#current()}
+     * @param operation operation against the Kubernetes API
+     * @throws DebeziumException if interrupted while waiting for the turn
+     */
+    public void run(OperationPriority defaultPriority, Runnable operation) {
+        call(defaultPriority, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return number of operations waiting to be started with the given priority
+     */
+    public int queueDepth(OperationPriority priority) {
+        lock.lock();
+        try {
+            return lanes.get(priority).waiting.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitTurn(Lane lane) {
+        var ticket = new Ticket();
+        lock.lock();
+        try {
+            if (closed) {
+                throw new DebeziumException("Kubernetes operation scheduler is closed");
+            }
+            startDispatcher();
+            lane.waiting.addLast(ticket);
+            queued.signal();
+        }
+        finally {
+            lock.unlock();
+        }
+
+        try {
+            ticket.granted.await();
+        }
+        catch (InterruptedException e) {
+            lock.lock();
+            try {
+                lane.waiting.remove(ticket);
+            }
+            finally {
+                lock.unlock();
+            }
+            Thread.currentThread().interrupt();
+            throw new DebeziumException("Interrupted while waiting to run Kubernetes operation", e);
+        }
+        lane.waitTime.record(System.nanoTime() - ticket.queuedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private void startDispatcher() {
+        if (dispatcher == null) {
+            dispatcher = Thread.ofPlatform()
+                    .name("kubernetes-operation-scheduler")
+                    .daemon()
+                    .start(this::dispatch);
+            LOGGER.info("Started Kubernetes operation scheduler");
+        }
+    }
+
+    private void dispatch() {
+        try {
+            while (true) {
+                awaitQueued();
+                // the token is taken before choosing the operation, so operations queued meanwhile are considered
+                rateLimiter.acquire();
+                grantNext();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitQueued() throws InterruptedException {
+        lock.lock();
+        try {
+            while (lanes.values().stream().allMatch(lane -> lane.waiting.isEmpty())) {
+                queued.await();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void grantNext() {
+        lock.lock();
+        try {
+            // lanes are ordered by priority
+            for (var lane : lanes.values()) {
+                var next = lane.waiting.pollFirst();
+                if (next != null) {
+                    next.granted.countDown();
+                    return;
+                }
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private final class Lane {
+
+        private final Deque<Ticket> waiting = new ArrayDeque<>();
+        private final Timer waitTime;
+        private final Counter succeeded;
+        private final Counter failed;
+
+        private Lane(OperationPriority priority, MeterRegistry registry) {
+            var lane = priority.name().toLowerCase();
+            Gauge.builder(QUEUE_DEPTH_GAUGE, KubernetesOperationScheduler.this, scheduler -> scheduler.queueDepth(priority))
+                    .description("Number of Kubernetes operations waiting to be started")
+                    .tag("lane", lane)
+                    .register(registry);
+            this.waitTime = Timer.builder(WAIT_TIMER)
+                    .description("Time Kubernetes operations waited to be started")
+                    .tag("lane", lane)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.succeeded = operationsCounter(registry, lane, "success");
+            this.failed = operationsCounter(registry, lane, "failure");
+        }
+
+        private static Counter operationsCounter(MeterRegistry registry, String lane, String outcome) {
+            return Counter.builder(OPERATIONS_COUNTER)
+                    .description("Number of completed Kubernetes operations")
+                    .tag("lane", lane)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+
+    private static final class Ticket {
+
+        private final long queuedAt = System.nanoTime();
+        private final CountDownLatch granted = new CountDownLatch(1);
+    }
+
+    @PreDestroy
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            if (dispatcher != null) {
+                dispatcher.interrupt();
+            }
+            // let waiting callers proceed, the client decides whether the operation can still be run
+            lanes.values().forEach(lane -> {
+                lane.waiting.forEach(ticket -> ticket.granted.countDown());
+                lane.waiting.clear();
+            });
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+}
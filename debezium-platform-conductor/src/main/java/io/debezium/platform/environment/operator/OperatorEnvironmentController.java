@@ -39,6 +39,11 @@ public class OperatorEnvironmentController implements EnvironmentController {
         return pipelineController;
     }
 
+    @Override
+    public boolean supportsPipelines() {
+        return true;
+    }
+
     @Override
     public VaultController vaults() {
         return vaultController;
@@ -5,7 +5,17 @@
  */
 package io.debezium.platform.environment.operator;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import jakarta.enterprise.context.Dependent;
 
@@ -16,7 +26,9 @@ import io.debezium.DebeziumException;
 import io.debezium.operator.api.model.DebeziumServer;
 import io.debezium.platform.domain.Signal;
 import io.debezium.platform.domain.views.flat.PipelineFlat;
+import io.debezium.platform.environment.OperationPriority;
 import io.debezium.platform.environment.PipelineController;
+import io.debezium.platform.environment.PipelineStatus;
 import io.debezium.platform.environment.logs.LogReader;
 import io.debezium.platform.environment.operator.actions.DebeziumKubernetesAdapter;
 import io.debezium.platform.environment.operator.actions.DebeziumServerProxy;
@@ -29,16 +41,25 @@ public class OperatorPipelineController implements PipelineController {
 
     public static final String LABEL_DBZ_CONDUCTOR_ID = "debezium.io/conductor-id";
 
+    private static final int DEPLOY_LOCK_STRIPES = 64;
+
     private final DebeziumKubernetesAdapter kubernetesAdapter;
     private final DebeziumServerProxy debeziumServerProxy;
     private final PipelineMapper pipelineMapper;
+    private final KubernetesOperationScheduler scheduler;
+    private final ReentrantLock[] deployLocks = new ReentrantLock[DEPLOY_LOCK_STRIPES];
 
     public OperatorPipelineController(DebeziumKubernetesAdapter kubernetesAdapter,
                                       PipelineMapper pipelineMapper,
-                                      DebeziumServerProxy debeziumServerProxy) {
+                                      DebeziumServerProxy debeziumServerProxy,
+                                      KubernetesOperationScheduler scheduler) {
         this.kubernetesAdapter = kubernetesAdapter;
         this.pipelineMapper = pipelineMapper;
         this.debeziumServerProxy = debeziumServerProxy;
+        this.scheduler = scheduler;
+        for (var i = 0; i < deployLocks.length; i++) {
+            deployLocks[i] = new ReentrantLock();
+        }
     }
 
     @Override
@@ -48,22 +69,163 @@ public class OperatorPipelineController implements PipelineController {
 
         LOGGER.debug("Going to deploy resource {}", ds);
         // apply to server
-        kubernetesAdapter.deployPipeline(ds);
+        scheduler.run(OperationPriority.OUTBOX, () -> runLocked(pipeline.getId(), () -> kubernetesAdapter.deployPipeline(ds)));
+    }
+
+    /**
+     * Deploys the pipeline with {@link OperationPriority#RECONCILE} priority, unless the spec of its DebeziumServer
+     * resource is unchanged. The check is done against the informer cache, before the operation is scheduled.
+     * <p>
+     * Stopped pipelines are left untouched, since the stop is not recorded in the database and applying
+     * the resource would start them again.
+     * </p>
+     * <p>
+     * The given pipeline may have been changed and deployed from the outbox while the operation waited for its turn,
+     * so once it's granted the current state of the pipeline is reloaded and applied instead.
+     * </p>
+     */
+    @Override
+    public SyncResult sync(PipelineFlat pipeline, Function<Long, Optional<PipelineFlat>> reload) {
+        var deployed = kubernetesAdapter.findAssociatedDebeziumServer(pipeline.getId()).orElse(null);
+        return changed(pipeline, deployed)
+                .map(ds -> applyCurrent(new Change(pipeline, deployed != null), OperationPriority.RECONCILE, reload))
+                .orElse(SyncResult.UNCHANGED);
+    }
+
+    /**
+     * Lists the DebeziumServer resources of all clusters once, then maps the pipelines in parallel and applies
+     * the changed ones on virtual threads, see {@link #sync(PipelineFlat, Function)}.
+     */
+    @Override
+    public Map<Long, SyncResult> sync(List<PipelineFlat> pipelines, int maxConcurrency, Function<Long, Optional<PipelineFlat>> reload) {
+        var deployed = kubernetesAdapter.findAssociatedDebeziumServers();
+        var results = new ConcurrentHashMap<Long, SyncResult>();
+
+        // mapping is CPU bound, only resources which changed have to wait for the API server
+        var changes = pipelines.parallelStream()
+                .flatMap(pipeline -> {
+                    try {
+                        var current = deployed.get(pipeline.getId());
+                        var change = changed(pipeline, current).map(ds -> new Change(pipeline, current != null));
+                        if (change.isEmpty()) {
+                            results.put(pipeline.getId(), SyncResult.UNCHANGED);
+                        }
+                        return change.stream();
+                    }
+                    catch (RuntimeException e) {
+                        LOGGER.error("Failed to map pipeline {} (#{})", pipeline.getName(), pipeline.getId(), e);
+                        results.put(pipeline.getId(), SyncResult.FAILED);
+                        return Stream.empty();
+                    }
+                })
+                .toList();
+
+        var priority = OperationPriority.current().orElse(OperationPriority.RECONCILE);
+        var permits = new Semaphore(maxConcurrency);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var change : changes) {
+                executor.execute(() -> results.put(change.pipeline().getId(), apply(change, priority, permits, reload)));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return resource to apply, empty if the deployed resource is up to date or the pipeline is stopped
+     */
+    private Optional<DebeziumServer> changed(PipelineFlat pipeline, DebeziumServer deployed) {
+        if (deployed != null && deployed.isStopped()) {
+            return Optional.empty();
+        }
+
+        var ds = pipelineMapper.map(pipeline);
+        if (deployed != null && kubernetesAdapter.isUpToDate(ds, deployed)) {
+            return Optional.empty();
+        }
+        return Optional.of(ds);
+    }
+
+    private SyncResult apply(Change change, OperationPriority priority, Semaphore permits, Function<Long, Optional<PipelineFlat>> reload) {
+        try {
+            permits.acquire();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return SyncResult.FAILED;
+        }
+
+        try {
+            return applyCurrent(change, priority, reload);
+        }
+        catch (RuntimeException e) {
+            LOGGER.error("Failed to sync pipeline {} (#{})", change.pipeline().getName(), change.pipeline().getId(), e);
+            return SyncResult.FAILED;
+        }
+        finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Applies the current state of the changed pipeline once it's its turn. The pipeline is reloaded while holding
+     * its deploy lock, so an older state can't overwrite the one deployed from the outbox meanwhile.
+     *
+     * @return {@link SyncResult#UNCHANGED} if the pipeline was deleted meanwhile, its undeploy is left to the outbox
+     */
+    private SyncResult applyCurrent(Change change, OperationPriority priority, Function<Long, Optional<PipelineFlat>> reload) {
+        var id = change.pipeline().getId();
+        return scheduler.call(priority, () -> callLocked(id, () -> {
+            var current = reload.apply(id);
+            if (current.isEmpty()) {
+                LOGGER.debug("Pipeline {} was deleted before it could be synced", id);
+                return SyncResult.UNCHANGED;
+            }
+
+            var ds = pipelineMapper.map(current.get());
+            LOGGER.debug("Going to sync resource {}", ds);
+            kubernetesAdapter.deployPipeline(ds);
+            return change.deployed() ? SyncResult.UPDATED : SyncResult.CREATED;
+        }));
+    }
+
+    /**
+     * Runs the operation while holding the deploy lock of the pipeline, so deploys of the same pipeline
+     * are applied one at a time. Pipelines share {@value #DEPLOY_LOCK_STRIPES} locks.
+     */
+    private <T> T callLocked(Long pipelineId, Supplier<T> operation) {
+        var lock = deployLocks[Math.floorMod(pipelineId.hashCode(), deployLocks.length)];
+        lock.lock();
+        try {
+            return operation.get();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void runLocked(Long pipelineId, Runnable operation) {
+        callLocked(pipelineId, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    private record Change(PipelineFlat pipeline, boolean deployed) {
     }
 
     @Override
     public void undeploy(Long pipelineId) {
-        kubernetesAdapter.undeployPipeline(pipelineId);
+        scheduler.run(OperationPriority.OUTBOX, () -> runLocked(pipelineId, () -> kubernetesAdapter.undeployPipeline(pipelineId)));
     }
 
     @Override
     public void stop(Long id) {
-        kubernetesAdapter.changeStatus(id, true);
+        scheduler.run(OperationPriority.USER, () -> kubernetesAdapter.changeStatus(id, true));
     }
 
     @Override
     public void start(Long id) {
-        kubernetesAdapter.changeStatus(id, false);
+        scheduler.run(OperationPriority.USER, () -> kubernetesAdapter.changeStatus(id, false));
     }
 
     public Optional<DebeziumServer> findById(Long id) {
@@ -78,9 +240,29 @@ public class OperatorPipelineController implements PipelineController {
     @Override
     public void sendSignal(Long pipelineId, Signal signal) {
         findById(pipelineId).ifPresentOrElse(
-                debeziumServer -> debeziumServerProxy.sendSignal(signal, debeziumServer),
+                debeziumServer -> scheduler.run(OperationPriority.USER, () -> debeziumServerProxy.sendSignal(signal, debeziumServer)),
                 () -> {
                     throw new DebeziumException(String.format("Pipeline with id %s not found", pipelineId));
                 });
     }
+
+    @Override
+    public Map<Long, PipelineStatus> status() {
+        return kubernetesAdapter.findPipelineStatuses();
+    }
+
+    @Override
+    public Optional<PipelineStatus> status(Long id) {
+        return kubernetesAdapter.findPipelineStatus(id);
+    }
+
+    @Override
+    public boolean isSynced() {
+        return kubernetesAdapter.isCacheSynced();
+    }
+
+    @Override
+    public void addStatusListener(Consumer<Long> listener) {
+        kubernetesAdapter.addPipelineStatusListener(listener);
+    }
 }
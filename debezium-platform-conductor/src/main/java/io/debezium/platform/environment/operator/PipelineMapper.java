@@ -12,9 +12,11 @@ import static io.debezium.platform.environment.database.DatabaseConnectionConfig
 import static io.debezium.platform.environment.database.DatabaseConnectionConfiguration.USERNAME;
 import static io.debezium.platform.environment.database.DatabaseConnectionFactory.DATABASE_CONNECTION_CONFIGURATION_PREFIX;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import jakarta.enterprise.context.ApplicationScoped;
@@ -41,6 +43,7 @@ import io.debezium.operator.api.model.source.SchemaHistory;
 import io.debezium.operator.api.model.source.SchemaHistoryBuilder;
 import io.debezium.operator.api.model.source.Source;
 import io.debezium.operator.api.model.source.SourceBuilder;
+import io.debezium.operator.api.model.source.storage.CustomStore;
 import io.debezium.operator.api.model.source.storage.CustomStoreBuilder;
 import io.debezium.platform.config.PipelineConfigGroup;
 import io.debezium.platform.data.model.ConnectionEntity;
@@ -49,6 +52,15 @@ import io.debezium.platform.domain.views.flat.PipelineFlat;
 import io.debezium.platform.environment.operator.configuration.TableNameResolver;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 
+/**
+ * Maps pipelines to {@link DebeziumServer} resources.
+ * <br>
+ *
+ * Parts of the resource which don't depend on the pipeline (the runtime, offset and schema history stores) are
+ * prepared once from {@link PipelineConfigGroup}, only the values containing {@code @{pipeline_name}} placeholders
+ * are resolved for each pipeline. Resolved sink types and log category keys are memoized as well, so mapping many
+ * pipelines (e.g. during bulk deployments) only pays for the pipeline specific parts.
+ */
 @ApplicationScoped
 public class PipelineMapper {
 
@@ -83,20 +95,29 @@ public class PipelineMapper {
     final TableNameResolver tableNameResolver;
     final Metrics metrics;
 
+    private final Runtime runtime;
+    private final StoreTemplate offsetTemplate;
+    private final StoreTemplate schemaHistoryTemplate;
+    private final Map<String, String> sinkTypes = new ConcurrentHashMap<>();
+    private final Map<String, String> logCategoryKeys = new ConcurrentHashMap<>();
+
     public PipelineMapper(PipelineConfigGroup pipelineConfigGroup,
                           TableNameResolver tableNameResolver,
                           Metrics metrics) {
         this.pipelineConfigGroup = pipelineConfigGroup;
         this.tableNameResolver = tableNameResolver;
         this.metrics = metrics;
+        this.runtime = createRuntime();
+        this.offsetTemplate = createStoreTemplate(
+                pipelineConfigGroup.offset().storage().type(), pipelineConfigGroup.offset().storage().config());
+        this.schemaHistoryTemplate = createStoreTemplate(
+                pipelineConfigGroup.schema().internal(), pipelineConfigGroup.schema().config());
     }
 
     public DebeziumServer map(PipelineFlat pipeline) {
 
         var dsQuarkus = createQuarkus(pipeline);
 
-        var dsRuntime = createRuntime();
-
         var dsSource = createSource(pipeline);
 
         var dsSink = createSink(pipeline);
@@ -113,7 +134,7 @@ public class PipelineMapper {
 
         var specBuilder = new DebeziumServerSpecBuilder()
                 .withQuarkus(dsQuarkus)
-                .withRuntime(dsRuntime)
+                .withRuntime(runtime)
                 .withSource(dsSource)
                 .withSink(dsSink)
                 .withTransforms(transformations)
@@ -173,7 +194,7 @@ public class PipelineMapper {
         sinkConfig.setAllProps(sink.getConfig());
 
         return new SinkBuilder()
-                .withType(resolveSinkType(sink.getType()))
+                .withType(sinkType(sink.getType()))
                 .withConfig(sinkConfig)
                 .build();
     }
@@ -217,6 +238,13 @@ public class PipelineMapper {
         return DEBEZIUM_DATABASE_NAME_CONFIG;
     }
 
+    private String sinkType(String type) {
+        if (type == null) {
+            return null;
+        }
+        return sinkTypes.computeIfAbsent(type, PipelineMapper::resolveSinkType);
+    }
+
     /**
      * Resolves the Debezium Server sink type from a fully qualified class name to the short
      * {@code @Named} identifier expected by {@code debezium.sink.type}.
@@ -280,7 +308,7 @@ public class PipelineMapper {
     private Map<String, Object> extractCategoriesLogs(PipelineFlat pipeline) {
         return pipeline.getLogLevels().entrySet().stream()
                 .collect(Collectors.toMap(
-                        entry -> toQuarkusFormat(entry.getKey()),
+                        entry -> logCategoryKeys.computeIfAbsent(entry.getKey(), PipelineMapper::toQuarkusFormat),
                         Map.Entry::getValue,
                         (v1, v2) -> v1,
                         HashMap::new));
@@ -323,39 +351,50 @@ public class PipelineMapper {
     }
 
     private SchemaHistory getSchemaHistory(PipelineFlat pipeline) {
+        return new SchemaHistoryBuilder().withStore(schemaHistoryTemplate.build(pipeline, tableNameResolver)).build();
+    }
 
-        var pipelineSchemaHistoryConfigs = pipelineConfigGroup.schema().config();
-        var schemaHistoryType = pipelineConfigGroup.schema().internal();
+    private Offset getOffset(PipelineFlat pipeline) {
+        return new OffsetBuilder().withStore(offsetTemplate.build(pipeline, tableNameResolver)).build();
+    }
 
-        Map<String, String> schemaHistoryStorageConfigs = new HashMap<>(pipelineSchemaHistoryConfigs);
-        ConfigProperties schemaHistoryProps = new ConfigProperties();
-        schemaHistoryStorageConfigs.forEach(schemaHistoryProps::setProps);
+    private StoreTemplate createStoreTemplate(String type, Map<String, String> storageConfigs) {
+        Map<String, String> config = new HashMap<>(storageConfigs);
+        Map<String, String> pipelineSpecificConfig = new HashMap<>();
 
-        RESOLVABLE_CONFIGS.forEach(
-                prop -> schemaHistoryProps.setProps(prop, tableNameResolver.resolve(pipeline, schemaHistoryStorageConfigs.get(prop))));
+        for (var prop : RESOLVABLE_CONFIGS) {
+            var value = storageConfigs.get(prop);
+            if (tableNameResolver.isPipelineSpecific(value)) {
+                config.remove(prop);
+                pipelineSpecificConfig.put(prop, value);
+            }
+            else {
+                config.put(prop, tableNameResolver.resolve(value));
+            }
+        }
 
-        return new SchemaHistoryBuilder().withStore(new CustomStoreBuilder()
-                .withType(schemaHistoryType)
-                .withConfig(schemaHistoryProps)
-                .build()).build();
+        return new StoreTemplate(type, Collections.unmodifiableMap(config), Map.copyOf(pipelineSpecificConfig));
     }
 
-    private Offset getOffset(PipelineFlat pipeline) {
-
-        var pipelineOffsetConfigs = pipelineConfigGroup.offset().storage().config();
-        var offsetType = pipelineConfigGroup.offset().storage().type();
-
-        Map<String, String> offsetStorageConfigs = new HashMap<>(pipelineOffsetConfigs);
-        ConfigProperties offsetStorageProps = new ConfigProperties();
-        offsetStorageConfigs.forEach(offsetStorageProps::setProps);
+    /**
+     * Custom store configuration with the pipeline independent values already resolved
+     *
+     * @param type the store type
+     * @param config resolved configuration values
+     * @param pipelineSpecificConfig configuration values containing placeholders resolved for each pipeline
+     */
+    private record StoreTemplate(String type, Map<String, String> config, Map<String, String> pipelineSpecificConfig) {
 
-        RESOLVABLE_CONFIGS.forEach(
-                prop -> offsetStorageProps.setProps(prop, tableNameResolver.resolve(pipeline, pipelineOffsetConfigs.get(prop))));
+        CustomStore build(PipelineFlat pipeline, TableNameResolver tableNameResolver) {
+            ConfigProperties props = new ConfigProperties();
+            config.forEach(props::setProps);
+            pipelineSpecificConfig.forEach((prop, value) -> props.setProps(prop, tableNameResolver.resolve(pipeline, value)));
 
-        return new OffsetBuilder().withStore(new CustomStoreBuilder()
-                .withType(offsetType)
-                .withConfig(offsetStorageProps)
-                .build()).build();
+            return new CustomStoreBuilder()
+                    .withType(type)
+                    .withConfig(props)
+                    .build();
+        }
     }
 
     private static String toQuarkusFormat(String key) {
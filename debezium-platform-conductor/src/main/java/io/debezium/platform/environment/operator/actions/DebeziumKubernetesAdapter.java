@@ -5,8 +5,12 @@
  */
 package io.debezium.platform.environment.operator.actions;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import jakarta.enterprise.context.ApplicationScoped;
 
@@ -14,11 +18,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.debezium.operator.api.model.DebeziumServer;
+import io.debezium.platform.environment.PipelineStatus;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
-import io.fabric8.kubernetes.api.model.Service;
-import io.fabric8.kubernetes.api.model.ServiceList;
-import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.client.dsl.TailPrettyLoggable;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Adapter class for interacting with Kubernetes resources related to Debezium Server instances.
@@ -28,22 +35,34 @@ import io.fabric8.kubernetes.client.dsl.TailPrettyLoggable;
  * within a Kubernetes cluster. It encapsulates the underlying Kubernetes client implementation
  * and exposes a decoupled API for Debezium-specific operations.
  * </p>
+ * <p>
+ * When the conductor manages several clusters, each pipeline is deployed to the cluster it's placed in
+ * (see {@link KubernetesClusters}) and all other operations are routed to that cluster.
+ * </p>
  */
 @ApplicationScoped
 public class DebeziumKubernetesAdapter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DebeziumKubernetesAdapter.class);
 
-    private static final String DEBEZIUM_IO_CLASSIFIER_LABEL = "debezium.io/classifier";
-    private static final String DEBEZIUM_IO_INSTANCE_LABEL = "debezium.io/instance";
     private static final String LABEL_DBZ_CONDUCTOR_ID = "debezium.io/conductor-id";
-    private static final String API_CLASSIFIER = "api";
-    private static final String SERVICE_URL_FORMAT = "http://%s:%s";
+    private static final String APPLY_TIMER = "conductor.kubernetes.apply";
+    private static final String APPLY_SKIPPED_COUNTER = "conductor.kubernetes.apply.skipped";
 
-    private final KubernetesClient kubernetesClient;
+    private final KubernetesClusters clusters;
+    private final KubernetesSerialization serialization;
+    private final PipelineStatusResolver statusResolver;
+    private final Counter skippedApplies;
+    // hashes of the specs applied by this replica, the informer caches may not have seen the last apply yet
+    private final Map<Long, String> appliedHashes = new ConcurrentHashMap<>();
 
-    public DebeziumKubernetesAdapter(KubernetesClient kubernetesClient) {
-        this.kubernetesClient = kubernetesClient;
+    public DebeziumKubernetesAdapter(KubernetesClusters clusters, MeterRegistry registry) {
+        this.clusters = clusters;
+        this.serialization = clusters.defaultCluster().client().getKubernetesSerialization();
+        this.statusResolver = new PipelineStatusResolver(serialization);
+        this.skippedApplies = Counter.builder(APPLY_SKIPPED_COUNTER)
+                .description("Number of pipeline deployments skipped since the resource was already up to date")
+                .register(registry);
     }
 
     /**
@@ -51,7 +70,7 @@ public class DebeziumKubernetesAdapter {
      * <p>
      * This method searches for a Kubernetes service in the specified namespace that has the appropriate
      * labels matching the Debezium Server instance. It then constructs a URL using the service name
-     * and port number.
+     * and port number. Resolved URLs are cached by the {@link ServiceEndpointCache} of the cluster running the instance.
      * </p>
      *
      * @param debeziumServerAttributes The attributes of the Debezium Server instance, including namespace and name.
@@ -59,31 +78,7 @@ public class DebeziumKubernetesAdapter {
      *         service is found or if the service configuration is incomplete.
      */
     Optional<String> getServiceApiBaseUrl(DebeziumServerAttributes debeziumServerAttributes) {
-
-        var requiredLabels = Map.of(
-                DEBEZIUM_IO_CLASSIFIER_LABEL, API_CLASSIFIER,
-                DEBEZIUM_IO_INSTANCE_LABEL, debeziumServerAttributes.name());
-
-        ServiceList apiServices = kubernetesClient.services()
-                .inNamespace(debeziumServerAttributes.namespace())
-                .withLabels(requiredLabels)
-                .list();
-
-        if (apiServices.getItems().isEmpty()) {
-            LOGGER.error("No service found in the ns {} with labels {}", debeziumServerAttributes.namespace(), requiredLabels);
-            return Optional.empty();
-        }
-
-        Service apiService = apiServices.getItems().getFirst();
-
-        if (apiService.getSpec().getPorts().isEmpty()) {
-            LOGGER.error("Found service {} in the ns {} without any ports", apiService.getMetadata().getName(), debeziumServerAttributes.namespace());
-            return Optional.empty();
-        }
-
-        var port = apiService.getSpec().getPorts().getFirst().getPort();
-
-        return Optional.of(String.format(SERVICE_URL_FORMAT, apiService.getMetadata().getName(), port));
+        return clusters.owning(debeziumServerAttributes).serviceEndpoints().findApiBaseUrl(debeziumServerAttributes);
     }
 
     /**
@@ -91,47 +86,206 @@ public class DebeziumKubernetesAdapter {
      * <p>
      * This method applies the provided DebeziumServer resource to the Kubernetes cluster
      * using server-side apply, which creates or updates the resource as needed.
+     * The hash of the resource spec is stored in the {@value SpecHash#SPEC_HASH_ANNOTATION} annotation
+     * and the apply is skipped when the deployed resource already carries the same hash and the last apply
+     * of this replica was made with that hash too. As the cached resource may lag behind the last apply,
+     * the resource is applied whenever this replica has not applied the same spec before, e.g. after a restart.
+     * Pipelines deployed for the first time are placed in one of the clusters, see {@link KubernetesClusters#place(Long)}.
      * </p>
      *
      * @param debeziumServer The DebeziumServer resource to deploy.
      */
+    @Timed(value = APPLY_TIMER, extraTags = { "operation", "deploy" }, histogram = true, description = "Time spent applying pipeline resources to Kubernetes")
     public void deployPipeline(DebeziumServer debeziumServer) {
+        var hash = SpecHash.of(serialization, debeziumServer);
+        var pipelineId = pipelineId(debeziumServer);
+        var cluster = pipelineId.map(clusters::place).orElseGet(clusters::defaultCluster);
+
+        var lastApplied = pipelineId.map(appliedHashes::get).filter(hash::equals);
+        var deployed = lastApplied.flatMap(applied -> cluster.debeziumServers().findByPipelineId(pipelineId.get()));
+        if (deployed.map(SpecHash::applied).filter(hash::equals).isPresent()) {
+            LOGGER.debug("DebeziumServer {} is up to date, skipping apply", debeziumServer.getMetadata().getName());
+            skippedApplies.increment();
+            return;
+        }
+
+        var annotations = new HashMap<String, String>();
+        Optional.ofNullable(debeziumServer.getMetadata().getAnnotations()).ifPresent(annotations::putAll);
+        annotations.put(SpecHash.SPEC_HASH_ANNOTATION, hash);
+        debeziumServer.getMetadata().setAnnotations(annotations);
+        // a failed apply may still have reached the server
+        pipelineId.ifPresent(appliedHashes::remove);
         // apply to server
-        kubernetesClient.resource(debeziumServer).serverSideApply();
+        cluster.client().resource(debeziumServer).serverSideApply();
+        pipelineId.ifPresent(id -> appliedHashes.put(id, hash));
+    }
+
+    /**
+     * Checks whether a deployed Debezium Server instance was applied with the same spec as the given resource.
+     * <p>
+     * Resources are compared by the hash stored in the {@value SpecHash#SPEC_HASH_ANNOTATION} annotation,
+     * a deployed resource without the annotation is never up to date.
+     * </p>
+     *
+     * @param debeziumServer The DebeziumServer resource to deploy.
+     * @param deployed The DebeziumServer resource found in the cluster, see {@link #findAssociatedDebeziumServer(Long)}.
+     * @return {@code true} if applying the resource would not change the deployed one
+     */
+    public boolean isUpToDate(DebeziumServer debeziumServer, DebeziumServer deployed) {
+        return SpecHash.of(serialization, debeziumServer).equals(SpecHash.applied(deployed));
     }
 
     /**
      * Undeploy a Debezium Server instance from the Kubernetes cluster.
      * <p>
      * This method finds and deletes all DebeziumServer resources associated with the
-     * specified pipeline ID.
+     * specified pipeline ID and releases the placement of the pipeline.
      * </p>
      *
      * @param pipelineId The pipeline id used to identify the DebeziumServer resources to be deleted.
      */
+    @Timed(value = APPLY_TIMER, extraTags = { "operation", "undeploy" }, histogram = true, description = "Time spent applying pipeline resources to Kubernetes")
     public void undeployPipeline(Long pipelineId) {
-        kubernetesClient.resources(DebeziumServer.class)
-                .withLabels(Map.of(LABEL_DBZ_CONDUCTOR_ID, pipelineId.toString()))
-                .delete();
+        var targets = clusters.assigned(pipelineId).map(List::of).orElseGet(clusters::all);
+        for (var cluster : targets) {
+            cluster.client().resources(DebeziumServer.class)
+                    .withLabels(Map.of(LABEL_DBZ_CONDUCTOR_ID, pipelineId.toString()))
+                    .delete();
+        }
+        appliedHashes.remove(pipelineId);
+        clusters.release(pipelineId);
     }
 
     /**
      * Finds the DebeziumServer resource associated with a specific pipeline.
      * <p>
      * This method searches for DebeziumServer resources labeled with the specified
-     * pipeline id and returns the first one found.
+     * pipeline id and returns the first one found. Resources are looked up in the {@link DebeziumServerCache}
+     * of the cluster the pipeline is placed in, or of all clusters when the pipeline is not placed.
+     * The returned resource is shared and must not be modified.
      * </p>
      *
      * @param pipelineId The pipeline id used to identify the DebeziumServer resource.
      * @return An Optional containing the DebeziumServer resource if found, or an empty Optional if none is found.
      */
     public Optional<DebeziumServer> findAssociatedDebeziumServer(Long pipelineId) {
-        return kubernetesClient.resources(DebeziumServer.class)
-                .withLabels(Map.of(LABEL_DBZ_CONDUCTOR_ID, pipelineId.toString()))
-                .list()
-                .getItems()
-                .stream()
-                .findFirst();
+        return locate(pipelineId).map(Located::debeziumServer);
+    }
+
+    /**
+     * Checks whether the informer caches of all clusters have synced, starting the informers which are not running.
+     *
+     * @return {@code true} if deployed resources are looked up without requests to the API servers
+     */
+    public boolean isCacheSynced() {
+        return clusters.all().stream().allMatch(KubernetesCluster::isSynced);
+    }
+
+    /**
+     * Finds the DebeziumServer resources of all pipelines.
+     * <p>
+     * Resources are listed once per cluster, from the {@link DebeziumServerCache} or with a single request
+     * when the cache has not synced yet. The returned resources are shared and must not be modified.
+     * </p>
+     *
+     * @return DebeziumServer resources by pipeline id
+     */
+    public Map<Long, DebeziumServer> findAssociatedDebeziumServers() {
+        var found = new HashMap<Long, DebeziumServer>();
+        for (var cluster : clusters.all()) {
+            for (var debeziumServer : cluster.debeziumServers().list()) {
+                pipelineId(debeziumServer).ifPresent(pipelineId -> found.putIfAbsent(pipelineId, debeziumServer));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Resolves the runtime status of all pipelines deployed in the cluster.
+     * <p>
+     * The status is derived from the DebeziumServer resources and the Deployments created for them,
+     * both read from the informer caches of all clusters, so no request is made to the API servers once the caches
+     * have synced.
+     * </p>
+     *
+     * @return status of each deployed pipeline by pipeline id
+     */
+    public Map<Long, PipelineStatus> findPipelineStatuses() {
+        var statuses = new HashMap<Long, PipelineStatus>();
+        for (var cluster : clusters.all()) {
+            var deployments = new HashMap<String, Deployment>();
+            cluster.deployments().list().forEach(deployment -> deployments.put(key(deployment.getMetadata()), deployment));
+
+            for (var debeziumServer : cluster.debeziumServers().list()) {
+                pipelineId(debeziumServer).ifPresent(pipelineId -> statuses.put(pipelineId,
+                        statusResolver.resolve(pipelineId, debeziumServer, deployments.get(key(debeziumServer.getMetadata())))));
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Resolves the runtime status of a single pipeline from the informer caches.
+     *
+     * @param pipelineId The pipeline id.
+     * @return status of the pipeline, or an empty Optional if the pipeline is not deployed
+     */
+    public Optional<PipelineStatus> findPipelineStatus(Long pipelineId) {
+        return locate(pipelineId)
+                .map(located -> statusResolver.resolve(pipelineId, located.debeziumServer(), located.cluster().deployments()
+                        .find(located.debeziumServer().getMetadata().getNamespace(), located.debeziumServer().getMetadata().getName())
+                        .orElse(null)));
+    }
+
+    /**
+     * Registers a listener notified by watch events about pipelines whose status might have changed.
+     * <p>
+     * Both changes of the DebeziumServer resources and of their Deployments are reported. The listener
+     * is called on the informer threads and must not block.
+     * </p>
+     *
+     * @param listener consumer of pipeline ids
+     */
+    public void addPipelineStatusListener(Consumer<Long> listener) {
+        for (var cluster : clusters.all()) {
+            cluster.debeziumServers().addListener(ds -> pipelineId(ds).ifPresent(listener));
+            cluster.deployments().addListener(deployment -> cluster.debeziumServers()
+                    .find(deployment.getMetadata().getNamespace(), deployment.getMetadata().getName())
+                    .flatMap(DebeziumKubernetesAdapter::pipelineId)
+                    .ifPresent(listener));
+        }
+    }
+
+    /**
+     * Finds the DebeziumServer resource of the pipeline in the cluster it's placed in, or in any cluster
+     * if the pipeline is not placed
+     */
+    private Optional<Located> locate(Long pipelineId) {
+        var assigned = clusters.assigned(pipelineId);
+        if (assigned.isPresent()) {
+            var cluster = assigned.get();
+            return cluster.debeziumServers().findByPipelineId(pipelineId).map(ds -> new Located(cluster, ds));
+        }
+
+        for (var cluster : clusters.all()) {
+            var debeziumServer = cluster.debeziumServers().findByPipelineId(pipelineId);
+            if (debeziumServer.isPresent()) {
+                return Optional.of(new Located(cluster, debeziumServer.get()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private record Located(KubernetesCluster cluster, DebeziumServer debeziumServer) {
+    }
+
+    private static Optional<Long> pipelineId(DebeziumServer debeziumServer) {
+        var labels = debeziumServer.getMetadata().getLabels();
+        return Optional.ofNullable(labels == null ? null : labels.get(LABEL_DBZ_CONDUCTOR_ID)).map(Long::valueOf);
+    }
+
+    private static String key(ObjectMeta metadata) {
+        return metadata.getNamespace() + "/" + metadata.getName();
     }
 
     /**
@@ -147,10 +301,10 @@ public class DebeziumKubernetesAdapter {
      * @throws NoSuchElementException If no associated DebeziumServer is found for the given pipeline id.
      */
     public TailPrettyLoggable findLoggableDeployment(Long pipelineId) {
-        return findAssociatedDebeziumServer(pipelineId)
-                .map(DebeziumServer::getMetadata)
-                .map(ObjectMeta::getName)
-                .map(name -> kubernetesClient.apps().deployments().withName(name))
+        return locate(pipelineId)
+                .map(located -> located.cluster().client().apps().deployments()
+                        .inNamespace(located.debeziumServer().getMetadata().getNamespace())
+                        .withName(located.debeziumServer().getMetadata().getName()))
                 .get();
     }
 
@@ -166,9 +320,13 @@ public class DebeziumKubernetesAdapter {
      * @param stop {@code true} to stop the DebeziumServer instance, {@code false} to start it.
      */
     public void changeStatus(Long pipelineId, boolean stop) {
-        findAssociatedDebeziumServer(pipelineId).ifPresent(ds -> {
+        locate(pipelineId).ifPresent(located -> {
+            // cached instance is shared with other readers
+            var ds = serialization.clone(located.debeziumServer());
             ds.setStopped(stop);
-            kubernetesClient.resource(ds).serverSideApply();
+            // the spec no longer matches the hash, the next deployment has to be applied
+            Optional.ofNullable(ds.getMetadata().getAnnotations()).ifPresent(annotations -> annotations.remove(SpecHash.SPEC_HASH_ANNOTATION));
+            located.cluster().client().resource(ds).serverSideApply();
         });
     }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import io.debezium.operator.api.model.DebeziumServer;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+
+/**
+ * Informer backed cache of {@link DebeziumServer} resources indexed by the pipeline id
+ * ({@value #LABEL_DBZ_CONDUCTOR_ID} label).
+ * <p>
+ * Lookups are in-memory reads instead of a label selector list request per call, see {@link InformerCache}.
+ * </p>
+ * Resources returned by the cache are shared and must not be modified.
+ */
+public class DebeziumServerCache extends InformerCache<DebeziumServer> {
+
+    static final String LABEL_DBZ_CONDUCTOR_ID = "debezium.io/conductor-id";
+    private static final String CONDUCTOR_ID_INDEX = "conductor-id";
+
+    DebeziumServerCache(KubernetesClient kubernetesClient, boolean enabled, Duration resync) {
+        super(kubernetesClient, "DebeziumServer", enabled, resync.toMillis());
+    }
+
+    /**
+     * @param pipelineId the pipeline id
+     * @return the DebeziumServer resource of the pipeline, if deployed
+     */
+    public Optional<DebeziumServer> findByPipelineId(Long pipelineId) {
+        var conductorId = pipelineId.toString();
+        var informer = syncedInformer();
+
+        if (informer == null) {
+            return list(conductorId).stream().findFirst();
+        }
+
+        return informer.getIndexer().byIndex(CONDUCTOR_ID_INDEX, conductorId).stream().findFirst();
+    }
+
+    @Override
+    protected SharedIndexInformer<DebeziumServer> createInformer() {
+        var informer = kubernetesClient.resources(DebeziumServer.class).runnableInformer(resyncMillis);
+        informer.addIndexers(Map.of(CONDUCTOR_ID_INDEX, DebeziumServerCache::conductorIds));
+        return informer;
+    }
+
+    @Override
+    protected List<DebeziumServer> listFromServer() {
+        return kubernetesClient.resources(DebeziumServer.class).list().getItems();
+    }
+
+    @Override
+    protected DebeziumServer getFromServer(String namespace, String name) {
+        return kubernetesClient.resources(DebeziumServer.class).inNamespace(namespace).withName(name).get();
+    }
+
+    private List<DebeziumServer> list(String conductorId) {
+        return kubernetesClient.resources(DebeziumServer.class)
+                .withLabels(Map.of(LABEL_DBZ_CONDUCTOR_ID, conductorId))
+                .list()
+                .getItems();
+    }
+
+    private static List<String> conductorIds(DebeziumServer debeziumServer) {
+        var labels = debeziumServer.getMetadata().getLabels();
+        if (labels == null || !labels.containsKey(LABEL_DBZ_CONDUCTOR_ID)) {
+            return List.of();
+        }
+        return List.of(labels.get(LABEL_DBZ_CONDUCTOR_ID));
+    }
+}
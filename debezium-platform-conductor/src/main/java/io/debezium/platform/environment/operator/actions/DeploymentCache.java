@@ -0,0 +1,51 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+
+/**
+ * Informer backed cache of the {@link Deployment} resources in the namespace of a cluster, used to
+ * resolve the runtime state of Debezium Server instances (see {@link InformerCache}).
+ * <p>
+ * Only the Deployments of Debezium Server instances, labeled by the operator with
+ * {@value ServiceEndpointCache#DEBEZIUM_IO_INSTANCE_LABEL}, are watched and listed.
+ * </p>
+ * <p>
+ * Resources returned by the cache are shared and must not be modified.
+ * </p>
+ */
+public class DeploymentCache extends InformerCache<Deployment> {
+
+    DeploymentCache(KubernetesClient kubernetesClient, boolean enabled, Duration resync) {
+        super(kubernetesClient, "Deployment", enabled, resync.toMillis());
+    }
+
+    @Override
+    protected SharedIndexInformer<Deployment> createInformer() {
+        return kubernetesClient.apps().deployments()
+                .withLabel(ServiceEndpointCache.DEBEZIUM_IO_INSTANCE_LABEL)
+                .runnableInformer(resyncMillis);
+    }
+
+    @Override
+    protected List<Deployment> listFromServer() {
+        return kubernetesClient.apps().deployments()
+                .withLabel(ServiceEndpointCache.DEBEZIUM_IO_INSTANCE_LABEL)
+                .list()
+                .getItems();
+    }
+
+    @Override
+    protected Deployment getFromServer(String namespace, String name) {
+        return kubernetesClient.apps().deployments().inNamespace(namespace).withName(name).get();
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+
+/**
+ * Base of the caches backed by a lazily started {@link SharedIndexInformer}.
+ * <p>
+ * The informer is started with the first lookup and kept up to date by watch events. Until it has synced,
+ * or when it could not be started at all (e.g. the conductor is not allowed to watch the resources),
+ * {@link #syncedInformer()} returns {@code null} and lookups are expected to fall back to the API server.
+ * An informer which could not be started is retried with exponential backoff, either by the first lookup after
+ * the backoff or right away once it passed if there are listeners waiting for the informer.
+ * Caches are created and closed by their {@link KubernetesCluster}.
+ * </p>
+ *
+ * @param <T> type of the cached resources
+ */
+abstract class InformerCache<T extends HasMetadata> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InformerCache.class);
+
+    static final Duration INITIAL_RETRY_DELAY = Duration.ofSeconds(1);
+    static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(5);
+
+    protected final KubernetesClient kubernetesClient;
+    protected final long resyncMillis;
+    private final String resourceName;
+    private final boolean enabled;
+
+    private final List<Consumer<T>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile SharedIndexInformer<T> informer;
+    private volatile boolean closed;
+    // consecutive failures to start the informer and the time of the next attempt, see System.nanoTime()
+    private volatile int failures;
+    private volatile long retryAt;
+
+    protected InformerCache(KubernetesClient kubernetesClient, String resourceName, boolean enabled, long resyncMillis) {
+        this.kubernetesClient = kubernetesClient;
+        this.resourceName = resourceName;
+        this.enabled = enabled;
+        this.resyncMillis = resyncMillis;
+    }
+
+    /**
+     * Creates the informer, including its indexers and handlers, without starting it
+     */
+    protected abstract SharedIndexInformer<T> createInformer();
+
+    /**
+     * Lists all resources watched by the informer from the API server
+     */
+    protected abstract List<T> listFromServer();
+
+    /**
+     * Reads a single resource from the API server
+     */
+    protected abstract T getFromServer(String namespace, String name);
+
+    /**
+     * @return all cached resources, listed from the API server if the informer has not synced
+     */
+    public List<T> list() {
+        var current = syncedInformer();
+        return current == null ? listFromServer() : current.getStore().list();
+    }
+
+    /**
+     * @return the cached resource, read from the API server if the informer has not synced
+     */
+    public Optional<T> find(String namespace, String name) {
+        var current = syncedInformer();
+        if (current == null) {
+            return Optional.ofNullable(getFromServer(namespace, name));
+        }
+        return Optional.ofNullable(current.getStore().getByKey(namespace + "/" + name));
+    }
+
+    /**
+     * Starts the informer unless it's already running
+     *
+     * @return whether lookups are served by the synced informer, always {@code true} if the cache is disabled
+     */
+    public boolean isSynced() {
+        return !enabled || syncedInformer() != null;
+    }
+
+    /**
+     * Registers a listener notified about each added, modified or deleted resource and starts the informer.
+     * Listeners are not notified when the informer could not be started.
+     *
+     * @param listener consumer of changed resources, called on the informer thread
+     */
+    public void addListener(Consumer<T> listener) {
+        listeners.add(listener);
+        informer();
+    }
+
+    /**
+     * Called when the informer was stopped, caches derived from the informer should be cleared
+     */
+    protected void onClose() {
+    }
+
+    /**
+     * @return the informer once it has synced, otherwise {@code null}
+     */
+    protected SharedIndexInformer<T> syncedInformer() {
+        var current = informer();
+        return current != null && current.hasSynced() ? current : null;
+    }
+
+    private SharedIndexInformer<T> informer() {
+        var current = informer;
+        if (current != null || closed || !enabled || backingOff()) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (informer == null && !closed && !backingOff()) {
+                try {
+                    var created = createInformer();
+                    created.addEventHandler(new ListenerNotifier());
+                    informer = created;
+                    created.start().whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            onStartFailed(created, error);
+                        }
+                        else {
+                            failures = 0;
+                        }
+                    });
+                    LOGGER.info("Started {} informer with resync period {}ms", resourceName, resyncMillis);
+                }
+                catch (KubernetesClientException e) {
+                    onStartFailed(informer, e);
+                }
+            }
+            return informer;
+        }
+    }
+
+    private boolean backingOff() {
+        return failures > 0 && System.nanoTime() - retryAt < 0;
+    }
+
+    private void notifyListeners(T resource) {
+        for (var listener : listeners) {
+            try {
+                listener.accept(resource);
+            }
+            catch (RuntimeException e) {
+                LOGGER.warn("{} listener failed", resourceName, e);
+            }
+        }
+    }
+
+    private final class ListenerNotifier implements ResourceEventHandler<T> {
+
+        @Override
+        public void onAdd(T resource) {
+            notifyListeners(resource);
+        }
+
+        @Override
+        public void onUpdate(T oldResource, T newResource) {
+            // resync re-delivers unchanged resources
+            if (!Objects.equals(oldResource.getMetadata().getResourceVersion(), newResource.getMetadata().getResourceVersion())) {
+                notifyListeners(newResource);
+            }
+        }
+
+        @Override
+        public void onDelete(T resource, boolean deletedFinalStateUnknown) {
+            notifyListeners(resource);
+        }
+    }
+
+    private synchronized void onStartFailed(SharedIndexInformer<T> failed, Throwable error) {
+        if (informer != failed || closed) {
+            return;
+        }
+
+        var delay = retryDelay(failures + 1);
+        LOGGER.warn("Unable to start {} informer, resources will be listed on each lookup, retrying in {}", resourceName, delay, error);
+        retryAt = System.nanoTime() + delay.toNanos();
+        failures++;
+        stop();
+
+        if (!listeners.isEmpty()) {
+            CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS).execute(this::informer);
+        }
+    }
+
+    static Duration retryDelay(int attempt) {
+        var delay = INITIAL_RETRY_DELAY.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return delay.compareTo(MAX_RETRY_DELAY) < 0 ? delay : MAX_RETRY_DELAY;
+    }
+
+    synchronized void close() {
+        closed = true;
+        stop();
+    }
+
+    private void stop() {
+        if (informer != null) {
+            informer.close();
+            informer = null;
+            onClose();
+        }
+    }
+}
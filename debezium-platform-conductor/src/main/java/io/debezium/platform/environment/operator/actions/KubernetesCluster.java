@@ -0,0 +1,88 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import java.time.Duration;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+
+/**
+ * Kubernetes cluster (or namespace) pipelines can be placed in, with its own client and informer caches.
+ */
+public final class KubernetesCluster implements AutoCloseable {
+
+    private final String name;
+    private final KubernetesClient client;
+    private final boolean ownsClient;
+    private final int capacity;
+    private final DebeziumServerCache debeziumServerCache;
+    private final ServiceEndpointCache serviceEndpointCache;
+    private final DeploymentCache deploymentCache;
+
+    /**
+     * @param name the cluster name
+     * @param client client connected to the cluster
+     * @param ownsClient whether the client is closed together with the cluster
+     * @param capacity maximum number of pipelines placed in the cluster
+     * @param cacheEnabled whether resources are looked up through informer caches
+     * @param resync resync period of the informer caches
+     */
+    KubernetesCluster(String name, KubernetesClient client, boolean ownsClient, int capacity, boolean cacheEnabled, Duration resync) {
+        this.name = name;
+        this.client = client;
+        this.ownsClient = ownsClient;
+        this.capacity = capacity;
+        this.debeziumServerCache = new DebeziumServerCache(client, cacheEnabled, resync);
+        this.serviceEndpointCache = new ServiceEndpointCache(client, cacheEnabled, resync);
+        this.deploymentCache = new DeploymentCache(client, cacheEnabled, resync);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public KubernetesClient client() {
+        return client;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public DebeziumServerCache debeziumServers() {
+        return debeziumServerCache;
+    }
+
+    public ServiceEndpointCache serviceEndpoints() {
+        return serviceEndpointCache;
+    }
+
+    public DeploymentCache deployments() {
+        return deploymentCache;
+    }
+
+    /**
+     * @return whether all informer caches of the cluster have synced, see {@link InformerCache#isSynced()}
+     */
+    public boolean isSynced() {
+        return debeziumServerCache.isSynced() && serviceEndpointCache.isSynced() && deploymentCache.isSynced();
+    }
+
+    @Override
+    public void close() {
+        debeziumServerCache.close();
+        serviceEndpointCache.close();
+        deploymentCache.close();
+        if (ownsClient) {
+            client.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
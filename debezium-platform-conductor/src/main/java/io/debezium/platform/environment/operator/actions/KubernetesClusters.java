@@ -0,0 +1,240 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.debezium.DebeziumException;
+import io.debezium.platform.environment.operator.configuration.OperatorConfigGroup;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+
+/**
+ * Kubernetes clusters managed by the conductor and the placement of pipelines in them.
+ * <p>
+ * Clusters are configured by name through {@code conductor.operator.clusters}, each one with its own client
+ * and informer caches, and are ordered by their name. When no cluster is configured, the conductor manages
+ * a single {@value #DEFAULT_CLUSTER} cluster through the default Kubernetes client.
+ * </p>
+ * <p>
+ * A pipeline deployed for the first time is placed in the cluster chosen by the {@link PlacementPolicy}
+ * and the assignment is persisted through {@link PipelinePlacementStore}, so the pipeline stays in that cluster
+ * until it's undeployed. Pipelines already running in one of the clusters (e.g. deployed before the clusters
+ * were configured) keep their cluster.
+ * </p>
+ * <p>
+ * Placements may be changed by another conductor replica, e.g. the leader before a failover, so the placements
+ * kept in memory are only a hint. Looking up the cluster of a pipeline trusts the hint only when the informer
+ * cache of that cluster confirms the pipeline runs there and follows the pipeline to another cluster otherwise,
+ * so lookups don't hit the database. Placing a pipeline always consults the placement table, and the hint
+ * is reloaded from it before a new placement is chosen.
+ * </p>
+ */
+@ApplicationScoped
+public class KubernetesClusters {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KubernetesClusters.class);
+
+    public static final String DEFAULT_CLUSTER = "default";
+
+    private final Map<String, KubernetesCluster> clusters = new LinkedHashMap<>();
+    private final PlacementPolicy placementPolicy;
+    private final PipelinePlacementStore placementStore;
+
+    private volatile Map<Long, String> placements;
+
+    @Inject
+    public KubernetesClusters(KubernetesClient kubernetesClient, OperatorConfigGroup operatorConfig,
+                              PlacementPolicy placementPolicy, PipelinePlacementStore placementStore) {
+        this(createClusters(kubernetesClient, operatorConfig), placementPolicy, placementStore);
+    }
+
+    KubernetesClusters(List<KubernetesCluster> clusters, PlacementPolicy placementPolicy, PipelinePlacementStore placementStore) {
+        clusters.forEach(cluster -> this.clusters.put(cluster.name(), cluster));
+        this.placementPolicy = placementPolicy;
+        this.placementStore = placementStore;
+    }
+
+    /**
+     * @return all clusters
+     */
+    public List<KubernetesCluster> all() {
+        return List.copyOf(clusters.values());
+    }
+
+    /**
+     * @return the first configured cluster
+     */
+    public KubernetesCluster defaultCluster() {
+        return clusters.values().iterator().next();
+    }
+
+    /**
+     * @param pipelineId the pipeline id
+     * @return the cluster the pipeline is placed in, if any
+     */
+    public Optional<KubernetesCluster> assigned(Long pipelineId) {
+        var hinted = Optional.ofNullable(placements().get(pipelineId)).map(clusters::get);
+        if (clusters.size() == 1 || hinted.filter(cluster -> cluster.debeziumServers().findByPipelineId(pipelineId).isPresent()).isPresent()) {
+            return hinted;
+        }
+
+        // the pipeline might have been moved by another conductor replica
+        var running = running(pipelineId);
+        running.ifPresent(cluster -> placements().put(pipelineId, cluster.name()));
+        return running.or(() -> hinted);
+    }
+
+    /**
+     * Returns the cluster the pipeline is placed in, placing the pipeline first if needed
+     *
+     * @param pipelineId the pipeline id
+     * @return the cluster to deploy the pipeline to
+     * @throws DebeziumException if no cluster can take the pipeline
+     */
+    public synchronized KubernetesCluster place(Long pipelineId) {
+        // the pipeline might have been placed by another conductor replica
+        var stored = placementStore.find(pipelineId).map(clusters::get);
+        if (stored.isPresent()) {
+            placements().put(pipelineId, stored.get().name());
+            return stored.get();
+        }
+
+        // loads must account for the pipelines placed or released by other replicas
+        placements = loadPlacements();
+        var cluster = running(pipelineId).orElseGet(() -> placementPolicy.place(pipelineId, loads())
+                .map(clusters::get)
+                .orElseThrow(() -> new DebeziumException("No cluster has capacity left for pipeline " + pipelineId)));
+
+        placementStore.save(pipelineId, cluster.name());
+        placements().put(pipelineId, cluster.name());
+        LOGGER.info("Pipeline {} placed in cluster {}", pipelineId, cluster.name());
+        return cluster;
+    }
+
+    /**
+     * Removes the placement of an undeployed pipeline
+     *
+     * @param pipelineId the pipeline id
+     */
+    public synchronized void release(Long pipelineId) {
+        // the placement might not be known to this replica yet
+        placements().remove(pipelineId);
+        placementStore.delete(pipelineId);
+    }
+
+    /**
+     * @param debeziumServerAttributes namespace and name of a Debezium Server instance
+     * @return the cluster running the instance, the default cluster if the instance is not found
+     */
+    public KubernetesCluster owning(DebeziumServerAttributes debeziumServerAttributes) {
+        if (clusters.size() == 1) {
+            return defaultCluster();
+        }
+
+        return clusters.values().stream()
+                .filter(cluster -> cluster.debeziumServers()
+                        .find(debeziumServerAttributes.namespace(), debeziumServerAttributes.name())
+                        .isPresent())
+                .findFirst()
+                .orElseGet(this::defaultCluster);
+    }
+
+    private Optional<KubernetesCluster> running(Long pipelineId) {
+        if (clusters.size() == 1) {
+            return Optional.empty();
+        }
+
+        return clusters.values().stream()
+                .filter(cluster -> cluster.debeziumServers().findByPipelineId(pipelineId).isPresent())
+                .findFirst();
+    }
+
+    /**
+     * Load of a cluster is the number of pipelines placed in it, or the number of Debezium Server instances
+     * running in it, whichever is higher
+     */
+    private List<PlacementPolicy.ClusterLoad> loads() {
+        var placed = new HashMap<String, Integer>();
+        placements().values().forEach(cluster -> placed.merge(cluster, 1, Integer::sum));
+
+        var loads = new ArrayList<PlacementPolicy.ClusterLoad>(clusters.size());
+        for (var cluster : clusters.values()) {
+            var pipelines = Math.max(placed.getOrDefault(cluster.name(), 0), cluster.debeziumServers().list().size());
+            loads.add(new PlacementPolicy.ClusterLoad(cluster.name(), pipelines, cluster.capacity()));
+        }
+        return loads;
+    }
+
+    private Map<Long, String> placements() {
+        var current = placements;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (placements == null) {
+                var loaded = loadPlacements();
+                loaded.values().stream()
+                        .filter(cluster -> !clusters.containsKey(cluster))
+                        .distinct()
+                        .forEach(cluster -> LOGGER.warn("Pipelines are placed in cluster {} which is no longer configured", cluster));
+                placements = loaded;
+            }
+            return placements;
+        }
+    }
+
+    private Map<Long, String> loadPlacements() {
+        return new ConcurrentHashMap<>(placementStore.findAll());
+    }
+
+    private static List<KubernetesCluster> createClusters(KubernetesClient kubernetesClient, OperatorConfigGroup operatorConfig) {
+        var cache = operatorConfig.cache();
+        if (operatorConfig.clusters().isEmpty()) {
+            return List.of(new KubernetesCluster(DEFAULT_CLUSTER, kubernetesClient, false, Integer.MAX_VALUE, cache.enabled(), cache.resync()));
+        }
+
+        var clusters = new ArrayList<KubernetesCluster>();
+        new TreeMap<>(operatorConfig.clusters()).forEach((name, config) -> {
+            if (config.context().isEmpty() && config.namespace().isEmpty()) {
+                clusters.add(new KubernetesCluster(name, kubernetesClient, false, config.capacity(), cache.enabled(), cache.resync()));
+                return;
+            }
+
+            var clientConfig = config.context()
+                    .map(Config::autoConfigure)
+                    .orElseGet(() -> new ConfigBuilder(kubernetesClient.getConfiguration()).build());
+            config.namespace().ifPresent(clientConfig::setNamespace);
+
+            var client = new KubernetesClientBuilder().withConfig(clientConfig).build();
+            clusters.add(new KubernetesCluster(name, client, true, config.capacity(), cache.enabled(), cache.resync()));
+            LOGGER.info("Managing cluster {} at {} in namespace {}", name, clientConfig.getMasterUrl(), clientConfig.getNamespace());
+        });
+        return clusters;
+    }
+
+    @PreDestroy
+    void close() {
+        clusters.values().forEach(KubernetesCluster::close);
+    }
+}
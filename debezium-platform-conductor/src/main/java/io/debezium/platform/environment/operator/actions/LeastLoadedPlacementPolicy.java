@@ -0,0 +1,31 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import io.quarkus.arc.DefaultBean;
+
+/**
+ * Places pipelines in the cluster with the lowest utilization (placed pipelines relative to its capacity).
+ * Clusters with equal utilization are preferred in the order they are configured.
+ */
+@DefaultBean
+@ApplicationScoped
+public class LeastLoadedPlacementPolicy implements PlacementPolicy {
+
+    @Override
+    public Optional<String> place(Long pipelineId, List<ClusterLoad> clusters) {
+        return clusters.stream()
+                .filter(ClusterLoad::hasCapacity)
+                .min(Comparator.comparingDouble(ClusterLoad::utilization))
+                .map(ClusterLoad::cluster);
+    }
+}
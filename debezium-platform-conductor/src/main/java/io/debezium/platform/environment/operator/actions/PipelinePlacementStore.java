@@ -0,0 +1,66 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+import io.debezium.platform.data.model.PipelinePlacementEntity;
+
+/**
+ * Persists the cluster each pipeline is placed in ({@code pipeline_placement} table)
+ */
+@ApplicationScoped
+public class PipelinePlacementStore {
+
+    private final EntityManager em;
+
+    public PipelinePlacementStore(EntityManager em) {
+        this.em = em;
+    }
+
+    /**
+     * @return cluster names by pipeline id
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public Map<Long, String> findAll() {
+        var placements = new HashMap<Long, String>();
+        em.createQuery("select p from pipeline_placement p", PipelinePlacementEntity.class)
+                .getResultStream()
+                .forEach(placement -> placements.put(placement.getPipelineId(), placement.getCluster()));
+        return placements;
+    }
+
+    /**
+     * @return name of the cluster the pipeline is placed in, if any
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public Optional<String> find(Long pipelineId) {
+        return Optional.ofNullable(em.find(PipelinePlacementEntity.class, pipelineId)).map(PipelinePlacementEntity::getCluster);
+    }
+
+    @Transactional
+    public void save(Long pipelineId, String cluster) {
+        var placement = new PipelinePlacementEntity();
+        placement.setPipelineId(pipelineId);
+        placement.setCluster(cluster);
+        placement.setAssignedAt(Instant.now());
+        em.merge(placement);
+    }
+
+    @Transactional
+    public void delete(Long pipelineId) {
+        em.createQuery("delete from pipeline_placement p where p.pipelineId = :pipelineId")
+                .setParameter("pipelineId", pipelineId)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import io.debezium.operator.api.model.DebeziumServer;
+import io.debezium.platform.environment.PipelineStatus;
+import io.debezium.platform.environment.PipelineStatus.State;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentCondition;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
+
+/**
+ * Derives the {@link PipelineStatus} of a pipeline from its {@link DebeziumServer} resource and the
+ * {@link Deployment} created for it by the operator.
+ */
+final class PipelineStatusResolver {
+
+    private static final String CONDITION_TRUE = "True";
+    private static final String CONDITION_FALSE = "False";
+    private static final String PROGRESSING_CONDITION = "Progressing";
+    private static final String REPLICA_FAILURE_CONDITION = "ReplicaFailure";
+
+    private final KubernetesSerialization serialization;
+
+    PipelineStatusResolver(KubernetesSerialization serialization) {
+        this.serialization = serialization;
+    }
+
+    PipelineStatus resolve(Long pipelineId, DebeziumServer debeziumServer, Deployment deployment) {
+        var name = debeziumServer.getMetadata().getName();
+        var lastTransition = lastTransition(debeziumServer, deployment);
+        var deploymentStatus = deployment == null ? null : deployment.getStatus();
+        var replicas = deploymentStatus == null ? null : Objects.requireNonNullElse(deploymentStatus.getReplicas(), 0);
+        var readyReplicas = deploymentStatus == null ? null : Objects.requireNonNullElse(deploymentStatus.getReadyReplicas(), 0);
+
+        if (debeziumServer.isStopped()) {
+            return new PipelineStatus(pipelineId, name, State.STOPPED, replicas, readyReplicas, lastTransition, null);
+        }
+        if (deploymentStatus == null) {
+            return new PipelineStatus(pipelineId, name, State.PENDING, null, null, lastTransition, null);
+        }
+
+        var failure = deploymentConditions(deployment).stream()
+                .filter(PipelineStatusResolver::isFailure)
+                .findFirst();
+        if (failure.isPresent()) {
+            return new PipelineStatus(pipelineId, name, State.FAILED, replicas, readyReplicas, lastTransition, failure.get().getMessage());
+        }
+
+        var state = readyReplicas > 0 ? State.READY : State.PENDING;
+        return new PipelineStatus(pipelineId, name, state, replicas, readyReplicas, lastTransition, null);
+    }
+
+    private static boolean isFailure(DeploymentCondition condition) {
+        return (PROGRESSING_CONDITION.equals(condition.getType()) && CONDITION_FALSE.equals(condition.getStatus()))
+                || (REPLICA_FAILURE_CONDITION.equals(condition.getType()) && CONDITION_TRUE.equals(condition.getStatus()));
+    }
+
+    private Instant lastTransition(DebeziumServer debeziumServer, Deployment deployment) {
+        var transitions = deploymentConditions(deployment).stream()
+                .map(DeploymentCondition::getLastTransitionTime);
+        var serverTransitions = serverConditions(debeziumServer).stream()
+                .filter(Map.class::isInstance)
+                .map(condition -> ((Map<?, ?>) condition).get("lastTransitionTime"))
+                .filter(String.class::isInstance)
+                .map(String.class::cast);
+
+        return Stream.concat(transitions, serverTransitions)
+                .map(PipelineStatusResolver::parseTime)
+                .flatMap(Optional::stream)
+                .max(Instant::compareTo)
+                .orElse(null);
+    }
+
+    private static List<DeploymentCondition> deploymentConditions(Deployment deployment) {
+        if (deployment == null || deployment.getStatus() == null || deployment.getStatus().getConditions() == null) {
+            return List.of();
+        }
+        return deployment.getStatus().getConditions();
+    }
+
+    /**
+     * The status of the DebeziumServer resource is read in its serialized form, so it doesn't depend on the operator model version
+     */
+    private List<?> serverConditions(DebeziumServer debeziumServer) {
+        if (debeziumServer.getStatus() == null) {
+            return List.of();
+        }
+        var status = serialization.convertValue(debeziumServer.getStatus(), Map.class);
+        return status.get("conditions") instanceof List<?> conditions ? conditions : List.of();
+    }
+
+    private static Optional<Instant> parseTime(String time) {
+        if (time == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Instant.parse(time));
+        }
+        catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decides which cluster a pipeline deployed for the first time is placed in, see {@link KubernetesClusters}.
+ * <p>
+ * The default policy is {@link LeastLoadedPlacementPolicy}, a different policy can be provided as a CDI bean.
+ * </p>
+ */
+public interface PlacementPolicy {
+
+    /**
+     * @param pipelineId the pipeline to place
+     * @param clusters current load of all clusters, in the order they are configured
+     * @return name of the cluster to place the pipeline in, or empty if no cluster can take it
+     */
+    Optional<String> place(Long pipelineId, List<ClusterLoad> clusters);
+
+    /**
+     * @param cluster the cluster name
+     * @param pipelines number of pipelines placed in the cluster
+     * @param capacity maximum number of pipelines the cluster can take
+     */
+    record ClusterLoad(String cluster, int pipelines, int capacity) {
+
+        public boolean hasCapacity() {
+            return pipelines < capacity;
+        }
+
+        public double utilization() {
+            return capacity == 0 ? 1.0 : (double) pipelines / capacity;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+
+/**
+ * Informer backed resolution of the API base URL of Debezium Server instances.
+ * <p>
+ * API services ({@value #DEBEZIUM_IO_CLASSIFIER_LABEL}={@value #API_CLASSIFIER}) in the namespace of the
+ * cluster client are indexed by the Debezium Server instance they belong to ({@value #DEBEZIUM_IO_INSTANCE_LABEL}).
+ * Resolved URLs are memoized per instance and invalidated by watch events of their services, so resolving
+ * the endpoint of a known instance is a single map read. Instances in other namespaces, as well as lookups before
+ * the informer has synced, are resolved by listing the services (see {@link InformerCache}).
+ * </p>
+ */
+public class ServiceEndpointCache extends InformerCache<Service> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceEndpointCache.class);
+
+    static final String DEBEZIUM_IO_CLASSIFIER_LABEL = "debezium.io/classifier";
+    static final String DEBEZIUM_IO_INSTANCE_LABEL = "debezium.io/instance";
+    static final String API_CLASSIFIER = "api";
+    private static final String SERVICE_URL_FORMAT = "http://%s:%s";
+    private static final String INSTANCE_INDEX = "instance";
+
+    private final Map<DebeziumServerAttributes, String> endpoints = new ConcurrentHashMap<>();
+
+    ServiceEndpointCache(KubernetesClient kubernetesClient, boolean enabled, Duration resync) {
+        super(kubernetesClient, "Service", enabled, resync.toMillis());
+    }
+
+    /**
+     * @param debeziumServerAttributes The attributes of the Debezium Server instance, including namespace and name.
+     * @return An Optional containing the base URL of the API service if found, or an empty Optional if no matching
+     *         service is found or if the service configuration is incomplete.
+     */
+    public Optional<String> findApiBaseUrl(DebeziumServerAttributes debeziumServerAttributes) {
+        var informer = syncedInformer();
+
+        if (informer == null || !debeziumServerAttributes.namespace().equals(kubernetesClient.getNamespace())) {
+            return resolve(debeziumServerAttributes, list(debeziumServerAttributes));
+        }
+
+        return Optional.ofNullable(endpoints.computeIfAbsent(debeziumServerAttributes, attributes -> resolve(attributes,
+                informer.getIndexer().byIndex(INSTANCE_INDEX, instanceKey(attributes.namespace(), attributes.name())))
+                .orElse(null)));
+    }
+
+    @Override
+    protected SharedIndexInformer<Service> createInformer() {
+        var informer = kubernetesClient.services()
+                .withLabel(DEBEZIUM_IO_CLASSIFIER_LABEL, API_CLASSIFIER)
+                .runnableInformer(resyncMillis);
+        informer.addIndexers(Map.of(INSTANCE_INDEX, ServiceEndpointCache::instanceKeys));
+        informer.addEventHandler(new ResourceEventHandler<>() {
+
+            @Override
+            public void onAdd(Service service) {
+                invalidate(service);
+            }
+
+            @Override
+            public void onUpdate(Service oldService, Service newService) {
+                invalidate(oldService);
+                invalidate(newService);
+            }
+
+            @Override
+            public void onDelete(Service service, boolean deletedFinalStateUnknown) {
+                invalidate(service);
+            }
+        });
+        return informer;
+    }
+
+    @Override
+    protected List<Service> listFromServer() {
+        return kubernetesClient.services()
+                .withLabel(DEBEZIUM_IO_CLASSIFIER_LABEL, API_CLASSIFIER)
+                .list()
+                .getItems();
+    }
+
+    @Override
+    protected Service getFromServer(String namespace, String name) {
+        return kubernetesClient.services().inNamespace(namespace).withName(name).get();
+    }
+
+    @Override
+    protected void onClose() {
+        endpoints.clear();
+    }
+
+    private void invalidate(Service service) {
+        var instance = instance(service);
+        if (instance != null) {
+            endpoints.remove(new DebeziumServerAttributes(service.getMetadata().getNamespace(), instance));
+        }
+    }
+
+    private List<Service> list(DebeziumServerAttributes debeziumServerAttributes) {
+        return kubernetesClient.services()
+                .inNamespace(debeziumServerAttributes.namespace())
+                .withLabels(Map.of(
+                        DEBEZIUM_IO_CLASSIFIER_LABEL, API_CLASSIFIER,
+                        DEBEZIUM_IO_INSTANCE_LABEL, debeziumServerAttributes.name()))
+                .list()
+                .getItems();
+    }
+
+    private static Optional<String> resolve(DebeziumServerAttributes debeziumServerAttributes, List<Service> apiServices) {
+
+        if (apiServices.isEmpty()) {
+            LOGGER.error("No API service found in the ns {} for instance {}", debeziumServerAttributes.namespace(), debeziumServerAttributes.name());
+            return Optional.empty();
+        }
+
+        Service apiService = apiServices.getFirst();
+
+        if (apiService.getSpec().getPorts().isEmpty()) {
+            LOGGER.error("Found service {} in the ns {} without any ports", apiService.getMetadata().getName(), debeziumServerAttributes.namespace());
+            return Optional.empty();
+        }
+
+        var port = apiService.getSpec().getPorts().getFirst().getPort();
+
+        return Optional.of(String.format(SERVICE_URL_FORMAT, apiService.getMetadata().getName(), port));
+    }
+
+    private static List<String> instanceKeys(Service service) {
+        var instance = instance(service);
+        return instance == null ? List.of() : List.of(instanceKey(service.getMetadata().getNamespace(), instance));
+    }
+
+    private static String instance(Service service) {
+        var labels = service.getMetadata().getLabels();
+        return labels == null ? null : labels.get(DEBEZIUM_IO_INSTANCE_LABEL);
+    }
+
+    private static String instanceKey(String namespace, String instance) {
+        return namespace + "/" + instance;
+    }
+}
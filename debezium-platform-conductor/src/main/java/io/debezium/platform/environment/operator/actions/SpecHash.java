@@ -0,0 +1,69 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import io.debezium.DebeziumException;
+import io.debezium.operator.api.model.DebeziumServer;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
+
+/**
+ * Stable hash of the desired state of a {@link DebeziumServer} resource, i.e. its spec and labels.
+ * <p>
+ * The resource is serialized with all object keys sorted, so the hash doesn't depend on the iteration
+ * order of maps (e.g. configuration properties) and the same pipeline always maps to the same hash.
+ * </p>
+ */
+final class SpecHash {
+
+    static final String SPEC_HASH_ANNOTATION = "debezium.io/spec-hash";
+
+    private SpecHash() {
+    }
+
+    static String of(KubernetesSerialization serialization, DebeziumServer debeziumServer) {
+        var desiredState = new TreeMap<String, Object>();
+        desiredState.put("labels", debeziumServer.getMetadata().getLabels());
+        desiredState.put("spec", debeziumServer.getSpec());
+
+        var canonical = serialization.asJson(canonicalize(serialization.convertValue(desiredState, Object.class)));
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new DebeziumException("Unable to compute hash of DebeziumServer spec", e);
+        }
+    }
+
+    /**
+     * @param annotated resource which may carry a hash annotation
+     * @return the hash the resource was applied with, or {@code null} if unknown
+     */
+    static String applied(DebeziumServer annotated) {
+        var annotations = annotated.getMetadata().getAnnotations();
+        return annotations == null ? null : annotations.get(SPEC_HASH_ANNOTATION);
+    }
+
+    private static Object canonicalize(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            var sorted = new TreeMap<String, Object>();
+            map.forEach((key, item) -> sorted.put(String.valueOf(key), canonicalize(item)));
+            return sorted;
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(SpecHash::canonicalize).toList();
+        }
+        return value;
+    }
+}
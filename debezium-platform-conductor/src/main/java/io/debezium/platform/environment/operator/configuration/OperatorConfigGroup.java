@@ -0,0 +1,92 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.configuration;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "conductor.operator")
+@ConfigRoot(phase = ConfigPhase.RUN_TIME)
+public interface OperatorConfigGroup {
+
+    CacheConfig cache();
+
+    /**
+     * @return clusters the pipelines are placed in by cluster name, when none is configured
+     *         all pipelines are deployed through the default Kubernetes client
+     */
+    Map<String, ClusterConfig> clusters();
+
+    SchedulerConfig scheduler();
+
+    interface CacheConfig {
+
+        /**
+         * @return whether Kubernetes resources are looked up through informer caches instead of listing them
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * @return period in which cached resources are re-delivered to the cache, {@code 0} disables resync
+         */
+        @WithDefault("10m")
+        Duration resync();
+
+    }
+
+    interface SchedulerConfig {
+
+        /**
+         * @return whether operations against the Kubernetes API are prioritised and rate limited
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        RateLimitConfig rateLimit();
+    }
+
+    interface RateLimitConfig {
+
+        /**
+         * @return number of operations started per second across all priorities
+         */
+        @WithDefault("20")
+        double permitsPerSecond();
+
+        /**
+         * @return number of operations which can be started at once after a period of inactivity
+         */
+        @WithDefault("40")
+        int burst();
+    }
+
+    interface ClusterConfig {
+
+        /**
+         * @return kubeconfig context used to connect to the cluster, the default Kubernetes client is used when not set
+         */
+        Optional<String> context();
+
+        /**
+         * @return namespace the pipelines are deployed to, the namespace of the context when not set
+         */
+        Optional<String> namespace();
+
+        /**
+         * @return maximum number of pipelines placed in the cluster
+         */
+        @WithDefault("1000")
+        int capacity();
+
+    }
+}
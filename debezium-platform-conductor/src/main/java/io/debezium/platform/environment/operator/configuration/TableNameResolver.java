@@ -32,6 +32,41 @@ public class TableNameResolver {
         return sanitizeTableName(processedValue);
     }
 
+    /**
+     * Resolves a value without placeholders, see {@link #isPipelineSpecific(String)}
+     *
+     * @param currentValue the configured value
+     * @return the table name, same for every pipeline
+     */
+    public String resolve(String currentValue) {
+
+        if (currentValue == null || currentValue.isEmpty()) {
+            return currentValue;
+        }
+
+        return sanitizeTableName(currentValue);
+    }
+
+    /**
+     * Checks whether the value contains placeholders resolved from the pipeline.
+     * Values without placeholders resolve to the same table name for every pipeline.
+     *
+     * @param value the configured value
+     * @return {@code true} if the resolved value depends on the pipeline
+     */
+    public boolean isPipelineSpecific(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+
+        for (PlaceHolder placeHolder : PLACE_HOLDERS) {
+            if (value.contains(placeHolder.token())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private record PlaceHolder(String token, Function<PipelineFlat, String> valueResolver) {
 
         String apply(String text, PipelineFlat pipeline) {
@@ -15,6 +15,7 @@ import io.debezium.platform.environment.logs.LogReader;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.dsl.LogWatch;
 import io.fabric8.kubernetes.client.dsl.TailPrettyLoggable;
+import io.smallrye.mutiny.Multi;
 
 public class KubernetesLogReader implements LogReader {
 
@@ -38,17 +39,39 @@ public class KubernetesLogReader implements LogReader {
     }
 
     @Override
-    public String readLine() throws IOException {
-        return reader().readLine();
+    public Multi<String> stream() {
+        return Multi.createFrom().<String> deferred(() -> {
+            try {
+                var lines = reader().lines().iterator();
+                return Multi.createFrom().iterable(() -> lines);
+            }
+            catch (IOException e) {
+                return Multi.createFrom().failure(e);
+            }
+        })
+                .onTermination().invoke(this::closeQuietly);
     }
 
+    /**
+     * Closes the watch before the reader, as closing the reader waits for a pending read to return and only
+     * closing the watch makes it return.
+     */
     @Override
     public void close() throws IOException {
+        if (watch != null) {
+            watch.close();
+        }
         if (reader != null) {
             reader.close();
         }
-        if (watch != null) {
-            watch.close();
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        }
+        catch (IOException e) {
+            // the stream already terminated, nothing else to do
         }
     }
 
@@ -5,10 +5,13 @@
  */
 package io.debezium.platform.environment.watcher;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -32,11 +35,24 @@ import io.debezium.heartbeat.DatabaseHeartbeatImpl;
 import io.debezium.heartbeat.Heartbeat;
 import io.debezium.platform.config.OffsetConfigGroup;
 import io.debezium.platform.environment.watcher.config.WatcherConfig;
+import io.debezium.platform.environment.watcher.consumers.OutboxEventDispatcher;
 import io.debezium.platform.environment.watcher.consumers.OutboxParentEventConsumer;
 import io.debezium.transforms.outbox.EventRouter;
 import io.quarkus.runtime.ShutdownEvent;
 import io.quarkus.runtime.Startup;
 
+/**
+ * Watches the outbox table of the conductor's database through an embedded Debezium engine
+ * and hands the events over to {@link OutboxParentEventConsumer}.
+ * <br>
+ *
+ * With {@code conductor.watcher.leader-election.enabled} the engine runs only on the replica
+ * elected by {@link WatcherLeaderElection}, so replicas of the conductor don't compete for the replication slot.
+ * Once the lease is lost, the {@link OutboxEventDispatcher} and the engine are given {@code conductor.watcher.stop-timeout}
+ * to stop: the dispatcher cancels pending events and retries and waits for the deliveries in progress, then the engine
+ * is closed. A delivery or an engine which is still running afterwards can't be fenced off any other way, so the replica
+ * is halted before another replica may take over the lease.
+ */
 @ApplicationScoped
 @Startup
 public class ConductorEnvironmentWatcher {
@@ -52,13 +68,23 @@ public class ConductorEnvironmentWatcher {
             ON CONFLICT (id) DO UPDATE SET timestamp = now()\
             """;
     private final OutboxParentEventConsumer eventConsumer;
+    private final OutboxEventDispatcher dispatcher;
     private final WatcherConfig watcherConfig;
+    private final WatcherLeaderElection leaderElection;
     private final ExecutorService executor = Executors.newSingleThreadExecutor();
     private DebeziumEngine<?> engine;
+    private Future<?> engineTask;
+    private CountDownLatch engineExited;
+
+    // halts the replica when the engine can't be stopped after losing the lease
+    Runnable fence = () -> Runtime.getRuntime().halt(1);
 
-    public ConductorEnvironmentWatcher(WatcherConfig watcherConfig, OutboxParentEventConsumer eventConsumer) {
+    public ConductorEnvironmentWatcher(WatcherConfig watcherConfig, OutboxParentEventConsumer eventConsumer, OutboxEventDispatcher dispatcher,
+                                       WatcherLeaderElection leaderElection) {
         this.watcherConfig = watcherConfig;
         this.eventConsumer = eventConsumer;
+        this.dispatcher = dispatcher;
+        this.leaderElection = leaderElection;
     }
 
     @PostConstruct
@@ -68,6 +94,41 @@ public class ConductorEnvironmentWatcher {
             return;
         }
 
+        if (watcherConfig.watcher().leaderElection().enabled()) {
+            LOGGER.info("Debezium engine will be started once this replica is elected as the watcher leader");
+            leaderElection.start(this::startEngine, this::stopLeading);
+            return;
+        }
+
+        startEngine();
+    }
+
+    synchronized void startEngine() {
+        if (engine != null) {
+            return;
+        }
+
+        // records of a previous run were not committed and will be delivered again by the new engine
+        eventConsumer.reset();
+        dispatcher.start();
+
+        var created = createEngine();
+        var exited = new CountDownLatch(1);
+
+        LOGGER.info("Attempting to start debezium engine");
+        engine = created;
+        engineExited = exited;
+        engineTask = executor.submit(() -> {
+            try {
+                created.run();
+            }
+            finally {
+                exited.countDown();
+            }
+        });
+    }
+
+    DebeziumEngine<?> createEngine() {
         var connection = watcherConfig.connection();
         var watcher = watcherConfig.watcher();
         var offset = watcher.offset();
@@ -104,7 +165,7 @@ public class ConductorEnvironmentWatcher {
         var config = configurationBuilder.build();
 
         LOGGER.info("Creating Debezium engine");
-        this.engine = DebeziumEngine.create(Connect.class)
+        return DebeziumEngine.create(Connect.class)
                 .using(config.asProperties())
                 .using((success, message, error) -> {
                     if (error != null) {
@@ -116,9 +177,62 @@ public class ConductorEnvironmentWatcher {
                 })
                 .notifying(eventConsumer)
                 .build();
+    }
 
-        LOGGER.info("Attempting to start debezium engine");
-        executor.execute(engine);
+    /**
+     * Stops the engine after the lease was lost, halts the replica if the dispatcher or the engine does not stop in time
+     */
+    void stopLeading() {
+        if (!stopEngine()) {
+            LOGGER.error("Outbox deliveries or Debezium engine did not stop before the lease may be taken over by another replica, halting");
+            fence.run();
+        }
+    }
+
+    /**
+     * Stops the dispatcher, then stops the engine and waits until its thread exits. The deliveries in progress are
+     * awaited for half of {@code stop-timeout}, the engine is interrupted if it does not stop within a quarter of it.
+     *
+     * @return whether no delivery is in progress and the engine thread exited within {@code stop-timeout},
+     *         the engine is kept if its thread did not exit
+     */
+    synchronized boolean stopEngine() {
+        if (engine == null) {
+            return true;
+        }
+
+        var stopTimeout = watcherConfig.watcher().stopTimeout().toNanos();
+        // no event may be applied anymore once the lease can be taken over, regardless of the engine
+        var drained = dispatcher.stop(Duration.ofNanos(stopTimeout / 2));
+
+        var timeout = stopTimeout / 4;
+        try {
+            LOGGER.info("Attempting to stop Debezium");
+            try {
+                engine.close();
+            }
+            catch (Exception e) {
+                LOGGER.error("Exception while shutting down Debezium", e);
+            }
+
+            if (!engineExited.await(timeout, TimeUnit.NANOSECONDS)) {
+                LOGGER.warn("Debezium engine did not stop within {}ms, interrupting it", TimeUnit.NANOSECONDS.toMillis(timeout));
+                engineTask.cancel(true);
+                engineExited.await(timeout, TimeUnit.NANOSECONDS);
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (engineExited.getCount() > 0) {
+            LOGGER.error("Debezium engine did not stop within {}", watcherConfig.watcher().stopTimeout());
+            return false;
+        }
+        engine = null;
+        engineTask = null;
+        engineExited = null;
+        return drained;
     }
 
     private Map<String, String> offsetConfigurations(OffsetConfigGroup offset) {
@@ -140,18 +254,21 @@ public class ConductorEnvironmentWatcher {
     }
 
     public void stop(@Observes ShutdownEvent event) {
-        if (engine == null) {
+        if (!watcherConfig.watcher().enabled()) {
             return;
         }
 
-        try {
-            LOGGER.info("Attempting to stop Debezium");
-            engine.close();
-            executor.shutdown();
-            executor.awaitTermination(10, TimeUnit.SECONDS);
+        // the engine must be fenced before the lease is released to another replica
+        if (!stopEngine()) {
+            // the lease keeps being renewed until the process exits
+            LOGGER.warn("Outbox deliveries or Debezium engine are still running, the lease is not released");
+            executor.shutdownNow();
+            return;
         }
-        catch (Exception e) {
-            LOGGER.error("Exception while shutting down Debezium", e);
+        if (watcherConfig.watcher().leaderElection().enabled()) {
+            leaderElection.release();
         }
+
+        executor.shutdown();
     }
 }
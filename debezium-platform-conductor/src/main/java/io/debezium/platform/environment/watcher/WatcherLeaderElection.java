@@ -0,0 +1,167 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.debezium.platform.environment.watcher.config.WatcherConfigGroup;
+import io.debezium.platform.environment.watcher.config.WatcherConfigGroup.LeaderElectionConfig;
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.extended.leaderelection.LeaderCallbacks;
+import io.fabric8.kubernetes.client.extended.leaderelection.LeaderElectionConfigBuilder;
+import io.fabric8.kubernetes.client.extended.leaderelection.resourcelock.LeaseLock;
+
+/**
+ * Kubernetes {@link Lease} based leader election of the environment watcher.
+ * <br>
+ *
+ * Only the replica holding the lease runs the watcher, the other replicas keep competing for the lease
+ * and take over once it expires or is released.
+ * <br>
+ *
+ * The lease is never released by the elector itself. A leader which fails to renew the lease within
+ * {@code renew-deadline} stops the watcher and lets the lease expire after {@code lease-duration}, while
+ * on shutdown the lease is released only after the watcher was stopped (see {@link #release()}).
+ * <br>
+ *
+ * Another replica may acquire the lease as soon as {@code lease-duration} passed since its last renewal,
+ * the leader must therefore stop the watcher within the remaining time. {@link #start(Runnable, Runnable)} refuses
+ * configurations where {@code renew-deadline}, {@code retry-period} and {@code conductor.watcher.stop-timeout}
+ * together exceed {@code lease-duration}, and a watcher which does not stop within {@code stop-timeout} halts
+ * the replica (see {@link ConductorEnvironmentWatcher}).
+ */
+@ApplicationScoped
+public class WatcherLeaderElection {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WatcherLeaderElection.class);
+
+    private final KubernetesClient kubernetesClient;
+    private final LeaderElectionConfig config;
+    private final Duration stopTimeout;
+    private final String identity;
+
+    private volatile boolean closed;
+    private volatile boolean leading;
+    private volatile CompletableFuture<?> election;
+
+    public WatcherLeaderElection(KubernetesClient kubernetesClient, WatcherConfigGroup watcherConfig) {
+        this.kubernetesClient = kubernetesClient;
+        this.config = watcherConfig.leaderElection();
+        this.stopTimeout = watcherConfig.stopTimeout();
+        this.identity = config.identity()
+                .or(() -> Optional.ofNullable(System.getenv("HOSTNAME")))
+                .orElseGet(() -> UUID.randomUUID().toString());
+    }
+
+    /**
+     * Joins the leader election
+     *
+     * @param onStartLeading invoked once this replica becomes the leader
+     * @param onStopLeading invoked once this replica lost the leadership; expected to block until the watcher is stopped
+     * @throws IllegalStateException if the watcher can't be stopped before the lease may be taken over
+     */
+    public void start(Runnable onStartLeading, Runnable onStopLeading) {
+        var handover = config.renewDeadline().plus(config.retryPeriod()).plus(stopTimeout);
+        if (handover.compareTo(config.leaseDuration()) > 0) {
+            throw new IllegalStateException(("Lease %s may be taken over before the watcher is stopped, renew-deadline (%s), retry-period (%s)"
+                    + " and stop-timeout (%s) together must not exceed lease-duration (%s)").formatted(config.leaseName(),
+                            config.renewDeadline(), config.retryPeriod(), stopTimeout, config.leaseDuration()));
+        }
+
+        LOGGER.info("Joining leader election for lease {} as {}", config.leaseName(), identity);
+        elect(new LeaderCallbacks(
+                () -> {
+                    LOGGER.info("Acquired lease {}, starting watcher", config.leaseName());
+                    leading = true;
+                    onStartLeading.run();
+                },
+                () -> {
+                    LOGGER.info("Lost lease {}, stopping watcher", config.leaseName());
+                    leading = false;
+                    onStopLeading.run();
+                },
+                leader -> LOGGER.info("Current watcher leader is {}", leader)));
+    }
+
+    /**
+     * @return whether this replica currently holds the lease
+     */
+    public boolean isLeader() {
+        return leading;
+    }
+
+    private void elect(LeaderCallbacks callbacks) {
+        if (closed) {
+            return;
+        }
+
+        var elector = kubernetesClient.leaderElector()
+                .withConfig(new LeaderElectionConfigBuilder()
+                        .withName(config.leaseName())
+                        .withLock(new LeaseLock(kubernetesClient.getNamespace(), config.leaseName(), identity))
+                        .withLeaseDuration(config.leaseDuration())
+                        .withRenewDeadline(config.renewDeadline())
+                        .withRetryPeriod(config.retryPeriod())
+                        .withReleaseOnCancel(false)
+                        .withLeaderCallbacks(callbacks)
+                        .build())
+                .build();
+
+        // the elector completes once the leadership is lost, keep competing for the lease afterwards
+        election = elector.start();
+        election.whenComplete((result, error) -> {
+            if (error != null && !closed) {
+                LOGGER.warn("Leader election for lease {} failed, rejoining", config.leaseName(), error);
+            }
+            elect(callbacks);
+        });
+    }
+
+    /**
+     * Leaves the election and releases the lease if held by this replica. Must be called only after the watcher was stopped.
+     */
+    public void release() {
+        closed = true;
+        leading = false;
+        if (election == null) {
+            return;
+        }
+        election.cancel(true);
+
+        try {
+            kubernetesClient.resources(Lease.class)
+                    .inNamespace(kubernetesClient.getNamespace())
+                    .withName(config.leaseName())
+                    .edit(lease -> {
+                        if (lease.getSpec() == null || !identity.equals(lease.getSpec().getHolderIdentity())) {
+                            return lease;
+                        }
+                        // let the lease expire right away so another replica takes over without waiting for lease-duration
+                        return new LeaseBuilder(lease)
+                                .editSpec()
+                                .withHolderIdentity(null)
+                                .withLeaseDurationSeconds(1)
+                                .endSpec()
+                                .build();
+                    });
+            LOGGER.info("Released lease {}", config.leaseName());
+        }
+        catch (KubernetesClientException e) {
+            LOGGER.warn("Unable to release lease {}, it will expire after {}", config.leaseName(), config.leaseDuration(), e);
+        }
+    }
+}
@@ -5,6 +5,7 @@
  */
 package io.debezium.platform.environment.watcher.config;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import io.debezium.platform.config.OffsetConfigGroup;
@@ -28,6 +29,19 @@ public interface WatcherConfigGroup {
 
     RetryConfig retry();
 
+    DispatchConfig dispatch();
+
+    @WithName("leader-election")
+    LeaderElectionConfig leaderElection();
+
+    /**
+     * @return time the outbox deliveries in progress and the Debezium engine are given to stop, with leader election it must fit
+     *         between {@code renew-deadline} and {@code lease-duration}
+     */
+    @WithDefault("5s")
+    @WithName("stop-timeout")
+    Duration stopTimeout();
+
     interface HeartbeatConfig {
 
         @WithName("interval-ms")
@@ -41,6 +55,69 @@ public interface WatcherConfigGroup {
         @WithName("max-retries")
         int maxRetries();
 
+        /**
+         * @return delay before the first retry, doubled with each subsequent attempt
+         */
+        @WithDefault("1s")
+        @WithName("initial-delay")
+        Duration initialDelay();
+
+    }
+
+    interface DispatchConfig {
+
+        /**
+         * @return maximal number of aggregates processed in parallel
+         */
+        @WithDefault("16")
+        @WithName("max-concurrency")
+        int maxConcurrency();
+
+        /**
+         * @return maximal number of records awaiting completion before the engine is blocked
+         */
+        @WithDefault("10000")
+        @WithName("max-pending-records")
+        int maxPendingRecords();
+
+    }
+
+    interface LeaderElectionConfig {
+
+        /**
+         * @return whether the watcher runs only on the replica holding the lease
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        @WithDefault("conductor-watcher")
+        @WithName("lease-name")
+        String leaseName();
+
+        /**
+         * @return identity of this replica, defaults to the host (pod) name
+         */
+        Optional<String> identity();
+
+        /**
+         * @return time after which the lease may be taken over by another replica, must not be shorter than
+         *         {@code renew-deadline}, {@code retry-period} and {@code conductor.watcher.stop-timeout} together
+         */
+        @WithDefault("15s")
+        @WithName("lease-duration")
+        Duration leaseDuration();
+
+        /**
+         * @return time in which the leader must renew the lease, otherwise it stops the watcher
+         */
+        @WithDefault("8s")
+        @WithName("renew-deadline")
+        Duration renewDeadline();
+
+        @WithDefault("2s")
+        @WithName("retry-period")
+        Duration retryPeriod();
+
     }
 
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.consumers;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timer driven queue of delayed delivery attempts.
+ * <br>
+ *
+ * The timer thread only hands the attempt over, no event processing happens on it.
+ * Retries are kept in memory only, durability is provided by the watcher offsets
+ * which never move past an event with a pending retry.
+ */
+final class DelayedRetryQueue implements AutoCloseable {
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "conductor-outbox-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // results of the attempts waiting for their delay to elapse
+    private final Set<CompletableFuture<?>> waiting = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Schedules the attempt to be started once the delay elapses
+     *
+     * @param delay delay before the attempt is started
+     * @param attempt the attempt
+     * @return future completed with the result of the attempt
+     */
+    <T> CompletableFuture<T> schedule(Duration delay, Supplier<CompletableFuture<T>> attempt) {
+        var result = new CompletableFuture<T>();
+        waiting.add(result);
+        try {
+            timer.schedule(() -> {
+                // the attempt was cancelled meanwhile
+                if (!waiting.remove(result)) {
+                    return;
+                }
+                try {
+                    attempt.get().whenComplete((value, error) -> {
+                        if (error != null) {
+                            result.completeExceptionally(error);
+                        }
+                        else {
+                            result.complete(value);
+                        }
+                    });
+                }
+                catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        catch (RejectedExecutionException e) {
+            waiting.remove(result);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Cancels all attempts waiting for their delay to elapse, their futures are cancelled and the attempts never start
+     */
+    void cancelAll() {
+        for (var result : waiting) {
+            if (waiting.remove(result)) {
+                result.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * @return number of attempts waiting for their delay to elapse
+     */
+    int size() {
+        return waiting.size();
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+}
@@ -34,7 +34,8 @@ public interface EnvironmentEventConsumer<T> extends BiConsumer<Long, Optional<T
      * Determines whether this consumer consumes events for given aggregate
      * and event types. By default, empty list returned by
      * {@link #consumedAggregates()} or {@link #consumedTypes()} is
-     * treated as a wildcard.
+     * treated as a wildcard. The decision is cached by the dispatcher,
+     * so it must depend on the given aggregate and event types only.
      *
      * @param aggregateType event aggregate eventType
      * @param eventType event eventType
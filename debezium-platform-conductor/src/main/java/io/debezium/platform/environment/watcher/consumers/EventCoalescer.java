@@ -0,0 +1,53 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.consumers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.debezium.platform.environment.watcher.events.EventType;
+
+/**
+ * Collapses outbox events received within a single batch.
+ * <br>
+ *
+ * Both {@link EventType#UPDATE} and {@link EventType#DELETE} events carry the complete
+ * state of the aggregate, hence only the last such event for each aggregate needs
+ * to be delivered. Events of any other type are always kept.
+ */
+final class EventCoalescer {
+
+    private static final Set<String> COALESCED_TYPES = Set.of(EventType.UPDATE.name(), EventType.DELETE.name());
+
+    private EventCoalescer() {
+    }
+
+    /**
+     * @param events events in the order they were received
+     * @return events with superseded UPDATE/DELETE events removed, ordered by the position of the retained event
+     */
+    static List<EventContext> coalesce(List<EventContext> events) {
+        if (events.size() < 2) {
+            return events;
+        }
+
+        var seen = new HashSet<EventContext.AggregateKey>();
+        var result = new ArrayList<EventContext>(events.size());
+
+        for (int i = events.size() - 1; i >= 0; i--) {
+            var event = events.get(i);
+            if (!COALESCED_TYPES.contains(event.eventType()) || seen.add(event.aggregateKey())) {
+                result.add(event);
+            }
+        }
+
+        Collections.reverse(result);
+        return result;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.consumers;
+
+import org.apache.kafka.connect.data.Struct;
+
+import io.debezium.platform.environment.watcher.config.OutboxConfigGroup;
+
+/**
+ * Information extracted from a single outbox event
+ *
+ * @param aggregateType event aggregate type
+ * @param aggregateId event aggregate id
+ * @param eventType event type
+ * @param payload json payload
+ */
+public record EventContext(String aggregateType, String aggregateId, String eventType, String payload) {
+
+    /**
+     * Identifies the aggregate (e.g. a single pipeline) the event belongs to
+     */
+    public record AggregateKey(String aggregateType, String aggregateId) {
+    }
+
+    public AggregateKey aggregateKey() {
+        return new AggregateKey(aggregateType, aggregateId);
+    }
+
+    static EventContext from(Struct value, OutboxConfigGroup outbox) {
+        return new EventContext(
+                value.getString(outbox.aggregateColumn()),
+                value.getString(outbox.aggregateIdColumn()),
+                value.getString(outbox.typeColumn()),
+                value.getString("payload"));
+    }
+}
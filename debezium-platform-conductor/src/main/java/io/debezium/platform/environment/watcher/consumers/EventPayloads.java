@@ -0,0 +1,52 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.consumers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Payload of a single outbox event converted for its consumers.
+ * <br>
+ *
+ * The json payload is converted at most once per payload type, consumers sharing the payload type
+ * receive the same instance. The conversion is performed by the first consumer of each type which asks for it,
+ * hence consumers of the same payload type are expected to convert it in the same way.
+ * <br>
+ *
+ * Instances are not thread safe, consumers of a single event are expected to be invoked one after another.
+ */
+final class EventPayloads {
+
+    private final String payload;
+    private final Map<Class<?>, Optional<?>> converted = new HashMap<>(4);
+
+    EventPayloads(String payload) {
+        this.payload = payload;
+    }
+
+    /**
+     * Converts the payload for given consumer and delivers it
+     *
+     * @param consumer consumer of the event
+     * @param id aggregate id
+     */
+    <T> void deliver(EnvironmentEventConsumer<T> consumer, Long id) {
+        consumer.accept(id, convertFor(consumer));
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Optional<T> convertFor(EnvironmentEventConsumer<T> consumer) {
+        var type = consumer.consumedPayloadType();
+        var result = converted.get(type);
+        if (result == null) {
+            result = Optional.ofNullable(consumer.convert(payload));
+            converted.put(type, result);
+        }
+        return (Optional<T>) result;
+    }
+}
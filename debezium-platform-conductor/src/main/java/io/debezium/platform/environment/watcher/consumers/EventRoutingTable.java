@@ -0,0 +1,68 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.consumers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps aggregate and event types of outbox events to the {@link EnvironmentEventConsumer} instances consuming them.
+ * <br>
+ *
+ * Routes are resolved through {@link EnvironmentEventConsumer#consumes(String, String)}, so consumers
+ * overriding it are routed the same way as when consuming events directly. Routes for all combinations
+ * of the declared aggregate and event types are resolved upfront, routes for any other combination
+ * are resolved on first use. Resolved routes are cached, consumers must therefore decide based on
+ * the aggregate and event type only. Consumers within a route keep the order in which they were registered.
+ */
+final class EventRoutingTable {
+
+    private final List<EnvironmentEventConsumer<?>> consumers = new ArrayList<>();
+    private final Map<String, Map<String, List<EnvironmentEventConsumer<?>>>> routes = new ConcurrentHashMap<>();
+
+    EventRoutingTable(Iterable<? extends EnvironmentEventConsumer<?>> consumers) {
+        Set<String> aggregateTypes = new LinkedHashSet<>();
+        Set<String> eventTypes = new LinkedHashSet<>();
+        for (var consumer : consumers) {
+            this.consumers.add(consumer);
+            aggregateTypes.addAll(consumer.consumedAggregates());
+            eventTypes.addAll(consumer.consumedTypes());
+        }
+
+        for (var aggregateType : aggregateTypes) {
+            for (var eventType : eventTypes) {
+                route(aggregateType, eventType);
+            }
+        }
+    }
+
+    /**
+     * @param aggregateType event aggregate type
+     * @param eventType event type
+     * @return consumers of given event, empty list if there is none
+     */
+    List<EnvironmentEventConsumer<?>> route(String aggregateType, String eventType) {
+        return routes.computeIfAbsent(aggregateType, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(eventType, k -> resolve(aggregateType, eventType));
+    }
+
+    /**
+     * @return number of registered consumers
+     */
+    int size() {
+        return consumers.size();
+    }
+
+    private List<EnvironmentEventConsumer<?>> resolve(String aggregateType, String eventType) {
+        return consumers.stream()
+                .filter(consumer -> consumer.consumes(aggregateType, eventType))
+                .toList();
+    }
+}
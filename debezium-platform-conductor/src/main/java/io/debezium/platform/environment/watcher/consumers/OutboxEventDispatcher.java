@@ -0,0 +1,299 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.consumers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.debezium.platform.environment.watcher.config.WatcherConfigGroup;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+
+/**
+ * Dispatches outbox events to all registered instances of {@link EnvironmentEventConsumer}.
+ * <br>
+ *
+ * Consumers are resolved once through {@link EventRoutingTable} and each event is delivered only
+ * to the consumers of its aggregate and event type. The payload is converted once per payload type
+ * and shared by all consumers of the event (see {@link EventPayloads}).
+ * <br>
+ *
+ * Events are partitioned by their aggregate. Events of the same aggregate (e.g. a single pipeline)
+ * are processed strictly in the order they were dispatched, while events of different aggregates
+ * are processed in parallel on virtual threads. The number of aggregates processed at the same
+ * time is limited by {@code conductor.watcher.dispatch.max-concurrency}.
+ * <br>
+ *
+ * Failed deliveries caused by {@link KubernetesClientException} are retried with exponential backoff
+ * through {@link DelayedRetryQueue}. No thread is blocked while waiting for a retry, however later
+ * events of the same aggregate wait until the retried one is either delivered or skipped.
+ * Skipped events are reported to the caller as {@link DeliveryFailure}.
+ * <br>
+ *
+ * Once the watcher lost its lease the dispatcher is stopped (see {@link #stop(Duration)}), the new leader delivers
+ * the same events again. Pending events and retries are cancelled and no delivery is started afterwards, so events
+ * of an aggregate are never applied by two replicas out of order.
+ */
+@ApplicationScoped
+public class OutboxEventDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxEventDispatcher.class);
+
+    private final EventRoutingTable routingTable;
+    private final int maxRetries;
+    private final Duration initialDelay;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final DelayedRetryQueue retryQueue = new DelayedRetryQueue();
+    private final Map<EventContext.AggregateKey, CompletableFuture<Optional<DeliveryFailure>>> partitions = new ConcurrentHashMap<>();
+    // deliveries hold the read lock, stop() takes the write lock to wait for them
+    private final ReentrantReadWriteLock deliveries = new ReentrantReadWriteLock();
+    // incremented by each stop, deliveries of events dispatched before are not started
+    private final AtomicLong generation = new AtomicLong();
+    private volatile boolean stopped;
+
+    public OutboxEventDispatcher(WatcherConfigGroup watcherConfig, Instance<EnvironmentEventConsumer<?>> eventConsumers) {
+        this.routingTable = new EventRoutingTable(eventConsumers);
+        this.maxRetries = watcherConfig.retry().maxRetries();
+        this.initialDelay = watcherConfig.retry().initialDelay();
+        this.permits = new Semaphore(watcherConfig.dispatch().maxConcurrency());
+    }
+
+    /**
+     * Schedules the event for processing after all previously dispatched events of the same aggregate.
+     *
+     * @param context the event to process
+     * @return future completed once the event was processed by all consumers, holding the failure of the last consumer
+     *         which did not process the event; the future is cancelled only if the dispatcher is stopped
+     */
+    public CompletableFuture<Optional<DeliveryFailure>> dispatch(EventContext context) {
+        if (stopped) {
+            return CompletableFuture.failedFuture(new CancellationException("Outbox event dispatcher is stopped"));
+        }
+
+        var key = context.aggregateKey();
+        var dispatched = generation.get();
+
+        var next = partitions.compute(key, (k, previous) -> {
+            var tail = previous == null ? CompletableFuture.completedFuture(Optional.<DeliveryFailure> empty()) : previous;
+            var result = new CompletableFuture<Optional<DeliveryFailure>>();
+            tail.exceptionally(error -> Optional.empty())
+                    .thenCompose(ignored -> deliver(context, dispatched))
+                    .whenComplete((failure, error) -> complete(result, failure, error, dispatched));
+            return result;
+        });
+        next.whenComplete((result, error) -> partitions.remove(key, next));
+
+        return next;
+    }
+
+    /**
+     * Stops dispatching events. New events are rejected, events waiting for their turn or for a retry are cancelled,
+     * and the deliveries in progress are awaited.
+     *
+     * @param timeout maximal time to wait for the deliveries in progress
+     * @return whether no delivery is in progress anymore, deliveries started before the stop may still run otherwise
+     */
+    public boolean stop(Duration timeout) {
+        stopped = true;
+        generation.incrementAndGet();
+        retryQueue.cancelAll();
+        partitions.values().forEach(result -> result.cancel(false));
+
+        try {
+            if (!deliveries.writeLock().tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                LOGGER.warn("Outbox event deliveries in progress did not complete within {}ms", timeout.toMillis());
+                return false;
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        deliveries.writeLock().unlock();
+        return true;
+    }
+
+    /**
+     * Resumes dispatching of events after {@link #stop(Duration)}
+     */
+    public void start() {
+        stopped = false;
+    }
+
+    /**
+     * @return number of aggregates with events waiting for or under processing
+     */
+    public int pendingPartitions() {
+        return partitions.size();
+    }
+
+    /**
+     * @return number of delivery attempts waiting to be retried
+     */
+    public int pendingRetries() {
+        return retryQueue.size();
+    }
+
+    private boolean isCurrent(long dispatched) {
+        return !stopped && generation.get() == dispatched;
+    }
+
+    /**
+     * Completes the result while holding the read lock, so the callbacks of the caller (e.g. storing a dead letter)
+     * don't run once {@link #stop(Duration)} returned
+     */
+    private void complete(CompletableFuture<Optional<DeliveryFailure>> result, Optional<DeliveryFailure> failure, Throwable error,
+                          long dispatched) {
+        deliveries.readLock().lock();
+        try {
+            if (error != null) {
+                result.completeExceptionally(error);
+            }
+            else if (!isCurrent(dispatched)) {
+                result.cancel(false);
+            }
+            else {
+                result.complete(failure);
+            }
+        }
+        finally {
+            deliveries.readLock().unlock();
+        }
+    }
+
+    private CompletableFuture<Optional<DeliveryFailure>> deliver(EventContext context, long dispatched) {
+        var delivery = CompletableFuture.completedFuture(Optional.<DeliveryFailure> empty());
+        var consumers = routingTable.route(context.aggregateType(), context.eventType());
+        if (consumers.isEmpty()) {
+            return delivery;
+        }
+
+        var payloads = new EventPayloads(context.payload());
+        for (var consumer : consumers) {
+            delivery = delivery.thenCompose(previous -> deliver(consumer, context, payloads, 1, dispatched)
+                    .thenApply(failure -> failure.or(() -> previous)));
+        }
+        return delivery;
+    }
+
+    private CompletableFuture<Optional<DeliveryFailure>> deliver(EnvironmentEventConsumer<?> consumer, EventContext context,
+                                                                 EventPayloads payloads, int attempt, long dispatched) {
+        return CompletableFuture.supplyAsync(() -> consume(consumer, context, payloads, dispatched), executor)
+                .thenCompose(error -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(Optional.<DeliveryFailure> empty());
+                    }
+                    if (error instanceof CancellationException) {
+                        return CompletableFuture.<Optional<DeliveryFailure>> failedFuture(error);
+                    }
+
+                    if (isRetriable(error) && attempt <= maxRetries) {
+                        var delay = backoffDelay(attempt);
+                        LOGGER.warn("Retriable error processing {} event for aggregate {} (#{}),"
+                                + " attempt {}/{}, retrying in {}ms",
+                                context.eventType(), context.aggregateType(), context.aggregateId(),
+                                attempt, maxRetries, delay.toMillis(), error);
+                        return retryQueue.schedule(delay, () -> deliver(consumer, context, payloads, attempt + 1, dispatched));
+                    }
+
+                    LOGGER.error("Failed to process {} event for aggregate {} (#{}){}. Skipping event.",
+                            context.eventType(), context.aggregateType(), context.aggregateId(),
+                            attempt > 1 ? " after %d retries".formatted(attempt - 1) : "",
+                            error);
+                    return CompletableFuture.completedFuture(Optional.of(new DeliveryFailure(error, attempt)));
+                });
+    }
+
+    /**
+     * Runs a single delivery attempt, unless the dispatcher was stopped since the event was dispatched
+     *
+     * @return error thrown by the consumer, {@link CancellationException} if the attempt was not started
+     *         or {@code null} if the attempt succeeded
+     */
+    private Exception consume(EnvironmentEventConsumer<?> consumer, EventContext context, EventPayloads payloads, long dispatched) {
+        deliveries.readLock().lock();
+        try {
+            try {
+                permits.acquire();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return e;
+            }
+
+            try {
+                if (!isCurrent(dispatched)) {
+                    return new CancellationException("Outbox event dispatcher was stopped");
+                }
+                payloads.deliver(consumer, Long.valueOf(context.aggregateId()));
+                return null;
+            }
+            catch (Exception e) {
+                return e;
+            }
+            finally {
+                permits.release();
+            }
+        }
+        finally {
+            deliveries.readLock().unlock();
+        }
+    }
+
+    private Duration backoffDelay(int attempt) {
+        return initialDelay.multipliedBy((long) Math.pow(2, attempt - 1));
+    }
+
+    private boolean isRetriable(Throwable throwable) {
+        for (var current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof KubernetesClientException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Event which was skipped by a consumer
+     *
+     * @param error the error thrown by the last delivery attempt
+     * @param attempts number of delivery attempts made
+     */
+    public record DeliveryFailure(Exception error, int attempts) {
+    }
+
+    @PreDestroy
+    void close() {
+        retryQueue.close();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+        catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -5,124 +5,166 @@
  */
 package io.debezium.platform.environment.watcher.consumers;
 
-import java.util.function.Consumer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import jakarta.enterprise.context.Dependent;
-import jakarta.enterprise.inject.Instance;
 
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.debezium.DebeziumException;
 import io.debezium.engine.ChangeEvent;
+import io.debezium.engine.DebeziumEngine;
+import io.debezium.platform.domain.DeadLetterService;
 import io.debezium.platform.environment.watcher.config.OutboxConfigGroup;
 import io.debezium.platform.environment.watcher.config.WatcherConfigGroup;
-import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.debezium.platform.environment.watcher.metrics.WatcherMetrics;
 
 /**
  * Top level consumer of outbox events. Parent consumer will extract
- * required information from the accepted {@link ChangeEvent} and delegate
- * to all registered instances of {@link EnvironmentEventConsumer}
+ * required information from each {@link ChangeEvent} in the batch and hand it over
+ * to {@link OutboxEventDispatcher} which delegates to all registered instances of {@link EnvironmentEventConsumer}
+ * <br>
+ *
+ * Events for the same aggregate within a batch are coalesced (see {@link EventCoalescer}),
+ * so only the latest state of each aggregate is delivered. The batch is not awaited, instead records
+ * are marked as processed in order, each one only after all events of its aggregate dispatched
+ * in the same batch have completed. Records which are still in flight (e.g. waiting for a retry) are
+ * carried over and marked during subsequent batches. Once the number of such records exceeds
+ * {@code conductor.watcher.dispatch.max-pending-records} the engine is blocked until they complete.
+ * <br>
+ *
+ * Events which could not be delivered even after all retries are stored by {@link DeadLetterService},
+ * before their records are marked as processed, so they can be replayed later. Should storing the dead letter
+ * fail, the record is not marked and the batch fails, so the event is delivered again after the engine restarts.
  * <br>
  *
  * It's then up to {@link EnvironmentEventConsumer} instances to either process
  * or ignore the event.
  */
 @Dependent
-public final class OutboxParentEventConsumer implements Consumer<ChangeEvent<SourceRecord, SourceRecord>> {
+public final class OutboxParentEventConsumer implements DebeziumEngine.ChangeConsumer<ChangeEvent<SourceRecord, SourceRecord>> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OutboxParentEventConsumer.class);
 
-    private final OutboxConfigGroup outbox;
-    private final Instance<EnvironmentEventConsumer<?>> eventConsumers;
-    private final int maxRetries;
+    private static final CompletableFuture<Void> COMPLETED = CompletableFuture.completedFuture(null);
 
-    public OutboxParentEventConsumer(OutboxConfigGroup outbox, WatcherConfigGroup watcherConfig,
-                                     Instance<EnvironmentEventConsumer<?>> eventConsumers) {
+    private final OutboxConfigGroup outbox;
+    private final OutboxEventDispatcher dispatcher;
+    private final DeadLetterService deadLetters;
+    private final WatcherMetrics metrics;
+    private final int maxPendingRecords;
+    private final Deque<PendingRecord> pending = new ArrayDeque<>();
+
+    public OutboxParentEventConsumer(OutboxConfigGroup outbox, WatcherConfigGroup watcherConfig, OutboxEventDispatcher dispatcher,
+                                     DeadLetterService deadLetters, WatcherMetrics metrics) {
         this.outbox = outbox;
-        this.eventConsumers = eventConsumers;
-        this.maxRetries = watcherConfig.retry().maxRetries();
+        this.dispatcher = dispatcher;
+        this.deadLetters = deadLetters;
+        this.metrics = metrics;
+        this.maxPendingRecords = watcherConfig.dispatch().maxPendingRecords();
     }
 
     @Override
-    public void accept(ChangeEvent<SourceRecord, SourceRecord> event) {
-        var value = (Struct) event.value().value();
+    public void handleBatch(List<ChangeEvent<SourceRecord, SourceRecord>> records,
+                            DebeziumEngine.RecordCommitter<ChangeEvent<SourceRecord, SourceRecord>> committer)
+            throws InterruptedException {
+
+        var events = new ArrayList<EventContext>(records.size());
+        var recordKeys = new ArrayList<EventContext.AggregateKey>(records.size());
+        var sources = new IdentityHashMap<EventContext, SourceRecord>(records.size());
+        for (var record : records) {
+            var value = (Struct) record.value().value();
+
+            if (value == null || value.schema().field(outbox.aggregateColumn()) == null) {
+                recordKeys.add(null);
+                continue;
+            }
 
-        if (value == null || value.schema().field(outbox.aggregateColumn()) == null) {
-            return;
+            var context = EventContext.from(value, outbox);
+            events.add(context);
+            sources.put(context, record.value());
+            recordKeys.add(context.aggregateKey());
         }
 
-        var context = EventContext.from(value, outbox);
-
-        LOGGER.debug("Consumed {} event for {} (#{}) with payload {}",
-                context.eventType(), context.aggregateType(), context.aggregateId(), context.payload());
+        var coalesced = EventCoalescer.coalesce(events);
+        if (coalesced.size() < events.size()) {
+            LOGGER.debug("Coalesced {} outbox events into {}", events.size(), coalesced.size());
+        }
 
-        eventConsumers.forEach(consumer -> consumeWithRetry(consumer, context));
-    }
+        // events of a single aggregate complete in order, so the last one covers all of them
+        Map<EventContext.AggregateKey, CompletableFuture<Void>> completions = new HashMap<>();
+        for (var context : coalesced) {
+            LOGGER.debug("Consumed {} event for {} (#{}) with payload {}",
+                    context.eventType(), context.aggregateType(), context.aggregateId(), context.payload());
+
+            var sample = metrics.received(context, sources.get(context));
+            // completes exceptionally when the dead letter can't be stored, so the record is never marked
+            var completion = dispatcher.dispatch(context)
+                    .thenAccept(failure -> {
+                        sample.stop(failure.isEmpty());
+                        failure.ifPresent(f -> deadLetters.store(context, f));
+                    });
+            completions.put(context.aggregateKey(), completion);
+        }
 
-    private void consumeWithRetry(EnvironmentEventConsumer<?> consumer, EventContext context) {
+        for (int i = 0; i < records.size(); i++) {
+            var key = recordKeys.get(i);
+            pending.addLast(new PendingRecord(records.get(i), key != null ? completions.get(key) : COMPLETED));
+        }
 
-        for (int attempt = 1; attempt <= maxRetries + 1; attempt++) {
-            try {
-                consumer.consume(context.aggregateType(), context.eventType(),
-                        Long.valueOf(context.aggregateId()), context.payload());
-                return;
+        var marked = false;
+        try {
+            while (!pending.isEmpty() && (pending.peekFirst().completion().isDone() || pending.size() > maxPendingRecords)) {
+                var head = pending.peekFirst();
+                await(head.completion());
+                pending.pollFirst();
+                committer.markProcessed(head.record());
+                metrics.processed(head.record().value());
+                marked = true;
             }
-            catch (Exception e) {
-                if (isRetriable(e) && attempt <= maxRetries) {
-                    var delay = backoffDelay(attempt);
-                    LOGGER.warn("Retriable error processing {} event for aggregate {} (#{}),"
-                            + " attempt {}/{}, retrying in {}ms",
-                            context.eventType(), context.aggregateType(), context.aggregateId(),
-                            attempt, maxRetries, delay, e);
-                    if (!sleep(delay)) {
-                        return;
-                    }
-                }
-                else {
-                    LOGGER.error("Failed to process {} event for aggregate {} (#{}){}. Skipping event.",
-                            context.eventType(), context.aggregateType(), context.aggregateId(),
-                            attempt > 1 ? " after %d retries".formatted(attempt - 1) : "",
-                            e);
-                    return;
-                }
+        }
+        finally {
+            if (marked) {
+                committer.markBatchFinished();
             }
         }
-    }
 
-    private long backoffDelay(int attempt) {
-        return (long) Math.pow(2, attempt - 1) * 1000;
+        if (!pending.isEmpty()) {
+            LOGGER.debug("{} outbox records awaiting completion, {} retries scheduled", pending.size(), dispatcher.pendingRetries());
+        }
     }
 
-    private boolean sleep(long millis) {
-        try {
-            Thread.sleep(millis);
-            return true;
-        }
-        catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
+    /**
+     * Discards records carried over from a previous engine run. They were not marked as processed
+     * and will be delivered again once the engine is restarted.
+     */
+    public void reset() {
+        if (!pending.isEmpty()) {
+            LOGGER.info("Discarding {} outbox records of the previous engine run", pending.size());
+            pending.clear();
         }
     }
 
-    private boolean isRetriable(Throwable throwable) {
-        for (var current = throwable; current != null; current = current.getCause()) {
-            if (current instanceof KubernetesClientException) {
-                return true;
-            }
+    private void await(CompletableFuture<Void> completion) throws InterruptedException {
+        try {
+            completion.get();
+        }
+        catch (ExecutionException e) {
+            throw new DebeziumException("Outbox event was neither delivered nor stored as a dead letter", e.getCause());
         }
-        return false;
     }
 
-    private record EventContext(String aggregateType, String aggregateId, String eventType, String payload) {
-
-        static EventContext from(Struct value, OutboxConfigGroup outbox) {
-            return new EventContext(
-                    value.getString(outbox.aggregateColumn()),
-                    value.getString(outbox.aggregateIdColumn()),
-                    value.getString(outbox.typeColumn()),
-                    value.getString("payload"));
-        }
+    private record PendingRecord(ChangeEvent<SourceRecord, SourceRecord> record, CompletableFuture<Void> completion) {
     }
 }
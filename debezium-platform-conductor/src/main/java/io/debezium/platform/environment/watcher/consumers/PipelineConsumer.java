@@ -6,8 +6,8 @@
 package io.debezium.platform.environment.watcher.consumers;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.inject.Instance;
@@ -24,18 +24,21 @@ import io.debezium.platform.environment.watcher.events.EventType;
 @Dependent
 public class PipelineConsumer extends AbstractEventConsumer<PipelineFlat> {
 
+    private static final Set<String> AGGREGATES = Set.of("pipeline");
+    private static final Set<String> TYPES = Set.of(EventType.UPDATE.name(), EventType.DELETE.name());
+
     public PipelineConsumer(Logger logger, Instance<EnvironmentController> environment, ObjectMapper objectMapper, EntityViewManager evm) {
         super(logger, environment, objectMapper, evm, PipelineFlat.class);
     }
 
     @Override
     public Collection<String> consumedAggregates() {
-        return List.of("pipeline");
+        return AGGREGATES;
     }
 
     @Override
     public Collection<String> consumedTypes() {
-        return List.of(EventType.UPDATE.name(), EventType.DELETE.name());
+        return TYPES;
     }
 
     @Override
@@ -6,8 +6,8 @@
 package io.debezium.platform.environment.watcher.consumers;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.inject.Instance;
@@ -24,18 +24,21 @@ import io.debezium.platform.environment.watcher.events.EventType;
 @Dependent
 public class VaultConsumer extends AbstractEventConsumer<Vault> {
 
+    private static final Set<String> AGGREGATES = Set.of("vault");
+    private static final Set<String> TYPES = Set.of(EventType.UPDATE.name(), EventType.DELETE.name());
+
     public VaultConsumer(Logger logger, Instance<EnvironmentController> environment, ObjectMapper objectMapper, EntityViewManager evm) {
         super(logger, environment, objectMapper, evm, Vault.class);
     }
 
     @Override
     public Collection<String> consumedAggregates() {
-        return List.of("vault");
+        return AGGREGATES;
     }
 
     @Override
     public Collection<String> consumedTypes() {
-        return List.of(EventType.UPDATE.name(), EventType.DELETE.name());
+        return TYPES;
     }
 
     @Override
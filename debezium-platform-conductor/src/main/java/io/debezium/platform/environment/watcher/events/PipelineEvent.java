@@ -14,7 +14,7 @@ import io.debezium.platform.domain.views.flat.PipelineFlat;
 
 public final class PipelineEvent extends AbstractEvent {
 
-    private static final String AGGREGATE_TYPE = "pipeline";
+    public static final String AGGREGATE_TYPE = "pipeline";
 
     private PipelineEvent(String aggregateId, EventType type, Instant timestamp, JsonNode payload) {
         super(AGGREGATE_TYPE, aggregateId, type, timestamp, payload);
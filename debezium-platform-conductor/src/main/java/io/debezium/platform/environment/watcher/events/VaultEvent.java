@@ -14,7 +14,7 @@ import io.debezium.platform.domain.views.Vault;
 
 public final class VaultEvent extends AbstractEvent {
 
-    private static final String AGGREGATE_TYPE = "vault";
+    public static final String AGGREGATE_TYPE = "vault";
 
     private VaultEvent(String aggregateId, EventType type, Instant timestamp, JsonNode payload) {
         super(AGGREGATE_TYPE, aggregateId, type, timestamp, payload);
@@ -0,0 +1,152 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.apache.kafka.connect.source.SourceRecord;
+
+import io.debezium.platform.environment.watcher.consumers.EventContext;
+import io.debezium.platform.environment.watcher.consumers.OutboxEventDispatcher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Metrics of the outbox watcher measuring how long it takes for a change of the conductor's data
+ * to be applied to the environment.
+ * <br>
+ *
+ * The outbox insert is represented by the commit timestamp of the transaction which wrote the outbox row
+ * (the {@code ts_usec} field of the Postgres source offset), hence all latencies are measured from the commit
+ * of the REST request which caused the change.
+ * <ul>
+ *     <li>{@code conductor.watcher.event.receipt} - from the outbox insert to the receipt by the engine</li>
+ *     <li>{@code conductor.watcher.event.processing} - from the receipt to the completion by all consumers</li>
+ *     <li>{@code conductor.watcher.event.propagation} - from the outbox insert to the completion by all consumers</li>
+ * </ul>
+ * All timers are tagged by aggregate and event type and publish histograms. The time spent applying resources
+ * to Kubernetes is recorded separately as {@code conductor.kubernetes.apply}.
+ */
+@ApplicationScoped
+public class WatcherMetrics {
+
+    public static final String RECEIPT_TIMER = "conductor.watcher.event.receipt";
+    public static final String PROCESSING_TIMER = "conductor.watcher.event.processing";
+    public static final String PROPAGATION_TIMER = "conductor.watcher.event.propagation";
+    public static final String RETRY_QUEUE_GAUGE = "conductor.watcher.retry.queue.depth";
+    public static final String PENDING_AGGREGATES_GAUGE = "conductor.watcher.pending.aggregates";
+    public static final String LAST_LSN_GAUGE = "conductor.watcher.last.processed.lsn";
+
+    private static final String LSN_OFFSET_KEY = "lsn";
+    private static final String COMMIT_TIMESTAMP_OFFSET_KEY = "ts_usec";
+
+    private final MeterRegistry registry;
+    private final AtomicLong lastProcessedLsn = new AtomicLong();
+
+    public WatcherMetrics(MeterRegistry registry, OutboxEventDispatcher dispatcher) {
+        this.registry = registry;
+
+        Gauge.builder(RETRY_QUEUE_GAUGE, dispatcher, OutboxEventDispatcher::pendingRetries)
+                .description("Number of outbox event deliveries waiting to be retried")
+                .register(registry);
+        Gauge.builder(PENDING_AGGREGATES_GAUGE, dispatcher, OutboxEventDispatcher::pendingPartitions)
+                .description("Number of aggregates with outbox events waiting for or under processing")
+                .register(registry);
+        Gauge.builder(LAST_LSN_GAUGE, lastProcessedLsn, AtomicLong::get)
+                .description("LSN of the last change marked as processed by the outbox watcher")
+                .register(registry);
+    }
+
+    /**
+     * Records the receipt of an outbox event by the engine
+     *
+     * @param context received event
+     * @param record source record carrying the event
+     * @return sample to be stopped once the event was processed
+     */
+    public Sample received(EventContext context, SourceRecord record) {
+        var tags = tags(context);
+        var committedAt = commitTimestampMicros(record);
+        var receivedAt = currentTimeMicros();
+
+        if (committedAt > 0) {
+            timer(RECEIPT_TIMER, "Time from outbox insert to receipt by the watcher", tags)
+                    .record(Math.max(0, receivedAt - committedAt), TimeUnit.MICROSECONDS);
+        }
+        return new Sample(tags, committedAt, System.nanoTime());
+    }
+
+    /**
+     * Records the change as processed
+     */
+    public void processed(SourceRecord record) {
+        var offset = record.sourceOffset();
+        if (offset != null && offset.get(LSN_OFFSET_KEY) instanceof Number lsn) {
+            lastProcessedLsn.set(lsn.longValue());
+        }
+    }
+
+    private Timer timer(String name, String description, Tags tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Tags tags(EventContext context) {
+        return Tags.of("aggregate_type", context.aggregateType(), "event_type", context.eventType());
+    }
+
+    private static long commitTimestampMicros(SourceRecord record) {
+        var offset = record.sourceOffset();
+        if (offset != null && offset.get(COMMIT_TIMESTAMP_OFFSET_KEY) instanceof Number timestamp) {
+            return timestamp.longValue();
+        }
+        return -1;
+    }
+
+    private static long currentTimeMicros() {
+        return TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    }
+
+    /**
+     * Timing of a single outbox event
+     */
+    public final class Sample {
+
+        private final Tags tags;
+        private final long committedAt;
+        private final long receivedNanos;
+
+        private Sample(Tags tags, long committedAt, long receivedNanos) {
+            this.tags = tags;
+            this.committedAt = committedAt;
+            this.receivedNanos = receivedNanos;
+        }
+
+        /**
+         * @param delivered whether the event was delivered to all consumers
+         */
+        public void stop(boolean delivered) {
+            var outcomeTags = tags.and("outcome", delivered ? "delivered" : "failed");
+
+            timer(PROCESSING_TIMER, "Time from receipt by the watcher to completion by all consumers", outcomeTags)
+                    .record(Duration.ofNanos(System.nanoTime() - receivedNanos));
+
+            if (committedAt > 0) {
+                timer(PROPAGATION_TIMER, "Time from outbox insert to completion by all consumers", outcomeTags)
+                        .record(Math.max(0, currentTimeMicros() - committedAt), TimeUnit.MICROSECONDS);
+            }
+        }
+    }
+}
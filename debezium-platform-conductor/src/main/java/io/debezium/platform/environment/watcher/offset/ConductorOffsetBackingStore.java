@@ -0,0 +1,128 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.offset;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.storage.MemoryOffsetBackingStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.arc.Arc;
+
+/**
+ * Offset store of the outbox watcher keeping the offsets in the {@code watcher_offset} table of the conductor's database.
+ * <br>
+ *
+ * Offsets are kept in memory and loaded once when the store is started, so the engine resumes right after
+ * the last flushed LSN. Each flush (see {@code offset.flush.interval.ms}) writes all offsets as a single batched
+ * upsert within one transaction, so the stored offsets are never partially updated.
+ * <br>
+ *
+ * The engine commits the offsets of processed events when it is stopped and the store writes them once more
+ * after its pending flushes finished, so a graceful restart replays nothing. After a crash the events processed
+ * since the last flush are replayed, which is safe as applying an unchanged pipeline leaves its resources untouched.
+ * <br>
+ *
+ * The store is instantiated by the engine, hence the conductor's datasource is looked up from the CDI container.
+ */
+public class ConductorOffsetBackingStore extends MemoryOffsetBackingStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConductorOffsetBackingStore.class);
+
+    private static final String SELECT_OFFSETS = "SELECT offset_key, offset_value FROM watcher_offset";
+    private static final String UPSERT_OFFSET = """
+            INSERT INTO watcher_offset (offset_key, offset_value, updated_at) VALUES (?, ?, now()) \
+            ON CONFLICT (offset_key) DO UPDATE SET offset_value = excluded.offset_value, updated_at = excluded.updated_at\
+            """;
+
+    private DataSource dataSource;
+
+    @Override
+    public synchronized void start() {
+        super.start();
+        dataSource = Arc.container().instance(AgroalDataSource.class).get();
+        load();
+    }
+
+    @Override
+    public synchronized void stop() {
+        super.stop();
+        if (dataSource != null) {
+            save();
+        }
+    }
+
+    private void load() {
+        var offsets = new HashMap<ByteBuffer, ByteBuffer>();
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(SELECT_OFFSETS);
+                var rs = statement.executeQuery()) {
+            while (rs.next()) {
+                var value = rs.getBytes(2);
+                offsets.put(ByteBuffer.wrap(rs.getBytes(1)), value != null ? ByteBuffer.wrap(value) : null);
+            }
+        }
+        catch (SQLException e) {
+            throw new ConnectException("Failed to load watcher offsets", e);
+        }
+
+        data = offsets;
+        LOGGER.info("Loaded {} watcher offsets", offsets.size());
+    }
+
+    @Override
+    protected void save() {
+        Map<ByteBuffer, ByteBuffer> offsets = new HashMap<>(data);
+        if (offsets.isEmpty()) {
+            return;
+        }
+
+        try (var connection = dataSource.getConnection()) {
+            var autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                upsert(connection, offsets);
+                connection.commit();
+            }
+            catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+            finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        catch (SQLException e) {
+            throw new ConnectException("Failed to store watcher offsets", e);
+        }
+    }
+
+    private void upsert(Connection connection, Map<ByteBuffer, ByteBuffer> offsets) throws SQLException {
+        try (var statement = connection.prepareStatement(UPSERT_OFFSET)) {
+            for (var entry : offsets.entrySet()) {
+                statement.setBytes(1, toBytes(entry.getKey()));
+                statement.setBytes(2, entry.getValue() != null ? toBytes(entry.getValue()) : null);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        var bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
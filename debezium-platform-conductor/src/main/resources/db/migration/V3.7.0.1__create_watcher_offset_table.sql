@@ -0,0 +1,8 @@
+-- Offsets of the outbox watcher (see ConductorOffsetBackingStore)
+
+create table watcher_offset (
+    offset_key bytea not null,
+    offset_value bytea,
+    updated_at timestamp(6) with time zone not null,
+    primary key (offset_key)
+);
@@ -0,0 +1,16 @@
+-- Cluster each pipeline is deployed to (see KubernetesClusters)
+
+create table pipeline_placement (
+    pipeline_id bigint not null,
+    cluster varchar(255) not null,
+    assigned_at timestamp(6) with time zone not null,
+    primary key (pipeline_id)
+);
+
+alter table if exists pipeline_placement
+    add constraint FK_pipeline_placement_pipeline
+    foreign key (pipeline_id)
+    references pipeline
+    on delete cascade;
+
+create index idx_pipeline_placement_cluster on pipeline_placement (cluster);
@@ -0,0 +1,17 @@
+-- Outbox events which exhausted their delivery retries and can be replayed later
+
+create sequence outbox_dead_letter_SEQ start with 1 increment by 50;
+
+create table outbox_dead_letter (
+    id bigint not null,
+    aggregate_type varchar(255) not null,
+    aggregate_id varchar(255) not null,
+    event_type varchar(255) not null,
+    payload text,
+    error text,
+    attempts integer not null,
+    failed_at timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create index idx_outbox_dead_letter_aggregate on outbox_dead_letter (aggregate_type, aggregate_id);
@@ -263,6 +263,57 @@ class OutboxEventIT {
         assertThat(events.getFirst().aggregateType()).isEqualTo("pipeline");
     }
 
+    @Test
+    @DisplayName("When a connection shared by several pipelines is updated then exactly one outbox event per pipeline must be created")
+    void updatingSharedConnectionShouldCreateSingleOutboxEventPerPipeline() {
+
+        TestDatasourceHelper dbHelper = TestDatasourceHelper.parsePostgresJdbcUrl(datasourceUrl);
+
+        Long otherPipelineId = createResource("api/pipelines", """
+                {
+                   "name": "test-pipeline-other-%s",
+                   "description": "Second pipeline sharing the source",
+                   "source": {
+                     "id": %s,
+                     "name": "test-source-%s"
+                   },
+                   "destination": {
+                     "id": %s,
+                     "name": "test-destination-%s"
+                   },
+                   "transforms": [],
+                   "logLevel": "INFO",
+                   "logLevels": {}
+                 }""".formatted(resourceSuffix, sourceId, resourceSuffix, destinationId, resourceSuffix));
+        clearEventsTable();
+
+        given()
+                .header("Content-Type", "application/json")
+                .body("""
+                        {
+                               "name": "postgres-connection-%s",
+                               "type": "POSTGRESQL",
+                               "config": {
+                                 "hostname": "shared-postgresql-host",
+                                 "port": %s,
+                                 "username": "debezium",
+                                 "password": "debezium",
+                                 "database": "debezium"
+                               }
+                             }
+                          }""".formatted(resourceSuffix, dbHelper.getPort()))
+                .when().put("api/connections/" + sourceConnectionId)
+                .then()
+                .statusCode(200);
+
+        assertThat(findPipelineEvents(pipelineId))
+                .as("Each pipeline should receive exactly one outbox event")
+                .hasSize(1);
+        assertThat(findPipelineEvents(otherPipelineId))
+                .as("Each pipeline should receive exactly one outbox event")
+                .hasSize(1);
+    }
+
     @FixFor("debezium/dbz#1939")
     @Test
     @DisplayName("When a transform referenced by a pipeline is updated then an outbox event for the pipeline must be created")
@@ -8,6 +8,8 @@ package io.debezium.platform.api;
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 
 import java.time.Duration;
@@ -516,4 +518,46 @@ class PipelineResourceIT {
                         }"""));
     }
 
+    @Test
+    @DisplayName("Bulk deployment deploys selected pipelines and reports unknown ones")
+    void bulkDeployPipelines() {
+
+        Number pipelineId = given()
+                .header("Content-Type", "application/json")
+                .body("""
+                        {
+                           "name": "test-pipeline-bulk-%s",
+                           "source": {
+                             "id": %s
+                           },
+                           "destination": {
+                             "id": %s
+                           },
+                           "transforms": [],
+                           "logLevel": "INFO"
+                         }""".formatted(resourceSuffix, sourceId, destinationId))
+                .when().post("api/pipelines")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        Mockito.reset(k8sAdapter);
+
+        given()
+                .header("Content-Type", "application/json")
+                .body("""
+                        { "ids": [%s, -1] }""".formatted(pipelineId))
+                .when().post("api/pipelines/deploy")
+                .then()
+                .statusCode(200)
+                .body(allOf(
+                        containsString("\"id\":%s,\"name\":\"test-pipeline-bulk-%s\",\"status\":\"DEPLOYED\"".formatted(pipelineId, resourceSuffix)),
+                        containsString("\"id\":-1,\"name\":null,\"status\":\"NOT_FOUND\"")));
+
+        Mockito.verify(k8sAdapter, Mockito.atLeastOnce()).deployPipeline(debeziumServerArgumentCaptor.capture());
+        assertThat(debeziumServerArgumentCaptor.getAllValues())
+                .anyMatch(ds -> ds.getMetadata().getName().equals("test-pipeline-bulk-" + resourceSuffix));
+    }
+
 }
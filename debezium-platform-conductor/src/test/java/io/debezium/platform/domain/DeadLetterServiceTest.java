@@ -0,0 +1,93 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import jakarta.persistence.EntityManager;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import io.debezium.platform.domain.views.DeadLetter;
+import io.debezium.platform.domain.views.flat.PipelineFlat;
+import io.debezium.platform.environment.watcher.consumers.EventContext;
+import io.debezium.platform.environment.watcher.consumers.OutboxEventDispatcher;
+
+class DeadLetterServiceTest {
+
+    private final EntityManager em = mock(EntityManager.class);
+    private final EntityViewManager evm = mock(EntityViewManager.class);
+    private final OutboxEventDispatcher dispatcher = mock(OutboxEventDispatcher.class);
+    private final ObjectMapper objectMapper = mock(ObjectMapper.class);
+    private DeadLetterService service;
+
+    @BeforeEach
+    void setUp() {
+        when(dispatcher.dispatch(any())).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        service = spy(new DeadLetterService(em, mock(CriteriaBuilderFactory.class), evm, Logger.getLogger(DeadLetterService.class),
+                dispatcher, objectMapper));
+    }
+
+    @Test
+    @DisplayName("Dead letters are replayed once per aggregate with its current state instead of the stored payload")
+    void shouldReplayCurrentState() {
+        var pipeline = mock(PipelineFlat.class);
+        when(pipeline.getId()).thenReturn(1L);
+        when(evm.find(em, PipelineFlat.class, 1L)).thenReturn(pipeline);
+        when(objectMapper.valueToTree(pipeline)).thenReturn(JsonNodeFactory.instance.objectNode().put("name", "current"));
+        doReturn(List.of(deadLetter(10L, "1", "{\"name\":\"stale\"}"), deadLetter(11L, "1", "{\"name\":\"older\"}")))
+                .when(service).list(List.of());
+
+        var result = service.replay(List.of());
+
+        var captor = ArgumentCaptor.forClass(EventContext.class);
+        verify(dispatcher, times(1)).dispatch(captor.capture());
+        assertThat(captor.getValue()).isEqualTo(new EventContext("pipeline", "1", "UPDATE", "{\"name\":\"current\"}"));
+        assertThat(result).isEqualTo(new DeadLetterService.ReplayResult(2, 0));
+        verify(evm).remove(em, DeadLetter.class, 10L);
+        verify(evm).remove(em, DeadLetter.class, 11L);
+    }
+
+    @Test
+    @DisplayName("Dead letters of a deleted aggregate are replayed as its deletion")
+    void shouldReplayDeletedAggregateAsDelete() {
+        doReturn(List.of(deadLetter(10L, "2", "{\"name\":\"stale\"}"))).when(service).list(List.of(10L));
+
+        service.replay(List.of(10L));
+
+        verify(dispatcher).dispatch(new EventContext("pipeline", "2", "DELETE", null));
+    }
+
+    private static DeadLetter deadLetter(Long id, String aggregateId, String payload) {
+        var deadLetter = mock(DeadLetter.class);
+        when(deadLetter.getId()).thenReturn(id);
+        when(deadLetter.getAggregateType()).thenReturn("pipeline");
+        when(deadLetter.getAggregateId()).thenReturn(aggregateId);
+        when(deadLetter.getEventType()).thenReturn("UPDATE");
+        when(deadLetter.getPayload()).thenReturn(payload);
+        return deadLetter;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LogFilterTest {
+
+    private static final String LOG = """
+            2025-01-01 10:00:00,000 DEBUG [io.deb.con.pos.PostgresConnectorTask] (task-1) Polling records
+            2025-01-01 10:00:01,000 INFO  [io.deb.con.pos.PostgresConnectorTask] (task-1) Snapshot completed
+            2025-01-01 10:00:02,000 WARN  [io.deb.ser.DebeziumServer] (main) Offset flush took too long
+            2025-01-01 10:00:03,000 ERROR [io.deb.emb.EmbeddedEngine] (task-1) Task failed
+            java.lang.IllegalStateException: Connection lost
+            \tat io.debezium.Example.run(Example.java:1)
+            2025-01-01 10:00:04,000 INFO  [io.qua.run.Application] (main) Stopped
+            """;
+
+    @Test
+    @DisplayName("Empty filter selects the whole log")
+    void shouldSelectAll() {
+        assertThat(LogFilter.none().apply(LOG)).isEqualTo(LOG);
+    }
+
+    @Test
+    @DisplayName("Lines are selected by minimal level together with their stack traces")
+    void shouldFilterByLevel() {
+        var filter = LogFilter.of("warn", null, null, null, null);
+
+        assertThat(filter.apply(LOG)).isEqualTo("""
+                2025-01-01 10:00:02,000 WARN  [io.deb.ser.DebeziumServer] (main) Offset flush took too long
+                2025-01-01 10:00:03,000 ERROR [io.deb.emb.EmbeddedEngine] (task-1) Task failed
+                java.lang.IllegalStateException: Connection lost
+                \tat io.debezium.Example.run(Example.java:1)
+                """);
+    }
+
+    @Test
+    @DisplayName("Full category prefix matches abbreviated categories")
+    void shouldFilterByCategory() {
+        var filter = LogFilter.of(null, "io.debezium.connector.postgresql", null, null, null);
+
+        assertThat(filter.apply(LOG)).isEqualTo("""
+                2025-01-01 10:00:00,000 DEBUG [io.deb.con.pos.PostgresConnectorTask] (task-1) Polling records
+                2025-01-01 10:00:01,000 INFO  [io.deb.con.pos.PostgresConnectorTask] (task-1) Snapshot completed
+                """);
+        assertThat(LogFilter.of(null, "io.debezium.connector.mysql", null, null, null).apply(LOG)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Lines are selected by regular expression and time window")
+    void shouldFilterByRegexAndTime() {
+        var filter = LogFilter.of(null, null, "(?i)task", "2025-01-01T10:00:01Z", "2025-01-01T10:00:04Z");
+
+        assertThat(filter.apply(LOG)).isEqualTo("""
+                2025-01-01 10:00:01,000 INFO  [io.deb.con.pos.PostgresConnectorTask] (task-1) Snapshot completed
+                2025-01-01 10:00:03,000 ERROR [io.deb.emb.EmbeddedEngine] (task-1) Task failed
+                java.lang.IllegalStateException: Connection lost
+                \tat io.debezium.Example.run(Example.java:1)
+                """);
+    }
+
+    @Test
+    @DisplayName("Lines of a log in another format are matched by regular expression only")
+    void shouldMatchUnparsedLines() {
+        var matcher = LogFilter.of(null, null, "failed", null, null).matcher();
+
+        assertThat(matcher.matches("{\"level\":\"ERROR\",\"message\":\"Task failed\"}")).isTrue();
+        assertThat(matcher.matches("{\"level\":\"INFO\",\"message\":\"Stopped\"}")).isFalse();
+        assertThat(LogFilter.of("ERROR", null, null, null, null).matcher().matches("{\"level\":\"ERROR\"}")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Timestamps are parsed as UTC")
+    void shouldParseTimestamp() {
+        var line = new QuarkusLogLine();
+        var parsed = "2024-02-29 23:59:58,123 TRACE [io.Foo] (main) leap day";
+        var unparsed = "2024-02-29 23:59:58,123 TRACE io.Foo (main) no category";
+
+        assertThat(line.parse(parsed, 0, parsed.length())).isTrue();
+        assertThat(line.timestamp()).isEqualTo(Instant.parse("2024-02-29T23:59:58.123Z").toEpochMilli());
+        assertThat(line.level()).isEqualTo(LogFilter.Level.TRACE);
+        assertThat(line.parse(unparsed, 0, unparsed.length())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Invalid parameters are rejected")
+    void shouldRejectInvalidParameters() {
+        assertThatThrownBy(() -> LogFilter.of("LOUD", null, null, null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LogFilter.of(null, null, "(", null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LogFilter.of(null, null, null, "yesterday", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.debezium.platform.config.LogsConfigGroup;
+import io.debezium.platform.environment.logs.LogReader;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.operators.multi.processors.UnicastProcessor;
+
+class LogStreamingServiceTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<QueueLogReader> readers = new CopyOnWriteArrayList<>();
+    private LogStreamingService service = service(1024, 1024 * 1024, Duration.ZERO);
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Subscribers of the same log share a single upstream reader")
+    void shouldShareUpstream() {
+        List<String> first = new CopyOnWriteArrayList<>();
+        List<String> second = new CopyOnWriteArrayList<>();
+
+        var firstStream = service.stream("1", this::open).subscribe().with(first::add);
+        readers.getFirst().lines.onNext("line-1");
+        await().atMost(Duration.ofSeconds(5)).until(() -> first.size() == 1);
+
+        var secondStream = service.stream("1", this::open).subscribe().with(second::add);
+        readers.getFirst().lines.onNext("line-2");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> first.size() == 2 && second.size() == 2);
+        assertThat(first).containsExactly("line-1", "line-2");
+        // recent lines are replayed to late subscribers
+        assertThat(second).containsExactly("line-1", "line-2");
+        assertThat(readers).hasSize(1);
+        assertThat(service.activeLogs()).isEqualTo(1);
+
+        firstStream.cancel();
+        secondStream.cancel();
+    }
+
+    @Test
+    @DisplayName("Upstream reader is closed once the last subscriber leaves")
+    void shouldCloseUpstreamWithLastSubscriber() {
+        var firstStream = service.stream("1", this::open).subscribe().with(line -> {
+        });
+        var secondStream = service.stream("1", this::open).subscribe().with(line -> {
+        });
+        var reader = readers.getFirst();
+
+        firstStream.cancel();
+        assertThat(reader.closed).isFalse();
+
+        secondStream.cancel();
+        await().atMost(Duration.ofSeconds(5)).until(() -> reader.closed && service.activeLogs() == 0);
+
+        // the next subscriber opens a new reader
+        var thirdStream = service.stream("1", this::open).subscribe().with(line -> {
+        });
+        assertThat(readers).hasSize(2);
+        thirdStream.cancel();
+    }
+
+    @Test
+    @DisplayName("Lines are pushed only as requested by the subscriber, batched into frames")
+    void shouldRespectDemand() {
+        var subscriber = service.stream("1", this::open).subscribe().withSubscriber(AssertSubscriber.<String> create(0));
+        var reader = readers.getFirst();
+        reader.lines.onNext("line-1");
+        reader.lines.onNext("line-2");
+        reader.lines.onNext("line-3");
+
+        await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(1)).until(() -> subscriber.getItems().isEmpty());
+
+        subscriber.request(1);
+        subscriber.awaitItems(1);
+        assertThat(subscriber.getItems()).containsExactly("line-1\nline-2\nline-3");
+
+        reader.lines.onNext("line-4");
+        await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(1)).until(() -> subscriber.getItems().size() == 1);
+        subscriber.request(1);
+        subscriber.awaitItems(2);
+        assertThat(subscriber.getItems()).containsExactly("line-1\nline-2\nline-3", "line-4");
+        subscriber.cancel();
+    }
+
+    @Test
+    @DisplayName("Subscribers falling behind drop the oldest lines and are told how many")
+    void shouldDropOldestLines() {
+        service.close();
+        service = service(4, 1024 * 1024, Duration.ZERO);
+
+        var subscriber = service.stream("1", this::open).subscribe().withSubscriber(AssertSubscriber.<String> create(0));
+        var reader = readers.getFirst();
+        for (int i = 1; i <= 10; i++) {
+            reader.lines.onNext("line-" + i);
+        }
+
+        await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(1)).until(() -> subscriber.getItems().isEmpty());
+
+        subscriber.request(1);
+        subscriber.awaitItems(1);
+        assertThat(subscriber.getItems()).containsExactly("... 6 lines dropped ...\nline-7\nline-8\nline-9\nline-10");
+        subscriber.cancel();
+    }
+
+    @Test
+    @DisplayName("Subscribers complete once the upstream log ends")
+    void shouldCompleteWithUpstream() {
+        var subscriber = service.stream("1", this::open).subscribe().withSubscriber(AssertSubscriber.<String> create(Long.MAX_VALUE));
+        var reader = readers.getFirst();
+        reader.lines.onNext("line-1");
+        reader.lines.onComplete();
+
+        subscriber.awaitCompletion();
+        assertThat(subscriber.getItems()).containsExactly("line-1");
+        await().atMost(Duration.ofSeconds(5)).until(() -> service.activeLogs() == 0);
+    }
+
+    @Test
+    @DisplayName("Reconnecting subscribers resume from their position without reopening the log")
+    void shouldResumeFromPosition() {
+        service.close();
+        service = service(1024, 1024 * 1024, Duration.ofMinutes(1));
+
+        var subscriber = service.stream("1", this::open, LogFilter.none(), LogPosition.OLDEST)
+                .subscribe().withSubscriber(AssertSubscriber.<String> create(Long.MAX_VALUE));
+        var reader = readers.getFirst();
+        reader.lines.onNext("line-1");
+        reader.lines.onNext("line-2");
+        await().atMost(Duration.ofSeconds(5)).until(() -> received(subscriber).size() == 2);
+        var position = position(subscriber.getItems().getLast());
+        assertThat(position.sequence()).isEqualTo(2);
+        subscriber.cancel();
+
+        // written while no subscriber is connected
+        reader.lines.onNext("line-3");
+        reader.lines.onNext("line-4");
+
+        var resumed = service.stream("1", this::open, LogFilter.none(), position)
+                .subscribe().withSubscriber(AssertSubscriber.<String> create(Long.MAX_VALUE));
+        await().atMost(Duration.ofSeconds(5)).until(() -> received(resumed).size() == 2);
+        assertThat(received(resumed)).containsExactly("line-3", "line-4");
+        assertThat(position(resumed.getItems().getLast())).isEqualTo(new LogPosition(position.epoch(), 4));
+        assertThat(readers).hasSize(1);
+        resumed.cancel();
+    }
+
+    @Test
+    @DisplayName("Streams of the same log opened by different conductors have different epochs")
+    void shouldStartEpochsAtRandom() {
+        var other = service(1024, 1024 * 1024, Duration.ZERO);
+        try {
+            var first = service.stream("1", this::open, LogFilter.none(), LogPosition.OLDEST)
+                    .subscribe().withSubscriber(AssertSubscriber.<String> create(Long.MAX_VALUE));
+            var second = other.stream("1", this::open, LogFilter.none(), LogPosition.OLDEST)
+                    .subscribe().withSubscriber(AssertSubscriber.<String> create(Long.MAX_VALUE));
+            readers.forEach(reader -> reader.lines.onNext("line-1"));
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> received(first).size() == 1 && received(second).size() == 1);
+            var firstEpoch = position(first.getItems().getLast()).epoch();
+            var secondEpoch = position(second.getItems().getLast()).epoch();
+            assertThat(firstEpoch).isPositive().isNotEqualTo(secondEpoch);
+            assertThat(secondEpoch).isPositive();
+
+            first.cancel();
+            second.cancel();
+        }
+        finally {
+            other.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Subscribers resuming from another stream of the log are told lines may be missing")
+    void shouldReportRestartedStream() {
+        var subscriber = service.stream("1", this::open, LogFilter.none(), new LogPosition(1, 10))
+                .subscribe().withSubscriber(AssertSubscriber.<String> create(Long.MAX_VALUE));
+        readers.getFirst().lines.onNext("line-1");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> received(subscriber).size() == 2);
+        assertThat(received(subscriber)).containsExactly(LogStreamingService.RESTARTED_MARKER, "line-1");
+        subscriber.cancel();
+    }
+
+    @Test
+    @DisplayName("Buffered lines are bounded by their size")
+    void shouldBoundBufferSize() {
+        service.close();
+        // each line takes its length and 64 bytes of overhead
+        service = service(1024, 3 * 70, Duration.ZERO);
+
+        List<String> first = new CopyOnWriteArrayList<>();
+        var firstStream = service.stream("1", this::open).subscribe().with(first::add);
+        var reader = readers.getFirst();
+        for (int i = 1; i <= 5; i++) {
+            reader.lines.onNext("line-" + i);
+        }
+        await().atMost(Duration.ofSeconds(5)).until(() -> String.join("\n", first).endsWith("line-5"));
+
+        var subscriber = service.stream("1", this::open, LogFilter.none(), LogPosition.OLDEST)
+                .subscribe().withSubscriber(AssertSubscriber.<String> create(Long.MAX_VALUE));
+        await().atMost(Duration.ofSeconds(5)).until(() -> received(subscriber).size() == 3);
+        assertThat(received(subscriber)).containsExactly("line-3", "line-4", "line-5");
+
+        subscriber.cancel();
+        firstStream.cancel();
+    }
+
+    private static List<String> received(AssertSubscriber<String> subscriber) {
+        return subscriber.getItems().stream()
+                .flatMap(frame -> frame.lines().skip(1))
+                .toList();
+    }
+
+    private static LogPosition position(String frame) {
+        var header = frame.lines().findFirst().orElseThrow();
+        assertThat(header).startsWith(LogStreamingService.POSITION_PREFIX);
+        return LogPosition.parse(header.substring(LogStreamingService.POSITION_PREFIX.length()));
+    }
+
+    private LogStreamingService service(int bufferLines, long bufferSize, Duration linger) {
+        var config = mock(LogsConfigGroup.class, RETURNS_DEEP_STUBS);
+        when(config.stream().bufferLines()).thenReturn(bufferLines);
+        when(config.stream().bufferSize()).thenReturn(bufferSize);
+        when(config.stream().linger()).thenReturn(linger);
+        when(config.stream().frame().maxSize()).thenReturn(65536);
+        when(config.stream().frame().maxDelay()).thenReturn(Duration.ZERO);
+        return new LogStreamingService(Logger.getLogger(LogStreamingServiceTest.class), executor, config);
+    }
+
+    private LogReader open() {
+        var reader = new QueueLogReader();
+        readers.add(reader);
+        return reader;
+    }
+
+    private static final class QueueLogReader implements LogReader {
+
+        private final UnicastProcessor<String> lines = UnicastProcessor.create();
+        private volatile boolean closed;
+
+        @Override
+        public String readAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BufferedReader reader() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Multi<String> stream() {
+            return lines.onTermination().invoke(this::close);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.enterprise.inject.Instance;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.debezium.platform.config.DeploymentConfigGroup;
+import io.debezium.platform.domain.views.flat.PipelineFlat;
+import io.debezium.platform.environment.EnvironmentController;
+import io.debezium.platform.environment.PipelineController;
+import io.debezium.platform.environment.PipelineController.SyncResult;
+import io.debezium.platform.environment.PipelineStatus;
+import io.debezium.platform.environment.watcher.WatcherLeaderElection;
+import io.debezium.platform.environment.watcher.config.WatcherConfigGroup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PipelineReconcilerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PipelineService pipelineService;
+    private PipelineController pipelines;
+    private Instance<EnvironmentController> instance;
+    private WatcherLeaderElection leaderElection;
+    private PipelineReconciler reconciler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        pipelineService = mock(PipelineService.class);
+        pipelines = mock(PipelineController.class);
+
+        var environment = mock(EnvironmentController.class);
+        when(environment.pipelines()).thenReturn(pipelines);
+        when(environment.supportsPipelines()).thenReturn(true);
+        instance = mock(Instance.class);
+        when(instance.get()).thenReturn(environment);
+        leaderElection = mock(WatcherLeaderElection.class);
+
+        var deploymentConfig = mock(DeploymentConfigGroup.class, RETURNS_DEEP_STUBS);
+        when(deploymentConfig.reconcile().enabled()).thenReturn(false);
+        when(deploymentConfig.reconcile().onStartup()).thenReturn(false);
+        when(deploymentConfig.reconcile().pageSize()).thenReturn(2);
+        when(deploymentConfig.reconcile().maxConcurrency()).thenReturn(2);
+        var watcherConfig = mock(WatcherConfigGroup.class, RETURNS_DEEP_STUBS);
+
+        reconciler = new PipelineReconciler(pipelineService, instance, leaderElection, deploymentConfig, watcherConfig, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reconciler.close();
+    }
+
+    @Test
+    @DisplayName("Only the leader resyncs after startup, other replicas are ready once the environment caches have synced")
+    void shouldResyncOnlyOnLeader() {
+        var deploymentConfig = mock(DeploymentConfigGroup.class, RETURNS_DEEP_STUBS);
+        when(deploymentConfig.reconcile().enabled()).thenReturn(false);
+        when(deploymentConfig.reconcile().onStartup()).thenReturn(true);
+        var watcherConfig = mock(WatcherConfigGroup.class, RETURNS_DEEP_STUBS);
+        when(watcherConfig.enabled()).thenReturn(true);
+        when(watcherConfig.leaderElection().enabled()).thenReturn(true);
+        when(leaderElection.isLeader()).thenReturn(false);
+        reconciler.close();
+        reconciler = new PipelineReconciler(pipelineService, instance, leaderElection, deploymentConfig, watcherConfig, registry);
+
+        reconciler.start();
+
+        await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(5)).until(() -> !reconciler.isReady());
+        verify(pipelineService, never()).findFlat(any());
+        assertThat(reconciler.isResynced()).isFalse();
+
+        when(pipelines.isSynced()).thenReturn(true);
+        assertThat(reconciler.isReady()).isTrue();
+
+        // stays ready once it becomes the leader and until it resynced
+        when(leaderElection.isLeader()).thenReturn(true);
+        assertThat(reconciler.isReady()).isTrue();
+        assertThat(reconciler.isResynced()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Resync is skipped when the environment does not deploy pipelines")
+    void shouldSkipResyncWithoutPipelines() {
+        var deploymentConfig = mock(DeploymentConfigGroup.class, RETURNS_DEEP_STUBS);
+        when(deploymentConfig.reconcile().enabled()).thenReturn(false);
+        when(deploymentConfig.reconcile().onStartup()).thenReturn(true);
+        var watcherConfig = mock(WatcherConfigGroup.class, RETURNS_DEEP_STUBS);
+        when(instance.get().supportsPipelines()).thenReturn(false);
+        reconciler.close();
+        reconciler = new PipelineReconciler(pipelineService, instance, leaderElection, deploymentConfig, watcherConfig, registry);
+
+        reconciler.start();
+
+        await().atMost(Duration.ofSeconds(5)).until(reconciler::isResynced);
+        verify(instance.get(), never()).pipelines();
+        verify(pipelineService, never()).findFlat(any());
+    }
+
+    @Test
+    @DisplayName("All pages of pipelines are synced and only the changes are counted")
+    void shouldSyncAllPages() {
+        var first = pipeline(1L);
+        var second = pipeline(2L);
+        var third = pipeline(3L);
+        when(pipelineService.findFlatPage(null, 2)).thenReturn(List.of(first, second));
+        when(pipelineService.findFlatPage(2L, 2)).thenReturn(List.of(third));
+        when(pipelines.status()).thenReturn(Map.of(1L, status(1L), 2L, status(2L)));
+        when(pipelines.sync(eq(List.of(first, second)), eq(2), any())).thenReturn(Map.of(1L, SyncResult.UNCHANGED, 2L, SyncResult.UPDATED));
+        when(pipelines.sync(eq(List.of(third)), eq(2), any())).thenReturn(Map.of(3L, SyncResult.CREATED));
+
+        var result = reconciler.reconcile();
+
+        assertThat(result).isEqualTo(new PipelineReconciler.Result(1, 1, 0, 0));
+        verify(pipelines, never()).undeploy(anyLong());
+        assertThat(registry.get(PipelineReconciler.CHANGES_COUNTER).tags("change", "created").counter().count()).isEqualTo(1);
+        assertThat(registry.get(PipelineReconciler.DURATION_TIMER).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deployed pipelines which no longer exist are undeployed")
+    void shouldUndeployOrphans() {
+        var first = pipeline(1L);
+        when(pipelineService.findFlatPage(null, 2)).thenReturn(List.of(first));
+        when(pipelines.status()).thenReturn(Map.of(1L, status(1L), 5L, status(5L)));
+        when(pipelines.sync(eq(List.of(first)), eq(2), any())).thenReturn(Map.of(1L, SyncResult.UNCHANGED));
+
+        var result = reconciler.reconcile();
+
+        assertThat(result).isEqualTo(new PipelineReconciler.Result(0, 0, 1, 0));
+        verify(pipelines).undeploy(5L);
+        verify(pipelines, never()).undeploy(1L);
+    }
+
+    @Test
+    @DisplayName("Failures of single pipelines don't stop the pass")
+    void shouldContinueAfterFailure() {
+        var first = pipeline(1L);
+        var second = pipeline(2L);
+        when(pipelineService.findFlatPage(null, 2)).thenReturn(List.of(first, second));
+        when(pipelineService.findFlatPage(2L, 2)).thenReturn(List.of());
+        when(pipelines.status()).thenReturn(Map.of(7L, status(7L)));
+        when(pipelines.sync(eq(List.of(first, second)), eq(2), any())).thenReturn(Map.of(1L, SyncResult.FAILED, 2L, SyncResult.CREATED));
+        doThrow(new IllegalStateException("boom")).when(pipelines).undeploy(7L);
+
+        var result = reconciler.reconcile();
+
+        assertThat(result).isEqualTo(new PipelineReconciler.Result(1, 0, 0, 2));
+    }
+
+    @Test
+    @DisplayName("Startup resync loads all pipelines at once and marks the conductor as resynced")
+    void shouldResyncAllPipelines() {
+        var first = pipeline(1L);
+        var second = pipeline(2L);
+        when(pipelineService.findFlat(PipelineSelector.all())).thenReturn(List.of(first, second));
+        when(pipelines.status()).thenReturn(Map.of(1L, status(1L), 9L, status(9L)));
+        when(pipelines.sync(eq(List.of(first, second)), eq(2), any())).thenReturn(Map.of(1L, SyncResult.UPDATED, 2L, SyncResult.CREATED));
+
+        assertThat(reconciler.isResynced()).isFalse();
+        var result = reconciler.resync();
+
+        assertThat(result).isEqualTo(new PipelineReconciler.Result(1, 1, 1, 0));
+        assertThat(reconciler.isResynced()).isTrue();
+        verify(pipelineService, never()).findFlatPage(any(), anyInt());
+        assertThat(registry.get(PipelineReconciler.STARTUP_TIMER).timer().count()).isEqualTo(1);
+    }
+
+    private static PipelineFlat pipeline(Long id) {
+        var pipeline = mock(PipelineFlat.class);
+        when(pipeline.getId()).thenReturn(id);
+        when(pipeline.getName()).thenReturn("pipeline-" + id);
+        return pipeline;
+    }
+
+    private static PipelineStatus status(Long id) {
+        return new PipelineStatus(id, "pipeline-" + id, PipelineStatus.State.READY, 1, 1, null, null);
+    }
+}
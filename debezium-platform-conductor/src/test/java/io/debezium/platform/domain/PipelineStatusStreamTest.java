@@ -0,0 +1,117 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import jakarta.enterprise.inject.Instance;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.debezium.platform.environment.EnvironmentController;
+import io.debezium.platform.environment.PipelineController;
+import io.debezium.platform.environment.PipelineStatus;
+
+class PipelineStatusStreamTest {
+
+    private final AtomicReference<Consumer<Long>> listener = new AtomicReference<>();
+    private PipelineController pipelines;
+    private PipelineStatusStream stream;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        pipelines = mock(PipelineController.class);
+        doAnswer(invocation -> {
+            listener.set(invocation.getArgument(0));
+            return null;
+        }).when(pipelines).addStatusListener(any());
+        when(pipelines.status()).thenReturn(Map.of(
+                1L, status(1L, PipelineStatus.State.READY),
+                2L, status(2L, PipelineStatus.State.PENDING)));
+
+        var environment = mock(EnvironmentController.class);
+        when(environment.pipelines()).thenReturn(pipelines);
+        Instance<EnvironmentController> instance = mock(Instance.class);
+        when(instance.get()).thenReturn(environment);
+
+        stream = new PipelineStatusStream(instance, Duration.ofMillis(20));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.close();
+    }
+
+    @Test
+    @DisplayName("Subscriber receives a snapshot followed by changes of selected pipelines only")
+    void shouldDeliverSnapshotAndChanges() {
+        Queue<List<PipelineStatus>> frames = new ConcurrentLinkedQueue<>();
+        stream.subscribe(Set.of(1L), Set.of(), frames::add);
+
+        assertThat(frames.poll()).containsExactly(status(1L, PipelineStatus.State.READY));
+
+        when(pipelines.status(1L)).thenReturn(Optional.of(status(1L, PipelineStatus.State.FAILED)));
+        when(pipelines.status(2L)).thenReturn(Optional.of(status(2L, PipelineStatus.State.READY)));
+        listener.get().accept(1L);
+        listener.get().accept(1L);
+        listener.get().accept(2L);
+
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(5))
+                .until(() -> !frames.isEmpty());
+        assertThat(frames.poll()).containsExactly(status(1L, PipelineStatus.State.FAILED));
+    }
+
+    @Test
+    @DisplayName("Unchanged statuses and closed subscriptions produce no frames")
+    void shouldSkipUnchangedStatuses() throws InterruptedException {
+        Queue<List<PipelineStatus>> frames = new ConcurrentLinkedQueue<>();
+        var subscription = stream.subscribe(Set.of(), Set.of(PipelineStatus.State.PENDING), frames::add);
+
+        assertThat(frames.poll()).containsExactly(status(2L, PipelineStatus.State.PENDING));
+
+        when(pipelines.status(2L)).thenReturn(Optional.of(status(2L, PipelineStatus.State.PENDING)));
+        listener.get().accept(2L);
+        Thread.sleep(100);
+        assertThat(frames).isEmpty();
+
+        when(pipelines.status(2L)).thenReturn(Optional.empty());
+        listener.get().accept(2L);
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(5))
+                .until(() -> !frames.isEmpty());
+        assertThat(frames.poll()).containsExactly(PipelineStatus.notDeployed(2L, "pipeline-2"));
+
+        subscription.close();
+        when(pipelines.status(2L)).thenReturn(Optional.of(status(2L, PipelineStatus.State.PENDING)));
+        listener.get().accept(2L);
+        Thread.sleep(100);
+        assertThat(frames).isEmpty();
+    }
+
+    private static PipelineStatus status(Long id, PipelineStatus.State state) {
+        return new PipelineStatus(id, "pipeline-" + id, state, 1, 1, null, null);
+    }
+}
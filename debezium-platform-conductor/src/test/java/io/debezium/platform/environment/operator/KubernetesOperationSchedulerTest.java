@@ -0,0 +1,131 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.debezium.platform.environment.OperationPriority;
+import io.debezium.platform.environment.TokenBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class KubernetesOperationSchedulerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private KubernetesOperationScheduler scheduler;
+
+    @AfterEach
+    void close() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Waiting operations are started by priority")
+    void shouldStartOperationsByPriority() throws InterruptedException {
+        scheduler = new KubernetesOperationScheduler(true, new TokenBucket(2, 1), registry);
+        // takes the only token, so the following operations queue up
+        scheduler.run(OperationPriority.USER, () -> {
+        });
+
+        List<OperationPriority> started = new CopyOnWriteArrayList<>();
+        var threads = List.of(OperationPriority.RECONCILE, OperationPriority.OUTBOX, OperationPriority.USER).stream()
+                .map(priority -> Thread.ofVirtual().start(() -> scheduler.run(priority, () -> started.add(priority))))
+                .toList();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> started.size() == 3);
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        assertThat(started).containsExactly(OperationPriority.USER, OperationPriority.OUTBOX, OperationPriority.RECONCILE);
+        assertThat(registry.get(KubernetesOperationScheduler.OPERATIONS_COUNTER)
+                .tags("lane", "user", "outcome", "success")
+                .counter()
+                .count()).isEqualTo(2);
+        assertThat(registry.get(KubernetesOperationScheduler.WAIT_TIMER)
+                .tags("lane", "reconcile")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Priority set for the current thread overrides the default priority")
+    void shouldUseCurrentPriority() {
+        scheduler = new KubernetesOperationScheduler(true, new TokenBucket(100, 10), registry);
+
+        OperationPriority.RECONCILE.run(() -> scheduler.run(OperationPriority.USER, () -> {
+        }));
+
+        assertThat(registry.get(KubernetesOperationScheduler.OPERATIONS_COUNTER)
+                .tags("lane", "reconcile", "outcome", "success")
+                .counter()
+                .count()).isEqualTo(1);
+        assertThat(registry.get(KubernetesOperationScheduler.OPERATIONS_COUNTER)
+                .tags("lane", "user", "outcome", "success")
+                .counter()
+                .count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Failed operations are counted and rethrown")
+    void shouldCountFailures() {
+        scheduler = new KubernetesOperationScheduler(true, new TokenBucket(100, 10), registry);
+
+        assertThatThrownBy(() -> scheduler.run(OperationPriority.OUTBOX, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get(KubernetesOperationScheduler.OPERATIONS_COUNTER)
+                .tags("lane", "outbox", "outcome", "failure")
+                .counter()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Operations waiting to be started are reported as queue depth")
+    void shouldReportQueueDepth() {
+        scheduler = new KubernetesOperationScheduler(true, new TokenBucket(0.1, 1), registry);
+        scheduler.run(OperationPriority.USER, () -> {
+        });
+
+        var waiting = Thread.ofVirtual().start(() -> scheduler.run(OperationPriority.OUTBOX, () -> {
+        }));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> scheduler.queueDepth(OperationPriority.OUTBOX) == 1);
+        assertThat(registry.get(KubernetesOperationScheduler.QUEUE_DEPTH_GAUGE)
+                .tags("lane", "outbox")
+                .gauge()
+                .value()).isEqualTo(1);
+
+        waiting.interrupt();
+        await().atMost(Duration.ofSeconds(5)).until(() -> scheduler.queueDepth(OperationPriority.OUTBOX) == 0);
+    }
+
+    @Test
+    @DisplayName("Operations run immediately when the scheduler is disabled")
+    void shouldPassThroughWhenDisabled() {
+        scheduler = new KubernetesOperationScheduler(false, new TokenBucket(0.1, 1), registry);
+
+        var results = List.of(
+                scheduler.call(OperationPriority.USER, () -> 1),
+                scheduler.call(OperationPriority.USER, () -> 2),
+                scheduler.call(OperationPriority.USER, () -> 3));
+
+        assertThat(results).containsExactly(1, 2, 3);
+        assertThat(scheduler.queueDepth(OperationPriority.USER)).isZero();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.debezium.operator.api.model.DebeziumServer;
+import io.debezium.platform.domain.views.flat.PipelineFlat;
+import io.debezium.platform.environment.PipelineController.SyncResult;
+import io.debezium.platform.environment.operator.actions.DebeziumKubernetesAdapter;
+import io.debezium.platform.environment.operator.actions.DebeziumServerProxy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OperatorPipelineControllerTest {
+
+    private final DebeziumKubernetesAdapter kubernetesAdapter = mock(DebeziumKubernetesAdapter.class);
+    private final PipelineMapper pipelineMapper = mock(PipelineMapper.class);
+    private final PipelineFlat stale = pipeline();
+    private final PipelineFlat current = pipeline();
+    private final DebeziumServer staleServer = mock(DebeziumServer.class);
+    private final DebeziumServer currentServer = mock(DebeziumServer.class);
+    private final DebeziumServer deployed = mock(DebeziumServer.class);
+    private KubernetesOperationScheduler scheduler;
+    private OperatorPipelineController controller;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new KubernetesOperationScheduler(false, null, new SimpleMeterRegistry());
+        controller = new OperatorPipelineController(kubernetesAdapter, pipelineMapper, mock(DebeziumServerProxy.class), scheduler);
+
+        when(pipelineMapper.map(stale)).thenReturn(staleServer);
+        when(pipelineMapper.map(current)).thenReturn(currentServer);
+        when(kubernetesAdapter.findAssociatedDebeziumServers()).thenReturn(Map.of(1L, deployed));
+        when(kubernetesAdapter.isUpToDate(staleServer, deployed)).thenReturn(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    @DisplayName("Synced pipeline is reloaded before the apply, so its older state never overwrites the current one")
+    void shouldApplyCurrentState() {
+        var results = controller.sync(List.of(stale), 1, id -> Optional.of(current));
+
+        assertThat(results).containsEntry(1L, SyncResult.UPDATED);
+        verify(kubernetesAdapter).deployPipeline(currentServer);
+        verify(kubernetesAdapter, never()).deployPipeline(staleServer);
+    }
+
+    @Test
+    @DisplayName("Pipeline deleted before the apply is left to the outbox")
+    void shouldSkipDeletedPipeline() {
+        var results = controller.sync(List.of(stale), 1, id -> Optional.empty());
+
+        assertThat(results).containsEntry(1L, SyncResult.UNCHANGED);
+        verify(kubernetesAdapter, never()).deployPipeline(any());
+    }
+
+    @Test
+    @DisplayName("Outbox deploy of a pipeline waits until its sync was applied")
+    void shouldSerializeDeploysOfPipeline() throws Exception {
+        var reloading = new CountDownLatch(1);
+        var reloaded = new CountDownLatch(1);
+
+        var sync = CompletableFuture.supplyAsync(() -> controller.sync(List.of(stale), 1, id -> {
+            reloading.countDown();
+            awaitLatch(reloaded);
+            return Optional.of(stale);
+        }));
+        awaitLatch(reloading);
+        var deploy = CompletableFuture.runAsync(() -> controller.deploy(current));
+
+        await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(5)).until(() -> !deploy.isDone());
+        verify(kubernetesAdapter, never()).deployPipeline(currentServer);
+
+        reloaded.countDown();
+        sync.get(5, TimeUnit.SECONDS);
+        deploy.get(5, TimeUnit.SECONDS);
+
+        var order = inOrder(kubernetesAdapter);
+        order.verify(kubernetesAdapter).deployPipeline(staleServer);
+        order.verify(kubernetesAdapter).deployPipeline(currentServer);
+    }
+
+    private static PipelineFlat pipeline() {
+        var pipeline = mock(PipelineFlat.class);
+        when(pipeline.getId()).thenReturn(1L);
+        when(pipeline.getName()).thenReturn("pipeline-1");
+        return pipeline;
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
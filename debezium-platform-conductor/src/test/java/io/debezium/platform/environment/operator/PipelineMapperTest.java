@@ -55,6 +55,7 @@ public class PipelineMapperTest {
     void setUp() {
 
         when(tableNameResolver.resolve(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(tableNameResolver.resolve(any())).thenAnswer(invocation -> invocation.getArgument(0));
         when(pipelineConfigGroup.labels()).thenReturn(Map.of());
         when(pipelineConfigGroup.monitoring().otel().enabled()).thenReturn(false);
 
@@ -218,6 +219,35 @@ public class PipelineMapperTest {
         assertThat(result.getSpec().getPredicates()).isEmpty();
     }
 
+    @Test
+    public void testMapper_ShouldResolveStoreTableNamesPerPipeline() {
+        when(pipelineConfigGroup.offset().storage().type()).thenReturn("io.debezium.storage.jdbc.offset.JdbcOffsetBackingStore");
+        when(pipelineConfigGroup.offset().storage().config()).thenReturn(Map.of(
+                "jdbc.offset.table.name", "offsets_@{pipeline_name}",
+                "jdbc.connection.url", "jdbc:postgresql://postgresql:5432/debezium"));
+        when(pipelineConfigGroup.schema().config()).thenReturn(Map.of(
+                "jdbc.schema.history.table.name", "Schema-History"));
+        var mapper = new PipelineMapper(pipelineConfigGroup, new TableNameResolver(), buildMetrics(pipelineConfigGroup));
+
+        var first = mockPipelineWithSource(ConnectionEntity.Type.POSTGRESQL, Map.of(DATABASE, "customers"));
+        when(first.getName()).thenReturn("first");
+        var second = mockPipelineWithSource(ConnectionEntity.Type.POSTGRESQL, Map.of(DATABASE, "customers"));
+        when(second.getName()).thenReturn("second");
+
+        var firstSource = mapper.map(first).getSpec().getSource();
+        var secondSource = mapper.map(second).getSpec().getSource();
+
+        assertThat(firstSource.getOffset().getStore().getConfig().getProps())
+                .containsEntry("jdbc.offset.table.name", "offsets_first")
+                .containsEntry("jdbc.connection.url", "jdbc:postgresql://postgresql:5432/debezium");
+        assertThat(secondSource.getOffset().getStore().getConfig().getProps())
+                .containsEntry("jdbc.offset.table.name", "offsets_second");
+        assertThat(firstSource.getSchemaHistory().getStore().getConfig().getProps())
+                .containsEntry("jdbc.schema.history.table.name", "schema_history");
+        assertThat(secondSource.getSchemaHistory().getStore().getConfig().getProps())
+                .containsEntry("jdbc.schema.history.table.name", "schema_history");
+    }
+
     private PipelineMapper createMapper() {
         return new PipelineMapper(pipelineConfigGroup, tableNameResolver, buildMetrics(pipelineConfigGroup));
     }
@@ -0,0 +1,89 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.debezium.operator.api.model.ConfigProperties;
+import io.debezium.operator.api.model.DebeziumServer;
+import io.debezium.operator.api.model.DebeziumServerBuilder;
+import io.debezium.operator.api.model.DebeziumServerSpecBuilder;
+import io.debezium.operator.api.model.SinkBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DebeziumKubernetesAdapterTest {
+
+    private final KubernetesSerialization serialization = new KubernetesSerialization();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final KubernetesClient client = mock(KubernetesClient.class, RETURNS_DEEP_STUBS);
+    private final DebeziumServerCache cache = mock(DebeziumServerCache.class);
+    private DebeziumKubernetesAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        var cluster = mock(KubernetesCluster.class);
+        when(cluster.client()).thenReturn(client);
+        when(cluster.debeziumServers()).thenReturn(cache);
+        when(client.getKubernetesSerialization()).thenReturn(serialization);
+
+        var clusters = mock(KubernetesClusters.class);
+        when(clusters.defaultCluster()).thenReturn(cluster);
+        when(clusters.place(1L)).thenReturn(cluster);
+
+        adapter = new DebeziumKubernetesAdapter(clusters, registry);
+    }
+
+    @Test
+    @DisplayName("Reverted spec is applied although the lagging cache still holds it")
+    void shouldApplyRevertedSpecWithLaggingCache() {
+        var deployed = debeziumServer("A");
+        deployed.getMetadata().setAnnotations(Map.of(SpecHash.SPEC_HASH_ANNOTATION, SpecHash.of(serialization, deployed)));
+        // the cache never sees the applies below
+        when(cache.findByPipelineId(1L)).thenReturn(Optional.of(deployed));
+
+        adapter.deployPipeline(debeziumServer("A"));
+        adapter.deployPipeline(debeziumServer("A"));
+        adapter.deployPipeline(debeziumServer("B"));
+        adapter.deployPipeline(debeziumServer("A"));
+
+        verify(client, times(3)).resource(any(DebeziumServer.class));
+        assertThat(registry.counter("conductor.kubernetes.apply.skipped").count()).isEqualTo(1);
+    }
+
+    private static DebeziumServer debeziumServer(String topic) {
+        var config = new ConfigProperties();
+        config.setAllProps(Map.of("topic", topic));
+
+        return new DebeziumServerBuilder()
+                .withMetadata(new ObjectMetaBuilder()
+                        .withName("test-pipeline")
+                        .withLabels(Map.of("debezium.io/conductor-id", "1"))
+                        .build())
+                .withSpec(new DebeziumServerSpecBuilder()
+                        .withSink(new SinkBuilder()
+                                .withType("kafka")
+                                .withConfig(config)
+                                .build())
+                        .build())
+                .build();
+    }
+}
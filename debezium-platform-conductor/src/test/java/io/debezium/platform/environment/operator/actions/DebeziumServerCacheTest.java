@@ -0,0 +1,85 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.debezium.operator.api.model.DebeziumServer;
+import io.debezium.operator.api.model.DebeziumServerBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+
+@EnableKubernetesMockClient(crud = true)
+class DebeziumServerCacheTest {
+
+    private KubernetesClient kubernetesClient;
+    private DebeziumServerCache cache;
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Debezium servers are found by the pipeline id")
+    void shouldFindByPipelineId() {
+        createDebeziumServer("pipeline-1", "1");
+        createDebeziumServer("pipeline-2", "2");
+        cache = new DebeziumServerCache(kubernetesClient, true, Duration.ofMinutes(10));
+
+        assertThat(cache.findByPipelineId(2L)).map(ds -> ds.getMetadata().getName()).contains("pipeline-2");
+        assertThat(cache.findByPipelineId(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Cache is updated by watch events")
+    void shouldFollowChanges() {
+        cache = new DebeziumServerCache(kubernetesClient, true, Duration.ofMinutes(10));
+        assertThat(cache.findByPipelineId(1L)).isEmpty();
+
+        createDebeziumServer("pipeline-1", "1");
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(cache.findByPipelineId(1L)).isPresent());
+
+        kubernetesClient.resources(DebeziumServer.class).withName("pipeline-1").delete();
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(cache.findByPipelineId(1L)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Disabled cache lists the resources")
+    void shouldListWhenDisabled() {
+        cache = new DebeziumServerCache(kubernetesClient, false, Duration.ofMinutes(10));
+        assertThat(cache.findByPipelineId(1L)).isEmpty();
+
+        createDebeziumServer("pipeline-1", "1");
+
+        assertThat(cache.findByPipelineId(1L)).isPresent();
+    }
+
+    private void createDebeziumServer(String name, String conductorId) {
+        kubernetesClient.resource(new DebeziumServerBuilder()
+                .withMetadata(new ObjectMetaBuilder()
+                        .withName(name)
+                        .withLabels(Map.of("debezium.io/conductor-id", conductorId))
+                        .build())
+                .build())
+                .create();
+    }
+}
@@ -11,6 +11,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 
 import jakarta.ws.rs.core.Response;
@@ -31,6 +33,7 @@ import io.fabric8.kubernetes.api.model.ServiceBuilder;
 import io.fabric8.kubernetes.api.model.ServicePort;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @EnableKubernetesMockClient(crud = true)
 class DebeziumServerProxyTest {
@@ -41,12 +44,19 @@ class DebeziumServerProxyTest {
     @Mock
     private DebeziumServerClient debeziumServerClient;
 
+    @Mock
+    private PipelinePlacementStore placementStore;
+
     @BeforeEach
     void setUp() {
 
         openMocks(this);
 
-        proxy = new DebeziumServerProxy(debeziumServerClient, new DebeziumKubernetesAdapter(kubernetesClient));
+        var clusters = new KubernetesClusters(
+                List.of(new KubernetesCluster(KubernetesClusters.DEFAULT_CLUSTER, kubernetesClient, false, Integer.MAX_VALUE, true, Duration.ofMinutes(10))),
+                new LeastLoadedPlacementPolicy(),
+                placementStore);
+        proxy = new DebeziumServerProxy(debeziumServerClient, new DebeziumKubernetesAdapter(clusters, new SimpleMeterRegistry()));
     }
 
     @Test
@@ -0,0 +1,70 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+
+@EnableKubernetesMockClient(crud = true)
+class DeploymentCacheTest {
+
+    private KubernetesClient kubernetesClient;
+    private DeploymentCache cache;
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Only deployments of Debezium Server instances are cached")
+    void shouldCacheOnlyDebeziumServerDeployments() {
+        createDeployment("pipeline-1", Map.of(ServiceEndpointCache.DEBEZIUM_IO_INSTANCE_LABEL, "pipeline-1"));
+        createDeployment("unrelated", Map.of("app", "unrelated"));
+        cache = new DeploymentCache(kubernetesClient, true, Duration.ofMinutes(10));
+
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(cache.syncedInformer()).isNotNull());
+
+        assertThat(cache.list()).extracting(deployment -> deployment.getMetadata().getName()).containsExactly("pipeline-1");
+        assertThat(cache.find(kubernetesClient.getNamespace(), "unrelated")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Disabled cache lists only deployments of Debezium Server instances")
+    void shouldListOnlyDebeziumServerDeploymentsWhenDisabled() {
+        createDeployment("pipeline-1", Map.of(ServiceEndpointCache.DEBEZIUM_IO_INSTANCE_LABEL, "pipeline-1"));
+        createDeployment("unrelated", Map.of("app", "unrelated"));
+        cache = new DeploymentCache(kubernetesClient, false, Duration.ofMinutes(10));
+
+        assertThat(cache.list()).extracting(deployment -> deployment.getMetadata().getName()).containsExactly("pipeline-1");
+    }
+
+    private void createDeployment(String name, Map<String, String> labels) {
+        kubernetesClient.resource(new DeploymentBuilder()
+                .withMetadata(new ObjectMetaBuilder()
+                        .withName(name)
+                        .withLabels(labels)
+                        .build())
+                .build())
+                .create();
+    }
+}
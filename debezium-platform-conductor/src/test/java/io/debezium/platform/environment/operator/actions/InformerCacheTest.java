@@ -0,0 +1,105 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+
+@EnableKubernetesMockClient(crud = true)
+class InformerCacheTest {
+
+    private KubernetesClient kubernetesClient;
+    private ConfigMapCache cache;
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Informer which could not be started is retried after a backoff")
+    void shouldRetryInformerAfterBackoff() {
+        kubernetesClient.resource(new ConfigMapBuilder().withNewMetadata().withName("config").endMetadata().build()).create();
+        cache = new ConfigMapCache(kubernetesClient, 1);
+        var received = new AtomicInteger();
+
+        cache.addListener(configMap -> received.incrementAndGet());
+
+        assertThat(cache.attempts).hasValue(1);
+        assertThat(cache.list()).hasSize(1);
+        assertThat(cache.attempts).hasValue(1);
+        assertThat(cache.listed).hasValue(1);
+
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(received).hasValue(1));
+        assertThat(cache.attempts).hasValue(2);
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(cache.syncedInformer()).isNotNull());
+        assertThat(cache.list()).hasSize(1);
+        assertThat(cache.listed).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Retry delay grows exponentially up to the maximum")
+    void shouldBackOffExponentially() {
+        assertThat(InformerCache.retryDelay(1)).isEqualTo(InformerCache.INITIAL_RETRY_DELAY);
+        assertThat(InformerCache.retryDelay(3)).isEqualTo(InformerCache.INITIAL_RETRY_DELAY.multipliedBy(4));
+        assertThat(InformerCache.retryDelay(100)).isEqualTo(InformerCache.MAX_RETRY_DELAY);
+    }
+
+    /**
+     * Cache of config maps whose informer fails to start given number of times
+     */
+    private static final class ConfigMapCache extends InformerCache<ConfigMap> {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final AtomicInteger listed = new AtomicInteger();
+        private final int failures;
+
+        ConfigMapCache(KubernetesClient kubernetesClient, int failures) {
+            super(kubernetesClient, "ConfigMap", true, 0);
+            this.failures = failures;
+        }
+
+        @Override
+        protected SharedIndexInformer<ConfigMap> createInformer() {
+            if (attempts.incrementAndGet() <= failures) {
+                throw new KubernetesClientException("Forbidden");
+            }
+            return kubernetesClient.configMaps().runnableInformer(resyncMillis);
+        }
+
+        @Override
+        protected List<ConfigMap> listFromServer() {
+            listed.incrementAndGet();
+            return kubernetesClient.configMaps().list().getItems();
+        }
+
+        @Override
+        protected ConfigMap getFromServer(String namespace, String name) {
+            return kubernetesClient.configMaps().inNamespace(namespace).withName(name).get();
+        }
+    }
+}
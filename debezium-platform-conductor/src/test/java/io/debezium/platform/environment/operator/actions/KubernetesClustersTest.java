@@ -0,0 +1,128 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.debezium.DebeziumException;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+
+@EnableKubernetesMockClient(crud = true)
+class KubernetesClustersTest {
+
+    private KubernetesClient kubernetesClient;
+    private PipelinePlacementStore placementStore;
+    private KubernetesClusters clusters;
+    private final Map<Long, String> stored = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        placementStore = mock(PipelinePlacementStore.class);
+        when(placementStore.findAll()).thenAnswer(invocation -> new HashMap<>(stored));
+        when(placementStore.find(any())).thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.<Long> getArgument(0))));
+        doAnswer(invocation -> stored.put(invocation.getArgument(0), invocation.getArgument(1))).when(placementStore).save(any(), anyString());
+        doAnswer(invocation -> stored.remove(invocation.<Long> getArgument(0))).when(placementStore).delete(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (clusters != null) {
+            clusters.close();
+        }
+    }
+
+    @Test
+    @DisplayName("New pipelines are placed in the least loaded cluster with capacity left")
+    void shouldPlaceInLeastLoadedCluster() {
+        stored.putAll(Map.of(1L, "east", 2L, "east"));
+        clusters = createClusters(4, 2);
+
+        assertThat(clusters.place(3L).name()).isEqualTo("west");
+        assertThat(clusters.place(4L).name()).isEqualTo("east");
+        assertThat(clusters.place(5L).name()).isEqualTo("west");
+        assertThat(clusters.place(6L).name()).isEqualTo("east");
+        assertThatExceptionOfType(DebeziumException.class)
+                .isThrownBy(() -> clusters.place(7L))
+                .withMessage("No cluster has capacity left for pipeline 7");
+
+        verify(placementStore).save(3L, "west");
+        verify(placementStore).save(4L, "east");
+        verify(placementStore).save(5L, "west");
+    }
+
+    @Test
+    @DisplayName("Placed pipelines stay in their cluster until released")
+    void shouldKeepPlacementUntilReleased() {
+        stored.put(1L, "west");
+        clusters = createClusters(10, 10);
+
+        assertThat(clusters.assigned(1L)).map(KubernetesCluster::name).contains("west");
+        assertThat(clusters.place(1L).name()).isEqualTo("west");
+        verify(placementStore, never()).save(any(), anyString());
+
+        clusters.release(1L);
+
+        assertThat(clusters.assigned(1L)).isEmpty();
+        verify(placementStore).delete(1L);
+    }
+
+    @Test
+    @DisplayName("Pipelines placed by another replica are not placed again")
+    void shouldUseStoredPlacement() {
+        clusters = createClusters(10, 10);
+        assertThat(clusters.assigned(7L)).isEmpty();
+
+        stored.put(7L, "west");
+
+        assertThat(clusters.place(7L).name()).isEqualTo("west");
+        assertThat(clusters.assigned(7L)).map(KubernetesCluster::name).contains("west");
+        verify(placementStore, never()).save(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Placements changed by another replica take precedence over the ones in memory")
+    void shouldFollowPlacementChangedByAnotherReplica() {
+        stored.putAll(Map.of(1L, "east", 2L, "east", 3L, "east"));
+        clusters = createClusters(10, 10);
+        assertThat(clusters.assigned(1L)).map(KubernetesCluster::name).contains("east");
+
+        // another replica moved pipeline 1 and released the other ones
+        stored.clear();
+        stored.put(1L, "west");
+
+        assertThat(clusters.place(1L).name()).isEqualTo("west");
+        assertThat(clusters.place(4L).name()).isEqualTo("east");
+        verify(placementStore).save(4L, "east");
+    }
+
+    private KubernetesClusters createClusters(int eastCapacity, int westCapacity) {
+        return new KubernetesClusters(List.of(
+                new KubernetesCluster("east", kubernetesClient, false, eastCapacity, false, Duration.ZERO),
+                new KubernetesCluster("west", kubernetesClient, false, westCapacity, false, Duration.ZERO)),
+                new LeastLoadedPlacementPolicy(),
+                placementStore);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.debezium.operator.api.model.DebeziumServer;
+import io.debezium.operator.api.model.DebeziumServerBuilder;
+import io.debezium.operator.api.model.DebeziumServerSpecBuilder;
+import io.debezium.platform.environment.PipelineStatus.State;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.api.model.apps.DeploymentConditionBuilder;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
+
+class PipelineStatusResolverTest {
+
+    private final PipelineStatusResolver resolver = new PipelineStatusResolver(new KubernetesSerialization());
+
+    @Test
+    @DisplayName("Pipeline with ready replicas is ready")
+    void shouldResolveReady() {
+        var status = resolver.resolve(1L, debeziumServer(false), deployment(1, 1, "Progressing", "True", "2025-01-01T10:00:00Z"));
+
+        assertThat(status.state()).isEqualTo(State.READY);
+        assertThat(status.name()).isEqualTo("test-pipeline");
+        assertThat(status.replicas()).isEqualTo(1);
+        assertThat(status.readyReplicas()).isEqualTo(1);
+        assertThat(status.lastTransition()).isEqualTo(Instant.parse("2025-01-01T10:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("Pipeline without deployment or ready replicas is pending")
+    void shouldResolvePending() {
+        assertThat(resolver.resolve(1L, debeziumServer(false), null).state()).isEqualTo(State.PENDING);
+        assertThat(resolver.resolve(1L, debeziumServer(false), deployment(1, 0, "Progressing", "True", null)).state())
+                .isEqualTo(State.PENDING);
+    }
+
+    @Test
+    @DisplayName("Pipeline whose deployment does not progress is failed")
+    void shouldResolveFailed() {
+        var status = resolver.resolve(1L, debeziumServer(false), deployment(1, 0, "Progressing", "False", "2025-01-01T10:00:00Z"));
+
+        assertThat(status.state()).isEqualTo(State.FAILED);
+        assertThat(status.message()).isEqualTo("Progressing is False");
+    }
+
+    @Test
+    @DisplayName("Stopped pipeline is stopped regardless of its deployment")
+    void shouldResolveStopped() {
+        assertThat(resolver.resolve(1L, debeziumServer(true), deployment(0, 0, "Progressing", "False", null)).state())
+                .isEqualTo(State.STOPPED);
+    }
+
+    private static DebeziumServer debeziumServer(boolean stopped) {
+        var debeziumServer = new DebeziumServerBuilder()
+                .withMetadata(new ObjectMetaBuilder()
+                        .withName("test-pipeline")
+                        .build())
+                .withSpec(new DebeziumServerSpecBuilder().build())
+                .build();
+        debeziumServer.setStopped(stopped);
+        return debeziumServer;
+    }
+
+    private static Deployment deployment(int replicas, int readyReplicas, String conditionType, String conditionStatus, String transitionTime) {
+        return new DeploymentBuilder()
+                .withNewMetadata()
+                .withName("test-pipeline")
+                .endMetadata()
+                .withNewStatus()
+                .withReplicas(replicas)
+                .withReadyReplicas(readyReplicas)
+                .withConditions(new DeploymentConditionBuilder()
+                        .withType(conditionType)
+                        .withStatus(conditionStatus)
+                        .withLastTransitionTime(transitionTime)
+                        .withMessage("%s is %s".formatted(conditionType, conditionStatus))
+                        .build())
+                .endStatus()
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.api.model.ServicePort;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+
+@EnableKubernetesMockClient(crud = true)
+class ServiceEndpointCacheTest {
+
+    private KubernetesClient kubernetesClient;
+    private ServiceEndpointCache cache;
+    private DebeziumServerAttributes instance;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ServiceEndpointCache(kubernetesClient, true, Duration.ofMinutes(10));
+        instance = new DebeziumServerAttributes(kubernetesClient.getNamespace(), "test-pipeline");
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    @DisplayName("Endpoint is resolved from the API service of the instance")
+    void shouldResolveEndpoint() {
+        createService("test-pipeline-api", "test-pipeline", 8080);
+        createService("test-pipeline2-api", "test-pipeline2", 8080);
+
+        assertThat(cache.findApiBaseUrl(instance)).contains("http://test-pipeline-api:8080");
+        assertThat(cache.findApiBaseUrl(new DebeziumServerAttributes(kubernetesClient.getNamespace(), "unknown"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Resolved endpoint is invalidated by service changes")
+    void shouldInvalidateEndpoint() {
+        createService("test-pipeline-api", "test-pipeline", 8080);
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(cache.findApiBaseUrl(instance)).contains("http://test-pipeline-api:8080"));
+
+        kubernetesClient.services().withName("test-pipeline-api").edit(service -> {
+            service.getSpec().getPorts().getFirst().setPort(9090);
+            return service;
+        });
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(cache.findApiBaseUrl(instance)).contains("http://test-pipeline-api:9090"));
+
+        kubernetesClient.services().withName("test-pipeline-api").delete();
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(cache.findApiBaseUrl(instance)).isEmpty());
+    }
+
+    private void createService(String name, String instance, int port) {
+        kubernetesClient.services().resource(newService(name, instance, port)).create();
+    }
+
+    private Service newService(String name, String instance, int port) {
+        return new ServiceBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .addToLabels(Map.of("debezium.io/classifier", "api", "debezium.io/instance", instance))
+                .endMetadata()
+                .withNewSpec()
+                .withPorts(new ServicePort("TCP", "http", 8080, port, "TCP", new IntOrString(8080)))
+                .endSpec()
+                .build();
+    }
+}
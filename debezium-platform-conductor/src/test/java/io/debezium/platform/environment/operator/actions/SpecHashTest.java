@@ -0,0 +1,80 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.debezium.operator.api.model.ConfigProperties;
+import io.debezium.operator.api.model.DebeziumServer;
+import io.debezium.operator.api.model.DebeziumServerBuilder;
+import io.debezium.operator.api.model.DebeziumServerSpecBuilder;
+import io.debezium.operator.api.model.SinkBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
+
+class SpecHashTest {
+
+    private final KubernetesSerialization serialization = new KubernetesSerialization();
+
+    @Test
+    @DisplayName("Hash does not depend on the order of configuration properties")
+    void shouldBeStable() {
+        var first = new LinkedHashMap<String, Object>();
+        first.put("a", "1");
+        first.put("b", "2");
+        var second = new LinkedHashMap<String, Object>();
+        second.put("b", "2");
+        second.put("a", "1");
+
+        assertThat(SpecHash.of(serialization, debeziumServer(first, "1")))
+                .isEqualTo(SpecHash.of(serialization, debeziumServer(second, "1")));
+    }
+
+    @Test
+    @DisplayName("Hash changes with the spec and labels")
+    void shouldDetectChanges() {
+        var hash = SpecHash.of(serialization, debeziumServer(Map.of("a", "1"), "1"));
+
+        assertThat(SpecHash.of(serialization, debeziumServer(Map.of("a", "2"), "1"))).isNotEqualTo(hash);
+        assertThat(SpecHash.of(serialization, debeziumServer(Map.of("a", "1"), "2"))).isNotEqualTo(hash);
+    }
+
+    @Test
+    @DisplayName("Hash annotation is ignored")
+    void shouldIgnoreHashAnnotation() {
+        var debeziumServer = debeziumServer(Map.of("a", "1"), "1");
+        var hash = SpecHash.of(serialization, debeziumServer);
+
+        debeziumServer.getMetadata().setAnnotations(Map.of(SpecHash.SPEC_HASH_ANNOTATION, hash));
+
+        assertThat(SpecHash.of(serialization, debeziumServer)).isEqualTo(hash);
+        assertThat(SpecHash.applied(debeziumServer)).isEqualTo(hash);
+    }
+
+    private static DebeziumServer debeziumServer(Map<String, Object> sinkConfig, String conductorId) {
+        var config = new ConfigProperties();
+        config.setAllProps(sinkConfig);
+
+        return new DebeziumServerBuilder()
+                .withMetadata(new ObjectMetaBuilder()
+                        .withName("test-pipeline")
+                        .withLabels(Map.of("debezium.io/conductor-id", conductorId))
+                        .build())
+                .withSpec(new DebeziumServerSpecBuilder()
+                        .withSink(new SinkBuilder()
+                                .withType("kafka")
+                                .withConfig(config)
+                                .build())
+                        .build())
+                .build();
+    }
+}
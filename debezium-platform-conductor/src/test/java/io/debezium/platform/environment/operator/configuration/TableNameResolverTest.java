@@ -67,6 +67,15 @@ class TableNameResolverTest {
         assertThat(result).isEqualTo("testpipeline");
     }
 
+    @Test
+    public void testIsPipelineSpecific_ShouldDetectPlaceholders() {
+
+        assertThat(tableNameResolver.isPipelineSpecific("offsets_@{pipeline_name}")).isTrue();
+        assertThat(tableNameResolver.isPipelineSpecific("offsets")).isFalse();
+        assertThat(tableNameResolver.isPipelineSpecific("")).isFalse();
+        assertThat(tableNameResolver.isPipelineSpecific(null)).isFalse();
+    }
+
     @Test
     public void testSanitizeTableName_ShouldSanitizeCorrectly() {
 
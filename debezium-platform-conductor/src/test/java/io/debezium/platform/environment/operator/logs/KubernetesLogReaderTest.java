@@ -0,0 +1,68 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.operator.logs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.fabric8.kubernetes.client.dsl.TailPrettyLoggable;
+
+class KubernetesLogReaderTest {
+
+    @Test
+    @DisplayName("Closing the reader does not wait for a pending read")
+    void shouldCloseWhileReading() throws Exception {
+        var output = new PipedOutputStream();
+        var watch = mock(LogWatch.class);
+        when(watch.getOutput()).thenReturn(new PipedInputStream(output));
+        // like the log stream of the API server, the pending read returns once the watch is closed
+        doAnswer(invocation -> {
+            output.close();
+            return null;
+        }).when(watch).close();
+        var loggable = mock(TailPrettyLoggable.class, RETURNS_DEEP_STUBS);
+        when(loggable.tailingLines(KubernetesLogReader.STREAM_TAIL_LINES).watchLog()).thenReturn(watch);
+
+        var logReader = new KubernetesLogReader(() -> loggable);
+        var reader = logReader.reader();
+        var read = CompletableFuture.supplyAsync(() -> {
+            try {
+                return reader.readLine();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(5)).until(() -> !read.isDone());
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                logReader.close();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        assertThat(read.get(5, TimeUnit.SECONDS)).isNull();
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.inject.Instance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.debezium.engine.DebeziumEngine;
+import io.debezium.platform.environment.watcher.config.WatcherConfig;
+import io.debezium.platform.environment.watcher.config.WatcherConfigGroup;
+import io.debezium.platform.environment.watcher.consumers.EnvironmentEventConsumer;
+import io.debezium.platform.environment.watcher.consumers.EventContext;
+import io.debezium.platform.environment.watcher.consumers.OutboxEventDispatcher;
+import io.debezium.platform.environment.watcher.consumers.OutboxParentEventConsumer;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+
+class ConductorEnvironmentWatcherTest {
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    @Test
+    @DisplayName("Losing the lease returns only after the engine thread exited")
+    void shouldStopEngineOnLeaseLoss() {
+        var replica = new Replica(Duration.ofSeconds(5));
+        replica.elect();
+        await().atMost(Duration.ofSeconds(5)).until(() -> running.get() == 1);
+
+        replica.loseLease();
+
+        assertThat(running.get()).isZero();
+        assertThat(replica.fenced).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Replica is fenced when its engine does not stop after the lease was lost")
+    void shouldFenceEngineWhichDoesNotStop() {
+        var replica = new Replica(Duration.ofMillis(200));
+        replica.stuck = new CountDownLatch(1);
+        replica.elect();
+        await().atMost(Duration.ofSeconds(5)).until(() -> running.get() == 1);
+
+        replica.loseLease();
+
+        assertThat(replica.fenced).hasValue(1);
+        assertThat(running.get()).isEqualTo(1);
+
+        // the stuck engine is kept, so it is not reported as stopped nor started again
+        replica.stuck.countDown();
+        assertThat(replica.watcher.stopEngine()).isTrue();
+        assertThat(running.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Engines of two replicas never run at the same time when the lease is handed over")
+    void shouldHandOverLease() throws Exception {
+        var first = new Replica(Duration.ofSeconds(5));
+        var second = new Replica(Duration.ofSeconds(5));
+        first.stopDelay = Duration.ofMillis(300);
+
+        first.elect();
+        await().atMost(Duration.ofSeconds(5)).until(() -> running.get() == 1);
+
+        // the second replica may acquire the lease only once the first one stopped leading
+        CompletableFuture.runAsync(first::loseLease)
+                .thenRun(second::elect)
+                .get(10, TimeUnit.SECONDS);
+        await().atMost(Duration.ofSeconds(5)).until(() -> running.get() == 1);
+        second.loseLease();
+
+        assertThat(maxRunning).hasValue(1);
+        assertThat(first.fenced).hasValue(0);
+        assertThat(second.fenced).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("No outbox event is applied once the lease was lost, even if its retry was scheduled before")
+    void shouldCancelRetriesOnLeaseLoss() {
+        var consumer = new PipelineConsumer(1, null);
+        var dispatcher = dispatcher(consumer, Duration.ofMillis(300));
+        try {
+            var replica = new Replica(Duration.ofSeconds(5), dispatcher);
+            replica.elect();
+            await().atMost(Duration.ofSeconds(5)).until(() -> running.get() == 1);
+
+            var delivery = dispatcher.dispatch(new EventContext("pipeline", "1", "UPDATE", "v1"));
+            await().atMost(Duration.ofSeconds(5)).until(() -> dispatcher.pendingRetries() == 1);
+
+            replica.loseLease();
+
+            assertThat(replica.fenced).hasValue(0);
+            assertThat(delivery).isCancelled();
+            assertThat(dispatcher.pendingRetries()).isZero();
+            await().during(Duration.ofMillis(600)).atMost(Duration.ofSeconds(5)).until(() -> consumer.attempts.get() == 1);
+            assertThat(consumer.applied).isEmpty();
+        }
+        finally {
+            dispatcher.stop(Duration.ZERO);
+        }
+    }
+
+    @Test
+    @DisplayName("Replica is fenced when a delivery in progress does not complete after the lease was lost")
+    void shouldFenceDeliveryWhichDoesNotComplete() {
+        var blocker = new CountDownLatch(1);
+        var consumer = new PipelineConsumer(0, blocker);
+        var dispatcher = dispatcher(consumer, Duration.ofMillis(300));
+        try {
+            var replica = new Replica(Duration.ofMillis(200), dispatcher);
+            replica.elect();
+            await().atMost(Duration.ofSeconds(5)).until(() -> running.get() == 1);
+
+            dispatcher.dispatch(new EventContext("pipeline", "1", "UPDATE", "v1"));
+            await().atMost(Duration.ofSeconds(5)).until(() -> consumer.attempts.get() == 1);
+
+            replica.loseLease();
+
+            assertThat(replica.fenced).hasValue(1);
+        }
+        finally {
+            blocker.countDown();
+            dispatcher.stop(Duration.ZERO);
+        }
+    }
+
+    @Test
+    @DisplayName("Leader election is refused when the engine may outlive the lease")
+    void shouldRejectStopTimeoutExceedingLease() {
+        var config = mock(WatcherConfigGroup.class, RETURNS_DEEP_STUBS);
+        when(config.leaderElection().leaseDuration()).thenReturn(Duration.ofSeconds(10));
+        when(config.leaderElection().renewDeadline()).thenReturn(Duration.ofSeconds(7));
+        when(config.leaderElection().retryPeriod()).thenReturn(Duration.ofSeconds(2));
+        when(config.stopTimeout()).thenReturn(Duration.ofSeconds(5));
+
+        var election = new WatcherLeaderElection(mock(KubernetesClient.class), config);
+
+        assertThatThrownBy(() -> election.start(() -> {
+        }, () -> {
+        })).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("must not exceed lease-duration");
+    }
+
+    /**
+     * Conductor replica running a fake engine, elected through a mocked {@link WatcherLeaderElection}
+     */
+    private final class Replica {
+
+        private final WatcherLeaderElection election = mock(WatcherLeaderElection.class);
+        private final ConductorEnvironmentWatcher watcher;
+        private final AtomicInteger fenced = new AtomicInteger();
+        private volatile Duration stopDelay = Duration.ZERO;
+        private volatile CountDownLatch stuck;
+        private Runnable onStartLeading;
+        private Runnable onStopLeading;
+
+        Replica(Duration stopTimeout) {
+            this(stopTimeout, stoppedDispatcher());
+        }
+
+        Replica(Duration stopTimeout, OutboxEventDispatcher dispatcher) {
+            var config = mock(WatcherConfig.class, RETURNS_DEEP_STUBS);
+            when(config.watcher().enabled()).thenReturn(true);
+            when(config.watcher().leaderElection().enabled()).thenReturn(true);
+            when(config.watcher().stopTimeout()).thenReturn(stopTimeout);
+
+            watcher = new ConductorEnvironmentWatcher(config, mock(OutboxParentEventConsumer.class), dispatcher, election) {
+                @Override
+                DebeziumEngine<?> createEngine() {
+                    return new FakeEngine(Replica.this);
+                }
+            };
+            watcher.fence = fenced::incrementAndGet;
+            watcher.start();
+
+            var onStart = ArgumentCaptor.forClass(Runnable.class);
+            var onStop = ArgumentCaptor.forClass(Runnable.class);
+            verify(election).start(onStart.capture(), onStop.capture());
+            onStartLeading = onStart.getValue();
+            onStopLeading = onStop.getValue();
+        }
+
+        void elect() {
+            onStartLeading.run();
+        }
+
+        void loseLease() {
+            onStopLeading.run();
+        }
+    }
+
+    private final class FakeEngine implements DebeziumEngine<Object> {
+
+        private final Replica replica;
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        FakeEngine(Replica replica) {
+            this.replica = replica;
+        }
+
+        @Override
+        public void run() {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                awaitUninterruptibly(closed);
+                if (replica.stuck != null) {
+                    awaitUninterruptibly(replica.stuck);
+                }
+                Thread.sleep(replica.stopDelay.toMillis());
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finally {
+                running.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+
+    private static OutboxEventDispatcher stoppedDispatcher() {
+        var dispatcher = mock(OutboxEventDispatcher.class);
+        when(dispatcher.stop(any())).thenReturn(true);
+        return dispatcher;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static OutboxEventDispatcher dispatcher(EnvironmentEventConsumer<?> consumer, Duration retryDelay) {
+        var config = mock(WatcherConfigGroup.class, RETURNS_DEEP_STUBS);
+        when(config.retry().maxRetries()).thenReturn(3);
+        when(config.retry().initialDelay()).thenReturn(retryDelay);
+        when(config.dispatch().maxConcurrency()).thenReturn(4);
+
+        Instance<EnvironmentEventConsumer<?>> consumers = mock(Instance.class);
+        when(consumers.iterator()).thenAnswer(invocation -> List.<EnvironmentEventConsumer<?>> of(consumer).iterator());
+        return new OutboxEventDispatcher(config, consumers);
+    }
+
+    /**
+     * Consumer applying pipeline events, fails the given number of attempts as if the API server was unavailable
+     */
+    private static final class PipelineConsumer implements EnvironmentEventConsumer<String> {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final Queue<String> applied = new ConcurrentLinkedQueue<>();
+        private final CountDownLatch blocker;
+        private volatile int failures;
+
+        PipelineConsumer(int failures, CountDownLatch blocker) {
+            this.failures = failures;
+            this.blocker = blocker;
+        }
+
+        @Override
+        public Collection<String> consumedAggregates() {
+            return List.of();
+        }
+
+        @Override
+        public Collection<String> consumedTypes() {
+            return List.of();
+        }
+
+        @Override
+        public Class<String> consumedPayloadType() {
+            return String.class;
+        }
+
+        @Override
+        public String convert(String payload) {
+            return payload;
+        }
+
+        @Override
+        public void accept(Long id, Optional<String> payload) {
+            attempts.incrementAndGet();
+            if (failures > 0) {
+                failures--;
+                throw new KubernetesClientException("API server unavailable");
+            }
+            if (blocker != null) {
+                awaitUninterruptibly(blocker);
+            }
+            payload.ifPresent(applied::add);
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            }
+            catch (InterruptedException e) {
+                // the engine ignores interrupts just like a connector blocked in I/O
+            }
+        }
+    }
+}
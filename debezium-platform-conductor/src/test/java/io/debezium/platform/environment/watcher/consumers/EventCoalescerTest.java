@@ -0,0 +1,44 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.consumers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EventCoalescerTest {
+
+    @Test
+    @DisplayName("Only the last UPDATE/DELETE event of each aggregate is retained")
+    void shouldRetainLastEventPerAggregate() {
+        var events = List.of(
+                new EventContext("pipeline", "1", "UPDATE", "v1"),
+                new EventContext("pipeline", "2", "UPDATE", "v1"),
+                new EventContext("pipeline", "1", "UPDATE", "v2"),
+                new EventContext("vault", "1", "UPDATE", "v1"),
+                new EventContext("pipeline", "2", "DELETE", null),
+                new EventContext("pipeline", "1", "UPDATE", "v3"));
+
+        assertThat(EventCoalescer.coalesce(events)).containsExactly(
+                new EventContext("vault", "1", "UPDATE", "v1"),
+                new EventContext("pipeline", "2", "DELETE", null),
+                new EventContext("pipeline", "1", "UPDATE", "v3"));
+    }
+
+    @Test
+    @DisplayName("Events of other types are never coalesced")
+    void shouldKeepOtherEventTypes() {
+        var events = List.of(
+                new EventContext("pipeline", "1", "RESTART", null),
+                new EventContext("pipeline", "1", "RESTART", null),
+                new EventContext("pipeline", "1", "UPDATE", "v1"));
+
+        assertThat(EventCoalescer.coalesce(events)).containsExactlyElementsOf(events);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.consumers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EventRoutingTableTest {
+
+    @Test
+    @DisplayName("Events are routed only to consumers of their aggregate and event type, wildcards included")
+    void shouldRouteByAggregateAndEventType() {
+        var pipelines = new CountingConsumer(List.of("pipeline"), List.of("UPDATE", "DELETE"));
+        var vaults = new CountingConsumer(List.of("vault"), List.of("UPDATE"));
+        var all = new CountingConsumer(List.of(), List.of());
+
+        var table = new EventRoutingTable(List.of(pipelines, vaults, all));
+
+        assertThat(table.route("pipeline", "UPDATE")).containsExactly(pipelines, all);
+        assertThat(table.route("vault", "DELETE")).containsExactly(all);
+        assertThat(table.route("host", "UPDATE")).containsExactly(all);
+        assertThat(new EventRoutingTable(List.of(pipelines)).route("host", "UPDATE")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Consumers overriding consumes() are routed by their own decision")
+    void shouldRouteByConsumesOverride() {
+        var updates = new CountingConsumer(List.of("pipeline"), List.of()) {
+            @Override
+            public boolean consumes(String aggregateType, String eventType) {
+                return super.consumes(aggregateType, eventType) && !eventType.equals("DELETE");
+            }
+        };
+        var pipelines = new CountingConsumer(List.of("pipeline"), List.of("UPDATE", "DELETE"));
+
+        var table = new EventRoutingTable(List.of(updates, pipelines));
+
+        assertThat(table.route("pipeline", "UPDATE")).containsExactly(updates, pipelines);
+        assertThat(table.route("pipeline", "DELETE")).containsExactly(pipelines);
+    }
+
+    @Test
+    @DisplayName("Payload is converted once for all consumers of the same payload type")
+    void shouldConvertPayloadOncePerType() {
+        var first = new CountingConsumer(List.of(), List.of());
+        var second = new CountingConsumer(List.of(), List.of());
+        var payloads = new EventPayloads("{}");
+
+        payloads.deliver(first, 1L);
+        payloads.deliver(second, 1L);
+
+        assertThat(first.conversions.get() + second.conversions.get()).isEqualTo(1);
+        assertThat(second.received).contains("{}");
+    }
+
+    private static class CountingConsumer implements EnvironmentEventConsumer<String> {
+
+        private final Collection<String> aggregates;
+        private final Collection<String> types;
+        private final AtomicInteger conversions = new AtomicInteger();
+        private Optional<String> received = Optional.empty();
+
+        CountingConsumer(Collection<String> aggregates, Collection<String> types) {
+            this.aggregates = aggregates;
+            this.types = types;
+        }
+
+        @Override
+        public Collection<String> consumedAggregates() {
+            return aggregates;
+        }
+
+        @Override
+        public Collection<String> consumedTypes() {
+            return types;
+        }
+
+        @Override
+        public Class<String> consumedPayloadType() {
+            return String.class;
+        }
+
+        @Override
+        public String convert(String payload) {
+            conversions.incrementAndGet();
+            return payload;
+        }
+
+        @Override
+        public void accept(Long id, Optional<String> payload) {
+            received = payload;
+        }
+    }
+}
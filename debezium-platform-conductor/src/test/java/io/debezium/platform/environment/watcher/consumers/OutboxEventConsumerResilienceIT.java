@@ -7,8 +7,12 @@ package io.debezium.platform.environment.watcher.consumers;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
@@ -173,6 +177,65 @@ class OutboxEventConsumerResilienceIT {
                 });
     }
 
+    @Test
+    @DisplayName("Events failing all delivery attempts should be stored as dead letters and replayed on demand")
+    void failedEventShouldBeReplayedFromDeadLetters() {
+
+        var captor = ArgumentCaptor.forClass(DebeziumServer.class);
+        var pipelineName = "pipeline-dead-letter-" + resourceSuffix;
+
+        doAnswer(invocation -> {
+            throw new IllegalStateException("Deployment rejected");
+        }).when(k8sAdapter).deployPipeline(any());
+
+        var pipelineId = createResource("api/pipelines", """
+                {
+                   "name": "%s",
+                   "description": "This pipeline will be replayed",
+                   "source": {
+                     "id": %s,
+                     "name": "test-source-%s"
+                   },
+                   "destination": {
+                     "id": %s,
+                     "name": "test-destination-%s"
+                   },
+                   "transforms": [],
+                   "logLevel": "INFO",
+                   "logLevels": {}
+                 }""".formatted(pipelineName, sourceId, resourceSuffix, destinationId, resourceSuffix));
+
+        Awaitility.await()
+                .atMost(Duration.of(120, ChronoUnit.SECONDS))
+                .pollInterval(Duration.of(500, ChronoUnit.MILLIS))
+                .untilAsserted(() -> given()
+                        .when().get("api/dead-letters")
+                        .then()
+                        .statusCode(200)
+                        .body("aggregateId", hasItem(pipelineId.toString())));
+
+        Mockito.reset(k8sAdapter);
+        doNothing().when(k8sAdapter).deployPipeline(any());
+
+        given()
+                .header("Content-Type", "application/json")
+                .body("{}")
+                .when().post("api/dead-letters/replay")
+                .then()
+                .statusCode(200)
+                .body("replayed", greaterThanOrEqualTo(1));
+
+        Mockito.verify(k8sAdapter, Mockito.atLeastOnce()).deployPipeline(captor.capture());
+        assertThat(captor.getAllValues())
+                .anyMatch(ds -> ds.getMetadata().getName().equals(pipelineName));
+
+        given()
+                .when().get("api/dead-letters")
+                .then()
+                .statusCode(200)
+                .body("aggregateId", not(hasItem(pipelineId.toString())));
+    }
+
     private static Long createResource(String path, String body) {
         Number id = given()
                 .header("Content-Type", "application/json")
@@ -0,0 +1,205 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.consumers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import jakarta.enterprise.inject.Instance;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+
+import io.debezium.platform.environment.watcher.config.WatcherConfigGroup;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+
+class OutboxEventDispatcherTest {
+
+    private OutboxEventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Events of the same aggregate are processed in dispatch order")
+    void shouldPreserveOrderPerAggregate() {
+        var consumer = new RecordingConsumer(null);
+        dispatcher = createDispatcher(consumer, 4, 0, Duration.ZERO);
+
+        var futures = new CompletableFuture<?>[50];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = dispatcher.dispatch(new EventContext("pipeline", "1", "UPDATE", String.valueOf(i)));
+        }
+        CompletableFuture.allOf(futures).join();
+
+        assertThat(consumer.payloads)
+                .containsExactlyElementsOf(IntStream.range(0, futures.length).mapToObj(String::valueOf).toList());
+        assertThat(dispatcher.pendingPartitions()).isZero();
+    }
+
+    @Test
+    @DisplayName("A blocked aggregate does not hold up other aggregates")
+    void shouldProcessOtherAggregatesInParallel() throws Exception {
+        var blocker = new CountDownLatch(1);
+        var consumer = new RecordingConsumer(blocker);
+        dispatcher = createDispatcher(consumer, 4, 0, Duration.ZERO);
+
+        var blocked = dispatcher.dispatch(new EventContext("pipeline", "1", "UPDATE", "block"));
+        var other = dispatcher.dispatch(new EventContext("pipeline", "2", "UPDATE", "other"));
+
+        other.get(10, TimeUnit.SECONDS);
+        assertThat(blocked).isNotDone();
+
+        blocker.countDown();
+        blocked.get(10, TimeUnit.SECONDS);
+        assertThat(consumer.payloads).containsExactly("other", "block");
+    }
+
+    @Test
+    @DisplayName("Retriable failures are retried with exponential backoff while later events of the aggregate wait")
+    void shouldRetryWithBackoff() throws Exception {
+        var consumer = new RecordingConsumer(null);
+        consumer.failures = 2;
+        dispatcher = createDispatcher(consumer, 4, 3, Duration.ofMillis(100));
+
+        var retried = dispatcher.dispatch(new EventContext("pipeline", "1", "UPDATE", "retried"));
+        var next = dispatcher.dispatch(new EventContext("pipeline", "1", "UPDATE", "next"));
+
+        assertThat(retried.get(10, TimeUnit.SECONDS)).isEmpty();
+        assertThat(next.get(10, TimeUnit.SECONDS)).isEmpty();
+        assertThat(consumer.payloads).containsExactly("retried", "next");
+
+        var attempts = consumer.attempts.stream().toList();
+        assertThat(attempts).hasSize(4);
+        assertThat(attempts.get(1) - attempts.get(0)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(attempts.get(2) - attempts.get(1)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    @DisplayName("Event is reported as failed once the retries are exhausted")
+    void shouldReportFailureAfterRetries() throws Exception {
+        var consumer = new RecordingConsumer(null);
+        consumer.failures = Integer.MAX_VALUE;
+        dispatcher = createDispatcher(consumer, 4, 2, Duration.ofMillis(10));
+
+        var failure = dispatcher.dispatch(new EventContext("pipeline", "1", "UPDATE", "failed")).get(10, TimeUnit.SECONDS);
+
+        assertThat(failure).hasValueSatisfying(f -> {
+            assertThat(f.attempts()).isEqualTo(3);
+            assertThat(f.error()).isInstanceOf(KubernetesClientException.class);
+        });
+        assertThat(consumer.payloads).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Events dispatched before a stop are not delivered once the dispatcher is started again")
+    void shouldNotDeliverEventsOfPreviousRun() throws Exception {
+        var blocker = new CountDownLatch(1);
+        var consumer = new RecordingConsumer(blocker);
+        dispatcher = createDispatcher(consumer, 4, 0, Duration.ZERO);
+
+        var blocked = dispatcher.dispatch(new EventContext("pipeline", "1", "UPDATE", "block"));
+        var queued = dispatcher.dispatch(new EventContext("pipeline", "1", "UPDATE", "queued"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> consumer.attempts.size() == 1);
+
+        // the blocked delivery is in progress, so the stop times out
+        assertThat(dispatcher.stop(Duration.ofMillis(100))).isFalse();
+        assertThat(blocked).isCancelled();
+        assertThat(queued).isCancelled();
+        assertThat(dispatcher.dispatch(new EventContext("pipeline", "2", "UPDATE", "rejected"))).isCompletedExceptionally();
+
+        dispatcher.start();
+        blocker.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> consumer.payloads.contains("block"));
+        dispatcher.dispatch(new EventContext("pipeline", "1", "UPDATE", "next")).get(10, TimeUnit.SECONDS);
+
+        assertThat(consumer.payloads).containsExactly("block", "next");
+        assertThat(dispatcher.stop(Duration.ofSeconds(5))).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static OutboxEventDispatcher createDispatcher(EnvironmentEventConsumer<?> consumer, int maxConcurrency, int maxRetries,
+                                                          Duration initialDelay) {
+        var config = mock(WatcherConfigGroup.class, Answers.RETURNS_DEEP_STUBS);
+        when(config.retry().maxRetries()).thenReturn(maxRetries);
+        when(config.retry().initialDelay()).thenReturn(initialDelay);
+        when(config.dispatch().maxConcurrency()).thenReturn(maxConcurrency);
+
+        Instance<EnvironmentEventConsumer<?>> consumers = mock(Instance.class);
+        when(consumers.iterator()).thenAnswer(invocation -> List.<EnvironmentEventConsumer<?>> of(consumer).iterator());
+
+        return new OutboxEventDispatcher(config, consumers);
+    }
+
+    private static final class RecordingConsumer implements EnvironmentEventConsumer<String> {
+
+        private final Queue<String> payloads = new ConcurrentLinkedQueue<>();
+        private final Queue<Long> attempts = new ConcurrentLinkedQueue<>();
+        private final CountDownLatch blocker;
+        private volatile int failures;
+
+        RecordingConsumer(CountDownLatch blocker) {
+            this.blocker = blocker;
+        }
+
+        @Override
+        public Collection<String> consumedAggregates() {
+            return List.of();
+        }
+
+        @Override
+        public Collection<String> consumedTypes() {
+            return List.of();
+        }
+
+        @Override
+        public Class<String> consumedPayloadType() {
+            return String.class;
+        }
+
+        @Override
+        public String convert(String payload) {
+            return payload;
+        }
+
+        @Override
+        public void accept(Long id, Optional<String> payload) {
+            attempts.add(System.nanoTime());
+            if (failures > 0) {
+                failures--;
+                throw new KubernetesClientException("API server unavailable");
+            }
+            if (blocker != null && payload.filter("block"::equals).isPresent()) {
+                try {
+                    blocker.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            payload.ifPresent(payloads::add);
+        }
+    }
+}
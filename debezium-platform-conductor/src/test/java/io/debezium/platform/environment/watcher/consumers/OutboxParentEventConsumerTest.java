@@ -0,0 +1,185 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.consumers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+
+import io.debezium.DebeziumException;
+import io.debezium.engine.ChangeEvent;
+import io.debezium.engine.DebeziumEngine;
+import io.debezium.platform.domain.DeadLetterService;
+import io.debezium.platform.environment.watcher.config.OutboxConfigGroup;
+import io.debezium.platform.environment.watcher.config.WatcherConfigGroup;
+import io.debezium.platform.environment.watcher.consumers.OutboxEventDispatcher.DeliveryFailure;
+import io.debezium.platform.environment.watcher.metrics.WatcherMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxParentEventConsumerTest {
+
+    private static final Schema SCHEMA = SchemaBuilder.struct()
+            .field("aggregatetype", Schema.STRING_SCHEMA)
+            .field("aggregateid", Schema.STRING_SCHEMA)
+            .field("type", Schema.STRING_SCHEMA)
+            .field("payload", Schema.OPTIONAL_STRING_SCHEMA)
+            .build();
+
+    private final OutboxEventDispatcher dispatcher = mock(OutboxEventDispatcher.class);
+    private final DeadLetterService deadLetters = mock(DeadLetterService.class);
+    private final Map<String, CompletableFuture<Optional<DeliveryFailure>>> deliveries = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private final DebeziumEngine.RecordCommitter<ChangeEvent<SourceRecord, SourceRecord>> committer = mock(DebeziumEngine.RecordCommitter.class);
+
+    @BeforeEach
+    void setUp() {
+        when(dispatcher.dispatch(any())).thenAnswer(invocation -> deliveries.computeIfAbsent(
+                invocation.<EventContext> getArgument(0).aggregateId(), id -> new CompletableFuture<>()));
+    }
+
+    @Test
+    @DisplayName("Records behind a record waiting for retry are not marked before it")
+    void shouldMarkRecordsInOrder() throws Exception {
+        var consumer = createConsumer(10);
+        var retried = record("1", "retried");
+        var delivered = record("2", "delivered");
+        deliveries.put("2", CompletableFuture.completedFuture(Optional.empty()));
+
+        consumer.handleBatch(List.of(retried, delivered), committer);
+
+        verify(committer, never()).markProcessed(any());
+        verify(committer, never()).markBatchFinished();
+    }
+
+    @Test
+    @DisplayName("Carried over records are marked as a prefix once they complete")
+    void shouldMarkCarriedOverRecords() throws Exception {
+        var consumer = createConsumer(10);
+        var first = record("1", "first");
+        var second = record("2", "second");
+        var third = record("3", "third");
+
+        consumer.handleBatch(List.of(first, second), committer);
+        verify(committer, never()).markProcessed(any());
+
+        deliveries.get("1").complete(Optional.empty());
+        deliveries.put("3", CompletableFuture.completedFuture(Optional.empty()));
+        consumer.handleBatch(List.of(third), committer);
+
+        var order = inOrder(committer);
+        order.verify(committer).markProcessed(first);
+        order.verify(committer).markBatchFinished();
+        verify(committer, never()).markProcessed(second);
+        verify(committer, never()).markProcessed(third);
+
+        deliveries.get("2").complete(Optional.empty());
+        consumer.handleBatch(List.of(), committer);
+
+        order.verify(committer).markProcessed(second);
+        order.verify(committer).markProcessed(third);
+        order.verify(committer).markBatchFinished();
+    }
+
+    @Test
+    @DisplayName("Batch blocks once more than max-pending-records records await completion")
+    void shouldBlockAtMaxPendingRecords() throws Exception {
+        var consumer = createConsumer(1);
+        var first = record("1", "first");
+        var second = record("2", "second");
+        deliveries.put("1", new CompletableFuture<>());
+        deliveries.put("2", CompletableFuture.completedFuture(Optional.empty()));
+
+        var batch = CompletableFuture.runAsync(() -> {
+            try {
+                consumer.handleBatch(List.of(first, second), committer);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(5)).until(() -> !batch.isDone());
+        verify(committer, never()).markProcessed(any());
+
+        deliveries.get("1").complete(Optional.empty());
+        batch.get(5, TimeUnit.SECONDS);
+
+        var order = inOrder(committer);
+        order.verify(committer).markProcessed(first);
+        order.verify(committer).markProcessed(second);
+        order.verify(committer).markBatchFinished();
+    }
+
+    @Test
+    @DisplayName("Record is not marked when its dead letter could not be stored")
+    void shouldFailWhenDeadLetterIsNotStored() throws Exception {
+        var consumer = createConsumer(10);
+        var delivered = record("1", "delivered");
+        var failed = record("2", "failed");
+        var failure = new DeliveryFailure(new IllegalStateException("Consumer failed"), 1);
+        deliveries.put("1", CompletableFuture.completedFuture(Optional.empty()));
+        deliveries.put("2", CompletableFuture.completedFuture(Optional.of(failure)));
+        when(deadLetters.store(any(), any())).thenThrow(new IllegalStateException("Database unavailable"));
+
+        assertThatThrownBy(() -> consumer.handleBatch(List.of(delivered, failed), committer))
+                .isInstanceOf(DebeziumException.class)
+                .hasRootCauseMessage("Database unavailable");
+
+        verify(committer).markProcessed(delivered);
+        verify(committer, never()).markProcessed(failed);
+        verify(committer).markBatchFinished();
+    }
+
+    private OutboxParentEventConsumer createConsumer(int maxPendingRecords) {
+        var outbox = mock(OutboxConfigGroup.class);
+        when(outbox.aggregateColumn()).thenReturn("aggregatetype");
+        when(outbox.aggregateIdColumn()).thenReturn("aggregateid");
+        when(outbox.typeColumn()).thenReturn("type");
+
+        var watcherConfig = mock(WatcherConfigGroup.class, Answers.RETURNS_DEEP_STUBS);
+        when(watcherConfig.dispatch().maxPendingRecords()).thenReturn(maxPendingRecords);
+
+        var metrics = new WatcherMetrics(new SimpleMeterRegistry(), dispatcher);
+        return new OutboxParentEventConsumer(outbox, watcherConfig, dispatcher, deadLetters, metrics);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeEvent<SourceRecord, SourceRecord> record(String aggregateId, String payload) {
+        var value = new Struct(SCHEMA)
+                .put("aggregatetype", "pipeline")
+                .put("aggregateid", aggregateId)
+                .put("type", "UPDATE")
+                .put("payload", payload);
+
+        ChangeEvent<SourceRecord, SourceRecord> event = mock(ChangeEvent.class);
+        when(event.value()).thenReturn(new SourceRecord(Map.of(), Map.of(), "conductor.public.events", SCHEMA, value));
+        return event;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.debezium.platform.environment.watcher.consumers.EventContext;
+import io.debezium.platform.environment.watcher.consumers.OutboxEventDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WatcherMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OutboxEventDispatcher dispatcher = mock(OutboxEventDispatcher.class);
+
+    @Test
+    @DisplayName("Latencies are measured from the outbox commit and tagged by aggregate and event type")
+    void shouldRecordLatenciesPerAggregateAndEventType() {
+        var metrics = new WatcherMetrics(registry, dispatcher);
+        var committedAt = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis() - 1500);
+        var record = record(Map.of("lsn", 42L, "ts_usec", committedAt));
+
+        metrics.received(new EventContext("pipeline", "1", "UPDATE", "{}"), record).stop(true);
+        metrics.processed(record);
+
+        var receipt = registry.get(WatcherMetrics.RECEIPT_TIMER).tag("aggregate_type", "pipeline").tag("event_type", "UPDATE").timer();
+        assertThat(receipt.count()).isEqualTo(1);
+        assertThat(receipt.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(1500);
+
+        var propagation = registry.get(WatcherMetrics.PROPAGATION_TIMER).tag("outcome", "delivered").timer();
+        assertThat(propagation.count()).isEqualTo(1);
+        assertThat(registry.get(WatcherMetrics.PROCESSING_TIMER).timer().count()).isEqualTo(1);
+        assertThat(registry.get(WatcherMetrics.LAST_LSN_GAUGE).gauge().value()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("Dispatcher state is exposed as gauges")
+    void shouldExposeDispatcherGauges() {
+        when(dispatcher.pendingRetries()).thenReturn(3);
+        when(dispatcher.pendingPartitions()).thenReturn(7);
+
+        new WatcherMetrics(registry, dispatcher);
+
+        assertThat(registry.get(WatcherMetrics.RETRY_QUEUE_GAUGE).gauge().value()).isEqualTo(3);
+        assertThat(registry.get(WatcherMetrics.PENDING_AGGREGATES_GAUGE).gauge().value()).isEqualTo(7);
+    }
+
+    private static SourceRecord record(Map<String, ?> offset) {
+        return new SourceRecord(Map.of(), offset, "conductor.public.events", null, null);
+    }
+}
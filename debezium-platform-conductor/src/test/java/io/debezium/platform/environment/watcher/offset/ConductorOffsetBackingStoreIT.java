@@ -0,0 +1,57 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.platform.environment.watcher.offset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.debezium.platform.OutboxTestProfile;
+import io.debezium.platform.environment.operator.actions.DebeziumKubernetesAdapter;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+@QuarkusTest
+@TestProfile(OutboxTestProfile.class)
+class ConductorOffsetBackingStoreIT {
+
+    @InjectMock
+    DebeziumKubernetesAdapter k8sAdapter;
+
+    @Test
+    @DisplayName("Offsets stored by the watcher are restored after restart")
+    void shouldRestoreOffsetsAfterRestart() throws Exception {
+        var key = buffer("[\"conductor\",{\"server\":\"conductor-" + System.nanoTime() + "\"}]");
+
+        var store = new ConductorOffsetBackingStore();
+        store.start();
+        store.set(Map.of(key, buffer("{\"lsn\":100}")), null).get(10, TimeUnit.SECONDS);
+        store.set(Map.of(key, buffer("{\"lsn\":200}")), null).get(10, TimeUnit.SECONDS);
+        store.stop();
+
+        var restarted = new ConductorOffsetBackingStore();
+        restarted.start();
+        try {
+            var offsets = restarted.get(List.of(key)).get(10, TimeUnit.SECONDS);
+            assertThat(offsets).containsEntry(key, buffer("{\"lsn\":200}"));
+        }
+        finally {
+            restarted.stop();
+        }
+    }
+
+    private static ByteBuffer buffer(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}